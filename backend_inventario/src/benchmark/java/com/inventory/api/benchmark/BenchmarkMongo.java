@@ -0,0 +1,38 @@
+package com.inventory.api.benchmark;
+
+import com.inventory.api.model.Category;
+import com.inventory.api.model.InventoryMovement;
+import com.inventory.api.model.MovementRollup;
+import com.inventory.api.model.Product;
+import com.inventory.api.model.Supplier;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import java.util.List;
+
+/** Loading helpers shared by the benchmarks that write straight to MongoDB. */
+final class BenchmarkMongo {
+
+    private static final List<Class<?>> INDEXED = List.of(
+        Product.class, InventoryMovement.class, MovementRollup.class, Category.class, Supplier.class);
+
+    private BenchmarkMongo() {
+    }
+
+    /** Creates the indexes declared on the models, as IndexManager does at startup. */
+    static void createIndexes(MongoTemplate mongoTemplate) {
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+        for (Class<?> type : INDEXED) {
+            resolver.resolveIndexFor(type).forEach(mongoTemplate.indexOps(type)::ensureIndex);
+        }
+    }
+
+    static <T> void insert(MongoTemplate mongoTemplate, List<T> documents, Class<T> type, int batchSize) {
+        for (int from = 0; from < documents.size(); from += batchSize) {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type)
+                .insert(documents.subList(from, Math.min(from + batchSize, documents.size())))
+                .execute();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.inventory.api.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/** {@code --name=value} command-line options of the benchmark entry points. */
+final class BenchmarkOptions {
+
+    private final Map<String, String> values = new HashMap<>();
+
+    BenchmarkOptions(String[] args) {
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+    }
+
+    boolean has(String name) {
+        return values.containsKey(name);
+    }
+
+    String get(String name, String defaultValue) {
+        return values.getOrDefault(name, defaultValue);
+    }
+
+    int getInt(String name, int defaultValue) {
+        return has(name) ? Integer.parseInt(values.get(name)) : defaultValue;
+    }
+
+    long getLong(String name, long defaultValue) {
+        return has(name) ? Long.parseLong(values.get(name)) : defaultValue;
+    }
+
+    double getDouble(String name, double defaultValue) {
+        return has(name) ? Double.parseDouble(values.get(name)) : defaultValue;
+    }
+
+    boolean getBoolean(String name, boolean defaultValue) {
+        return has(name) ? Boolean.parseBoolean(values.get(name)) : defaultValue;
+    }
+}
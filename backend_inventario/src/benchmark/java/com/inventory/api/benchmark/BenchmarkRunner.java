@@ -0,0 +1,52 @@
+package com.inventory.api.benchmark;
+
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.StringJoiner;
+
+/**
+ * Runs the JMH benchmarks and writes the results as JSON to
+ * {@code target/jmh-results.json} unless {@code -rff} says otherwise. Accepts
+ * the usual JMH command line, e.g. a benchmark regex and {@code -p} overrides:
+ *
+ * <pre>
+ * mvn -Pbenchmark compile exec:java -Dbenchmark.main=com.inventory.api.benchmark.BenchmarkRunner \
+ *     -Dexec.args="ServiceBenchmarks -p backend=MEMORY -p catalogSize=100000"
+ * </pre>
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        exposeClasspath();
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        Options options = new OptionsBuilder()
+            .parent(commandLine)
+            .resultFormat(commandLine.getResultFormat().orElse(ResultFormatType.JSON))
+            .result(commandLine.getResult().orElse("target/jmh-results.json"))
+            .build();
+        new Runner(options).run();
+    }
+
+    // Forked benchmark JVMs inherit java.class.path, which under exec:java is Maven's own
+    private static void exposeClasspath() {
+        if (!(Thread.currentThread().getContextClassLoader() instanceof URLClassLoader)) {
+            return;
+        }
+        StringJoiner classpath = new StringJoiner(File.pathSeparator);
+        for (URL url : ((URLClassLoader) Thread.currentThread().getContextClassLoader()).getURLs()) {
+            classpath.add(new File(url.getPath()).getAbsolutePath());
+        }
+        System.setProperty("java.class.path", classpath.toString());
+    }
+}
@@ -0,0 +1,122 @@
+package com.inventory.api.benchmark;
+
+import com.inventory.api.model.InventoryMovement;
+import com.inventory.api.model.Product;
+import org.bson.types.ObjectId;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic catalog: product {@code i} of a given seed is always
+ * the same, with the same id, so a loader and a load harness started
+ * separately agree on the catalog without sharing state. Categories beyond the
+ * five seeded by {@code DataInitializer} are numbered, and their sizes follow
+ * a Zipf distribution when a category skew is given.
+ */
+public class CatalogGenerator {
+
+    static final String[] CATEGORIES = {"Electrónicos", "Ropa", "Hogar", "Deportes", "Libros"};
+    static final String[] SUPPLIERS = {"TechCorp", "FashionPlus", "HomeMart", "SportZone"};
+    static final String[] NOUNS = {"Laptop", "Mouse", "Teclado", "Monitor", "Camisa", "Pantalón",
+        "Chaqueta", "Zapatillas", "Lámpara", "Silla", "Mesa", "Sartén", "Balón", "Raqueta", "Bicicleta",
+        "Novela", "Diccionario", "Cuaderno", "Auriculares", "Cargador"};
+    static final String[] ADJECTIVES = {"Inalámbrico", "Casual", "Ergonómico", "Compacto", "Clásico",
+        "Deportivo", "Premium", "Básico", "Plegable", "Resistente", "Ligero", "Digital"};
+    static final String[] BRANDS = {"Nova", "Andes", "Pacífico", "Sierra", "Aurora", "Delta", "Cóndor"};
+
+    // Fixed ObjectId timestamp, so ids depend on the index only
+    private static final int ID_EPOCH = 1_700_000_000;
+
+    private final long seed;
+    private final List<String> categories;
+    private final ZipfSampler categorySampler;
+    protected final Random random;
+
+    public CatalogGenerator(long seed) {
+        this(seed, CATEGORIES.length, 0);
+    }
+
+    public CatalogGenerator(long seed, int categoryCount, double categorySkew) {
+        this.seed = seed;
+        this.random = new Random(seed);
+        this.categories = new ArrayList<>();
+        for (int i = 0; i < categoryCount; i++) {
+            categories.add(i < CATEGORIES.length ? CATEGORIES[i] : "Categoría " + (i + 1));
+        }
+        this.categorySampler = new ZipfSampler(categoryCount, categorySkew);
+    }
+
+    public List<String> categories() {
+        return categories;
+    }
+
+    public List<Product> products(int count) {
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            products.add(product(i));
+        }
+        return products;
+    }
+
+    public static String productId(int index) {
+        // Built from the hex form: the binary constructors mix in a per-process random value
+        return String.format("%08x%016x", ID_EPOCH, index);
+    }
+
+    public Product product(int index) {
+        Random r = new Random(seed * 1_000_003L + index);
+        String noun = NOUNS[r.nextInt(NOUNS.length)];
+        String name = noun + " " + ADJECTIVES[r.nextInt(ADJECTIVES.length)] + " " + BRANDS[r.nextInt(BRANDS.length)];
+        double purchasePrice = Math.round((5 + r.nextDouble() * 995) * 100) / 100.0;
+
+        Product product = new Product(
+            String.format("%s%07d", noun.substring(0, 3).toUpperCase(), index),
+            name,
+            name + " modelo " + (1 + r.nextInt(40)),
+            categories.get(categorySampler.sample(r)),
+            SUPPLIERS[r.nextInt(SUPPLIERS.length)],
+            purchasePrice,
+            Math.round(purchasePrice * (1.2 + r.nextDouble()) * 100) / 100.0,
+            "unidades",
+            5 + r.nextInt(20));
+        product.setId(productId(index));
+        product.setCurrentStock(r.nextInt(200));
+        return product;
+    }
+
+    /** Uniformly spread movements over the last {@code days} days, oldest first, with consistent stock values. */
+    public List<InventoryMovement> movements(List<Product> products, int count, int days) {
+        List<InventoryMovement> movements = new ArrayList<>(count);
+        if (products.isEmpty()) {
+            return movements;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        long spanSeconds = days * 86_400L;
+        int[] stock = new int[products.size()];
+        for (int i = 0; i < count; i++) {
+            int p = random.nextInt(products.size());
+            InventoryMovement.MovementType type = InventoryMovement.MovementType.values()[
+                random.nextInt(InventoryMovement.MovementType.values().length)];
+            int quantity = 1 + random.nextInt(10);
+            if (type == InventoryMovement.MovementType.NEGATIVE_ADJUSTMENT) {
+                quantity = -Math.min(quantity, stock[p]);
+            }
+            InventoryMovement movement = movement(products.get(p), type, quantity, stock[p],
+                now.minusSeconds(spanSeconds - spanSeconds * i / Math.max(1, count)));
+            movement.setId(new ObjectId().toHexString());
+            stock[p] += quantity;
+            movements.add(movement);
+        }
+        return movements;
+    }
+
+    static InventoryMovement movement(Product product, InventoryMovement.MovementType type, int quantity,
+                                      int previousStock, LocalDateTime date) {
+        InventoryMovement movement = new InventoryMovement(product.getId(), product.getName(), product.getCode(),
+            type, quantity, previousStock, previousStock + quantity, null, "benchmark");
+        movement.setDate(date);
+        return movement;
+    }
+}
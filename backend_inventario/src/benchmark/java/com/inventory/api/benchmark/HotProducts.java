@@ -0,0 +1,46 @@
+package com.inventory.api.benchmark;
+
+import java.util.Random;
+
+/**
+ * Zipf-distributed choice of product indexes. Popularity ranks are assigned
+ * to products by a seeded shuffle, so hot SKUs are spread across the catalog
+ * but every process using the same seed agrees on which they are.
+ */
+public final class HotProducts {
+
+    private final ZipfSampler sampler;
+    private final int[] productByRank;
+
+    public HotProducts(int productCount, double exponent, long seed) {
+        this.sampler = new ZipfSampler(productCount, exponent);
+        this.productByRank = new int[productCount];
+        for (int i = 0; i < productCount; i++) {
+            productByRank[i] = i;
+        }
+        Random random = new Random(seed ^ 0x5DEECE66DL);
+        for (int i = productCount - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = productByRank[i];
+            productByRank[i] = productByRank[j];
+            productByRank[j] = swap;
+        }
+    }
+
+    public int sample(Random random) {
+        return productByRank[sampler.sample(random)];
+    }
+
+    public int productCount() {
+        return productByRank.length;
+    }
+
+    /** Share of all draws taken by the {@code top} most popular products. */
+    public double share(int top) {
+        double share = 0;
+        for (int rank = 0; rank < Math.min(top, productByRank.length); rank++) {
+            share += sampler.probability(rank);
+        }
+        return share;
+    }
+}
@@ -0,0 +1,143 @@
+package com.inventory.api.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Closed-loop HTTP load: a fixed number of workers each pick an operation of
+ * the {@link LoadScript}, send it, wait for the response and pick the next.
+ * Latencies and error counts recorded after the warm-up are kept per
+ * operation.
+ */
+public final class HttpLoadRunner {
+
+    private final URI baseUri;
+    private final LoadScript script;
+    private final int concurrency;
+    private final Duration warmup;
+    private final Duration duration;
+    private final HttpClient client;
+
+    public HttpLoadRunner(URI baseUri, LoadScript script, int concurrency, Duration warmup, Duration duration) {
+        this.baseUri = baseUri;
+        this.script = script;
+        this.concurrency = concurrency;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    }
+
+    public static final class EndpointStats {
+        private final LatencyHistogram latencies = new LatencyHistogram();
+        private long clientErrors;
+        private long serverErrors;
+
+        private void merge(EndpointStats other) {
+            latencies.merge(other.latencies);
+            clientErrors += other.clientErrors;
+            serverErrors += other.serverErrors;
+        }
+
+        public LatencyHistogram getLatencies() { return latencies; }
+        public long getClientErrors() { return clientErrors; }
+        /** 5xx responses plus requests that got no response at all. */
+        public long getServerErrors() { return serverErrors; }
+    }
+
+    public static final class Result {
+        private final Map<String, EndpointStats> byEndpoint = new LinkedHashMap<>();
+        private final EndpointStats overall = new EndpointStats();
+        private final Duration measured;
+
+        private Result(Duration measured) {
+            this.measured = measured;
+        }
+
+        public Map<String, EndpointStats> getByEndpoint() { return byEndpoint; }
+        public EndpointStats getOverall() { return overall; }
+        public Duration getMeasured() { return measured; }
+
+        public double throughput(EndpointStats stats) {
+            return stats.latencies.count() / (measured.toNanos() / 1e9);
+        }
+    }
+
+    public Result run() throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        List<Map<String, EndpointStats>> perWorker = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(concurrency);
+        for (int w = 0; w < concurrency; w++) {
+            Map<String, EndpointStats> stats = new LinkedHashMap<>();
+            for (LoadScript.Operation operation : script.getOperations()) {
+                stats.put(operation.getLabel(), new EndpointStats());
+            }
+            perWorker.add(stats);
+
+            Random random = new Random(start + w);
+            Thread worker = new Thread(() -> {
+                try {
+                    while (System.nanoTime() < end) {
+                        LoadScript.Operation operation = script.pick(random);
+                        long sent = System.nanoTime();
+                        int status = send(operation, random);
+                        long received = System.nanoTime();
+                        if (sent >= measureFrom && received <= end) {
+                            EndpointStats endpoint = stats.get(operation.getLabel());
+                            endpoint.latencies.record((received - sent) / 1000);
+                            if (status >= 500 || status < 0) {
+                                endpoint.serverErrors++;
+                            } else if (status >= 400) {
+                                endpoint.clientErrors++;
+                            }
+                        }
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }, "load-" + w);
+            worker.setDaemon(true);
+            worker.start();
+        }
+        done.await();
+
+        Result result = new Result(duration);
+        for (LoadScript.Operation operation : script.getOperations()) {
+            EndpointStats merged = new EndpointStats();
+            for (Map<String, EndpointStats> stats : perWorker) {
+                merged.merge(stats.get(operation.getLabel()));
+            }
+            result.byEndpoint.put(operation.getLabel(), merged);
+            result.overall.merge(merged);
+        }
+        return result;
+    }
+
+    // Status code, or -1 when no response arrived
+    private int send(LoadScript.Operation operation, Random random) {
+        try {
+            HttpResponse<Void> response = client.send(script.request(operation, baseUri, random),
+                HttpResponse.BodyHandlers.discarding());
+            return response.statusCode();
+        } catch (IOException e) {
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.inventory.api.benchmark;
+
+import com.inventory.api.model.InventoryMovement;
+import com.inventory.api.model.Product;
+import com.inventory.api.repository.InventoryMovementRepository;
+import com.inventory.api.repository.ProductRepository;
+import com.inventory.api.repository.ProductRepositoryCustom;
+import org.bson.types.ObjectId;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Map-backed stand-ins for the product and movement repositories, so service
+ * benchmarks can separate the cost of the service layer from MongoDB. Only the
+ * methods reached by the benchmarked paths are implemented; products are
+ * copied on the way in and out, as a round trip to the database would.
+ */
+final class InMemoryRepositories {
+
+    private final Map<String, Product> products = new ConcurrentHashMap<>();
+    private final List<InventoryMovement> movements = new CopyOnWriteArrayList<>();
+
+    InMemoryRepositories(List<Product> products, List<InventoryMovement> movements) {
+        for (Product product : products) {
+            this.products.put(product.getId(), copy(product));
+        }
+        this.movements.addAll(movements);
+    }
+
+    @SuppressWarnings("unchecked")
+    ProductRepository productRepository() {
+        return proxy(ProductRepository.class, (method, args) -> {
+            switch (method.getName()) {
+                case "findAll":
+                    List<Product> all = new ArrayList<>(products.size());
+                    products.values().forEach(product -> all.add(copy(product)));
+                    return all;
+                case "findById":
+                    return Optional.ofNullable(products.get((String) args[0])).map(InMemoryRepositories::copy);
+                case "findAllById":
+                    List<Product> found = new ArrayList<>();
+                    for (Object id : (Iterable<?>) args[0]) {
+                        Product product = products.get((String) id);
+                        if (product != null) {
+                            found.add(copy(product));
+                        }
+                    }
+                    return found;
+                case "count":
+                    return (long) products.size();
+                case "adjustStock":
+                    return args.length == 3
+                        ? adjustStock((String) args[0], (Integer) args[1], (Integer) args[2])
+                        : adjustStock((String) args[0], (Integer) args[1]);
+                case "save":
+                    Product saved = copy((Product) args[0]);
+                    if (saved.getId() == null) {
+                        saved.setId(new ObjectId().toHexString());
+                    }
+                    products.put(saved.getId(), saved);
+                    return copy(saved);
+                default:
+                    throw new UnsupportedOperationException("ProductRepository." + method.getName());
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    InventoryMovementRepository movementRepository() {
+        return proxy(InventoryMovementRepository.class, (method, args) -> {
+            switch (method.getName()) {
+                case "save":
+                    InventoryMovement movement = (InventoryMovement) args[0];
+                    if (movement.getId() == null) {
+                        movement.setId(new ObjectId().toHexString());
+                    }
+                    movements.add(movement);
+                    return movement;
+                case "insert":
+                    List<InventoryMovement> inserted = (List<InventoryMovement>) args[0];
+                    for (InventoryMovement each : inserted) {
+                        if (each.getId() == null) {
+                            each.setId(new ObjectId().toHexString());
+                        }
+                    }
+                    movements.addAll(inserted);
+                    return inserted;
+                case "count":
+                    return (long) movements.size();
+                default:
+                    throw new UnsupportedOperationException("InventoryMovementRepository." + method.getName());
+            }
+        });
+    }
+
+    private Product adjustStock(String id, int delta) {
+        Product[] result = new Product[1];
+        products.computeIfPresent(id, (key, product) -> {
+            int stock = product.getCurrentStock() != null ? product.getCurrentStock() : 0;
+            if (stock + delta >= 0) {
+                product.setCurrentStock(stock + delta);
+                product.setRevision(product.getRevision() + 1);
+                result[0] = copy(product);
+            }
+            return product;
+        });
+        return result[0];
+    }
+
+    private Product adjustStock(String id, int delta, int requiredStock) {
+        Product[] result = new Product[1];
+        products.computeIfPresent(id, (key, product) -> {
+            int stock = product.getCurrentStock() != null ? product.getCurrentStock() : 0;
+            if (stock >= requiredStock) {
+                product.setCurrentStock(stock + delta);
+                product.setRevision(product.getRevision() + 1);
+                result[0] = copy(product);
+            }
+            return product;
+        });
+        return result[0];
+    }
+
+    static Product copy(Product source) {
+        Product product = new Product(source.getCode(), source.getName(), source.getDescription(),
+            source.getCategory(), source.getSupplier(), source.getPurchasePrice(), source.getSalePrice(),
+            source.getUnit(), source.getMinimumStock());
+        product.setId(source.getId());
+        product.setCurrentStock(source.getCurrentStock());
+        product.setCreatedAt(source.getCreatedAt());
+        product.setUpdatedAt(source.getUpdatedAt());
+        product.setRevision(source.getRevision());
+        return product;
+    }
+
+    private interface Handler {
+        Object invoke(Method method, Object[] args);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        InvocationHandler invocation = (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        return "InMemory" + type.getSimpleName();
+                }
+            }
+            return handler.invoke(method, args);
+        };
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, invocation);
+    }
+}
@@ -0,0 +1,86 @@
+package com.inventory.api.benchmark;
+
+/**
+ * Log-linear latency histogram in microseconds: exact below 128 µs, then 64
+ * buckets per power of two, so every recorded value is reported within 1.6%.
+ * Not thread-safe; give each worker its own and merge them afterwards.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BITS = 7;
+    private static final int LINEAR = 1 << SUB_BITS;
+    private static final int HALF = LINEAR / 2;
+    private static final int BUCKETS = LINEAR + (63 - SUB_BITS) * HALF;
+
+    private final long[] counts = new long[BUCKETS];
+    private long total;
+    private long sum;
+    private long max;
+
+    public void record(long micros) {
+        long value = Math.max(0, micros);
+        counts[index(value)]++;
+        total++;
+        sum += value;
+        max = Math.max(max, value);
+    }
+
+    public void merge(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        total += other.total;
+        sum += other.sum;
+        max = Math.max(max, other.max);
+    }
+
+    public long count() { return total; }
+    public long max() { return max; }
+    public double mean() { return total == 0 ? 0 : (double) sum / total; }
+
+    /** Smallest recorded bucket bound covering the given fraction of values, e.g. 0.99. */
+    public long percentile(double fraction) {
+        if (total == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(fraction * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(highestIn(i), max);
+            }
+        }
+        return max;
+    }
+
+    public interface BucketConsumer {
+        void accept(long upperBoundMicros, long count);
+    }
+
+    /** Non-empty buckets in ascending order, each with its inclusive upper bound. */
+    public void forEachBucket(BucketConsumer consumer) {
+        for (int i = 0; i < BUCKETS; i++) {
+            if (counts[i] > 0) {
+                consumer.accept(highestIn(i), counts[i]);
+            }
+        }
+    }
+
+    private static int index(long value) {
+        if (value < LINEAR) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS + 1;
+        return LINEAR + (shift - 1) * HALF + (int) ((value >>> shift) - HALF);
+    }
+
+    private static long highestIn(int index) {
+        if (index < LINEAR) {
+            return index;
+        }
+        int shift = (index - LINEAR) / HALF + 1;
+        long low = (long) ((index - LINEAR) % HALF + HALF) << shift;
+        return low + (1L << shift) - 1;
+    }
+}
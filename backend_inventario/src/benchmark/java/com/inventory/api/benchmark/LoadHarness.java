@@ -0,0 +1,172 @@
+package com.inventory.api.benchmark;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Replays a mixed workload against a running server and reports throughput
+ * and latency percentiles per endpoint. Product ids, codes and categories come
+ * from the same deterministic catalog as {@link SyntheticDataLoader}, so the
+ * requests hit existing documents with the same hot-SKU skew as the loaded
+ * history; use the same {@code --products}, {@code --seed},
+ * {@code --categories}, {@code --category-skew} and {@code --hot-skew}.
+ *
+ * <pre>
+ * mvn -Pbenchmark compile exec:java -Dbenchmark.main=com.inventory.api.benchmark.LoadHarness \
+ *     -Dexec.args="--url=http://localhost:8080/api/ --concurrency=64 --duration-seconds=60"
+ * </pre>
+ *
+ * {@code --script=file} replaces the default mix (see {@link LoadScript} for the
+ * format) and {@code --histogram-out=file.csv} writes every endpoint's latency
+ * buckets. The default mix leaves out whole-collection listings, exports, the
+ * server-sent event streams and the rollup rebuild, which would measure the
+ * size of the data set rather than the request path.
+ */
+public final class LoadHarness {
+
+    static final String DEFAULT_SCRIPT = String.join("\n",
+        "# Reads",
+        "200 GET products/{productId}",
+        "60  GET products/code/{productCode}",
+        "80  GET products?limit=50&category={category}",
+        "20  GET products?limit=50&stockStatus=LOW&sort=STOCK",
+        "60  GET products/search?term={term}",
+        "80  GET products/autocomplete?prefix={prefix}",
+        "10  GET products/low-stock",
+        "20  GET categories",
+        "10  GET categories/name/{category}",
+        "10  GET suppliers",
+        "40  GET movements/latest",
+        "40  GET movements/product/{coldProductId}",
+        "40  GET dashboard/stats",
+        "5   GET reports/overview",
+        "5   GET reports/categories",
+        "5   GET reports/movements/by-type?days=30",
+        "2   GET reports/movements/monthly?months=6",
+        "10  GET rollups?granularity=DAY&productId={productId}&startDate={daysAgo:30}&endDate={now}",
+        "# Writes",
+        "100 POST movements {\"productId\":\"{productId}\",\"type\":\"NEGATIVE_ADJUSTMENT\",\"quantity\":{quantity},"
+            + "\"comments\":\"Carga sintética\",\"createdBy\":\"load\"}",
+        "40  POST movements {\"productId\":\"{productId}\",\"type\":\"ENTRY\",\"quantity\":{restock},"
+            + "\"comments\":\"Carga sintética\",\"createdBy\":\"load\"}",
+        "5   PATCH products/{coldProductId}/stock?stock={stock}");
+
+    private LoadHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        BenchmarkOptions options = new BenchmarkOptions(args);
+        int products = options.getInt("products", 100_000);
+        long seed = options.getLong("seed", 42);
+        double categorySkew = options.getDouble("category-skew", 1.0);
+        CatalogGenerator catalog = new CatalogGenerator(seed, options.getInt("categories", 12), categorySkew);
+        HotProducts hotProducts = new HotProducts(products, options.getDouble("hot-skew", 0.9), seed);
+
+        String text = options.has("script")
+            ? Files.readString(Path.of(options.get("script", null)), StandardCharsets.UTF_8) : DEFAULT_SCRIPT;
+        LoadScript script = LoadScript.parse(text, new CatalogPlaceholders(catalog, categorySkew, hotProducts));
+
+        URI base = URI.create(options.get("url", "http://localhost:8080/api/"));
+        int concurrency = options.getInt("concurrency", 64);
+        Duration warmup = Duration.ofSeconds(options.getLong("warmup-seconds", 15));
+        Duration duration = Duration.ofSeconds(options.getLong("duration-seconds", 60));
+        System.out.printf("Loading %s with %d workers for %ds after %ds warm-up%n",
+            base, concurrency, duration.toSeconds(), warmup.toSeconds());
+
+        HttpLoadRunner.Result result = new HttpLoadRunner(base, script, concurrency, warmup, duration).run();
+        print(result);
+        if (options.has("histogram-out")) {
+            writeHistograms(Path.of(options.get("histogram-out", null)), result);
+        }
+    }
+
+    static void print(HttpLoadRunner.Result result) {
+        System.out.printf(Locale.ROOT, "%n%-72s %9s %8s %8s %9s %9s %9s %9s %9s %9s%n",
+            "endpoint", "requests", "4xx", "5xx", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        result.getByEndpoint().forEach((endpoint, stats) -> row(result, endpoint, stats));
+        row(result, "(all)", result.getOverall());
+    }
+
+    private static void row(HttpLoadRunner.Result result, String endpoint, HttpLoadRunner.EndpointStats stats) {
+        LatencyHistogram latencies = stats.getLatencies();
+        String label = endpoint.length() > 72 ? endpoint.substring(0, 69) + "..." : endpoint;
+        System.out.printf(Locale.ROOT, "%-72s %9d %8d %8d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+            label, latencies.count(), stats.getClientErrors(), stats.getServerErrors(), result.throughput(stats),
+            latencies.percentile(0.50) / 1000.0, latencies.percentile(0.90) / 1000.0,
+            latencies.percentile(0.99) / 1000.0, latencies.percentile(0.999) / 1000.0, latencies.max() / 1000.0);
+    }
+
+    private static void writeHistograms(Path path, HttpLoadRunner.Result result) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8))) {
+            out.println("endpoint,upper_bound_us,count");
+            for (Map.Entry<String, HttpLoadRunner.EndpointStats> entry : result.getByEndpoint().entrySet()) {
+                String endpoint = "\"" + entry.getKey().replace("\"", "\"\"") + "\"";
+                entry.getValue().getLatencies().forEachBucket((bound, count) ->
+                    out.println(endpoint + "," + bound + "," + count));
+            }
+        }
+        System.out.println("Latency histograms written to " + path.toAbsolutePath());
+    }
+
+    /** Placeholder values drawn from the synthetic catalog. */
+    static final class CatalogPlaceholders implements LoadScript.Placeholders {
+
+        private final CatalogGenerator catalog;
+        private final HotProducts hotProducts;
+        private final ZipfSampler categories;
+
+        // Categories are requested in proportion to their size
+        CatalogPlaceholders(CatalogGenerator catalog, double categorySkew, HotProducts hotProducts) {
+            this.catalog = catalog;
+            this.hotProducts = hotProducts;
+            this.categories = new ZipfSampler(catalog.categories().size(), categorySkew);
+        }
+
+        @Override
+        public String resolve(String name, String argument, Random random) {
+            switch (name) {
+                case "productId":
+                    return CatalogGenerator.productId(hotProducts.sample(random));
+                case "coldProductId":
+                    return CatalogGenerator.productId(random.nextInt(hotProducts.productCount()));
+                case "productCode":
+                    return catalog.product(hotProducts.sample(random)).getCode();
+                case "category":
+                    return catalog.categories().get(categories.sample(random));
+                case "term":
+                    return pick(random, random.nextBoolean() ? CatalogGenerator.NOUNS : CatalogGenerator.BRANDS)
+                        .toLowerCase(Locale.ROOT);
+                case "prefix":
+                    String word = pick(random, CatalogGenerator.NOUNS);
+                    return word.substring(0, Math.min(word.length(), 2 + random.nextInt(3)));
+                case "quantity":
+                    return String.valueOf(1 + random.nextInt(3));
+                case "restock":
+                    return String.valueOf(5 + random.nextInt(20));
+                case "stock":
+                    return String.valueOf(random.nextInt(200));
+                case "now":
+                    return LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).toString();
+                case "daysAgo":
+                    return LocalDateTime.now().minusDays(Long.parseLong(argument))
+                        .truncatedTo(ChronoUnit.SECONDS).toString();
+                default:
+                    throw new IllegalArgumentException("Unknown placeholder {" + name + "}");
+            }
+        }
+
+        private static String pick(Random random, String[] values) {
+            return values[random.nextInt(values.length)];
+        }
+    }
+}
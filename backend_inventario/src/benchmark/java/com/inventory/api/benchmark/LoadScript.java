@@ -0,0 +1,140 @@
+package com.inventory.api.benchmark;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A weighted request mix, one operation per line:
+ *
+ * <pre>
+ * # weight method path [json body]
+ * 20 GET  products/{productId}
+ * 5  POST movements {"productId":"{productId}","type":"ENTRY","quantity":{quantity},"createdBy":"load"}
+ * </pre>
+ *
+ * Paths are relative to the base URL. {@code {name}} and {@code {name:argument}}
+ * are replaced on every request by the {@link Placeholders}; values in the
+ * path are URL-encoded. Each line is reported under its method and path as
+ * written, numbered when several lines share them.
+ */
+public final class LoadScript {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{([A-Za-z]+)(?::([^}]*))?}");
+
+    public interface Placeholders {
+        String resolve(String name, String argument, Random random);
+    }
+
+    public static final class Operation {
+        private final String label;
+        private final String method;
+        private final String path;
+        private final String body;
+        private final int weight;
+
+        private Operation(String label, String method, String path, String body, int weight) {
+            this.label = label;
+            this.method = method;
+            this.path = path;
+            this.body = body;
+            this.weight = weight;
+        }
+
+        public String getLabel() { return label; }
+        public int getWeight() { return weight; }
+    }
+
+    private final List<Operation> operations = new ArrayList<>();
+    private final int[] cumulativeWeights;
+    private final Placeholders placeholders;
+
+    private LoadScript(List<Operation> operations, Placeholders placeholders) {
+        this.operations.addAll(operations);
+        this.placeholders = placeholders;
+        this.cumulativeWeights = new int[operations.size()];
+        int sum = 0;
+        for (int i = 0; i < operations.size(); i++) {
+            sum += operations.get(i).weight;
+            cumulativeWeights[i] = sum;
+        }
+    }
+
+    public static LoadScript parse(String text, Placeholders placeholders) {
+        List<Operation> operations = new ArrayList<>();
+        Map<String, Integer> labels = new HashMap<>();
+        for (String raw : text.split("\n")) {
+            String line = raw.strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] parts = line.split("\\s+", 4);
+            if (parts.length < 3) {
+                throw new IllegalArgumentException("Expected 'weight method path [body]': " + line);
+            }
+            int weight = Integer.parseInt(parts[0]);
+            if (weight > 0) {
+                String method = parts[1].toUpperCase();
+                String label = method + " " + parts[2];
+                int occurrence = labels.merge(label, 1, Integer::sum);
+                if (occurrence > 1) {
+                    label += " #" + occurrence;
+                }
+                operations.add(new Operation(label, method, parts[2], parts.length > 3 ? parts[3] : null, weight));
+            }
+        }
+        if (operations.isEmpty()) {
+            throw new IllegalArgumentException("The load script has no operations");
+        }
+        return new LoadScript(operations, placeholders);
+    }
+
+    public List<Operation> getOperations() {
+        return operations;
+    }
+
+    public Operation pick(Random random) {
+        int ticket = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (ticket < cumulativeWeights[i]) {
+                return operations.get(i);
+            }
+        }
+        return operations.get(operations.size() - 1);
+    }
+
+    public HttpRequest request(Operation operation, URI baseUri, Random random) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(substitute(operation.path, true, random)))
+            .timeout(Duration.ofSeconds(60));
+        if (operation.body != null) {
+            builder.header("Content-Type", "application/json")
+                .method(operation.method, HttpRequest.BodyPublishers.ofString(substitute(operation.body, false, random)));
+        } else {
+            builder.method(operation.method, HttpRequest.BodyPublishers.noBody());
+        }
+        return builder.build();
+    }
+
+    private String substitute(String template, boolean encode, Random random) {
+        Matcher matcher = PLACEHOLDER.matcher(template);
+        StringBuilder result = new StringBuilder();
+        while (matcher.find()) {
+            String value = placeholders.resolve(matcher.group(1), matcher.group(2), random);
+            if (encode) {
+                value = URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+            }
+            matcher.appendReplacement(result, Matcher.quoteReplacement(value));
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+}
@@ -0,0 +1,160 @@
+package com.inventory.api.benchmark;
+
+import com.inventory.api.model.InventoryMovement;
+import com.inventory.api.model.Product;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Generates a movement history day by day, oldest first, shaped like a shop
+ * rather than uniform noise: products are drawn from {@link HotProducts},
+ * volume follows the weekday and a growth trend with occasional burst days,
+ * time of day follows business hours, and a share of movements repeat a
+ * recent product minutes later. Outflows never take stock below zero; they
+ * turn into a restock instead, and the resulting stock of each product is
+ * available at the end.
+ */
+final class MovementHistoryGenerator {
+
+    private static final double[] HOUR_WEIGHTS = {
+        0.1, 0.05, 0.05, 0.05, 0.05, 0.1, 0.3, 0.8, 1.5, 2.5, 3.0, 3.0,
+        2.2, 2.0, 2.5, 2.8, 2.6, 2.0, 1.4, 0.9, 0.6, 0.4, 0.3, 0.2};
+    private static final double BURST_DAY_PROBABILITY = 0.03;
+    private static final double BURST_DAY_FACTOR = 3.0;
+    private static final double FOLLOW_UP_PROBABILITY = 0.25;
+    private static final int PRODUCT_CACHE_SIZE = 1 << 16;
+
+    private final CatalogGenerator catalog;
+    private final HotProducts hotProducts;
+    private final Random random;
+    private final int[] stock;
+    private final double[] hourCumulative = new double[24];
+    private final Product[] productCache = new Product[PRODUCT_CACHE_SIZE];
+    private final int[] cachedIndex = new int[PRODUCT_CACHE_SIZE];
+
+    MovementHistoryGenerator(CatalogGenerator catalog, HotProducts hotProducts, long seed) {
+        this.catalog = catalog;
+        this.hotProducts = hotProducts;
+        this.random = new Random(seed);
+        this.stock = new int[hotProducts.productCount()];
+        for (int i = 0; i < stock.length; i++) {
+            stock[i] = catalog.product(i).getCurrentStock();
+        }
+        Arrays.fill(cachedIndex, -1);
+
+        double sum = 0;
+        for (int h = 0; h < 24; h++) {
+            sum += HOUR_WEIGHTS[h];
+            hourCumulative[h] = sum;
+        }
+        for (int h = 0; h < 24; h++) {
+            hourCumulative[h] /= sum;
+        }
+    }
+
+    /** Stock of the product once every generated movement is applied. */
+    int stock(int productIndex) {
+        return stock[productIndex];
+    }
+
+    /** Emits {@code count} movements over the {@code days} days ending on {@code lastDay}, one list per day. */
+    void generate(long count, int days, LocalDate lastDay, Consumer<List<InventoryMovement>> sink) {
+        double[] weights = new double[days];
+        double total = 0;
+        for (int d = 0; d < days; d++) {
+            LocalDate day = lastDay.minusDays(days - 1L - d);
+            double weekday = day.getDayOfWeek() == DayOfWeek.SUNDAY ? 0.3
+                : day.getDayOfWeek() == DayOfWeek.SATURDAY ? 0.6 : 1.0;
+            double trend = 0.5 + 0.5 * d / Math.max(1, days - 1);
+            double burst = random.nextDouble() < BURST_DAY_PROBABILITY ? BURST_DAY_FACTOR : 1.0;
+            weights[d] = weekday * trend * burst;
+            total += weights[d];
+        }
+
+        double carry = 0;
+        for (int d = 0; d < days; d++) {
+            double exact = count * weights[d] / total + carry;
+            int n = (int) Math.floor(exact);
+            carry = exact - n;
+            if (d == days - 1) {
+                n += (int) Math.round(carry);
+            }
+            sink.accept(day(lastDay.minusDays(days - 1L - d), n));
+        }
+    }
+
+    private List<InventoryMovement> day(LocalDate date, int n) {
+        int[] products = new int[n];
+        // Second of day in the high half, generation order in the low half
+        long[] order = new long[n];
+        for (int i = 0; i < n; i++) {
+            int second;
+            if (i > 0 && random.nextDouble() < FOLLOW_UP_PROBABILITY) {
+                int previous = i - 1 - random.nextInt(Math.min(i, 16));
+                products[i] = products[previous];
+                second = Math.min(86_399, (int) (order[previous] >>> 32) + 30 + random.nextInt(870));
+            } else {
+                products[i] = hotProducts.sample(random);
+                second = hour() * 3600 + random.nextInt(3600);
+            }
+            order[i] = ((long) second << 32) | i;
+        }
+        Arrays.sort(order);
+
+        LocalDateTime midnight = date.atStartOfDay();
+        List<InventoryMovement> movements = new ArrayList<>(n);
+        for (long key : order) {
+            int p = products[(int) key];
+            movements.add(next(product(p), p, midnight.plusSeconds(key >>> 32)));
+        }
+        return movements;
+    }
+
+    private InventoryMovement next(Product product, int p, LocalDateTime date) {
+        double roll = random.nextDouble();
+        InventoryMovement.MovementType type;
+        int quantity;
+        if (roll < 0.72) {
+            type = InventoryMovement.MovementType.NEGATIVE_ADJUSTMENT;
+            quantity = -(1 + random.nextInt(5));
+        } else if (roll < 0.82) {
+            type = InventoryMovement.MovementType.ENTRY;
+            quantity = 5 + random.nextInt(26);
+        } else if (roll < 0.95) {
+            type = InventoryMovement.MovementType.POSITIVE_ADJUSTMENT;
+            quantity = 1 + random.nextInt(3);
+        } else {
+            type = InventoryMovement.MovementType.RETURN;
+            quantity = 1 + random.nextInt(2);
+        }
+        if (stock[p] + quantity < 0) {
+            type = InventoryMovement.MovementType.ENTRY;
+            quantity = 20 + random.nextInt(81);
+        }
+
+        InventoryMovement movement = CatalogGenerator.movement(product, type, quantity, stock[p], date);
+        stock[p] += quantity;
+        return movement;
+    }
+
+    private int hour() {
+        int hour = Arrays.binarySearch(hourCumulative, random.nextDouble());
+        return Math.min(hour >= 0 ? hour : -hour - 1, 23);
+    }
+
+    // Direct-mapped cache; hot products stay resident and the rest are cheap to regenerate
+    private Product product(int index) {
+        int slot = index & (PRODUCT_CACHE_SIZE - 1);
+        if (cachedIndex[slot] != index) {
+            productCache[slot] = catalog.product(index);
+            cachedIndex[slot] = index;
+        }
+        return productCache[slot];
+    }
+}
@@ -0,0 +1,192 @@
+package com.inventory.api.benchmark;
+
+import com.inventory.api.dto.MovementDTO;
+import com.inventory.api.model.InventoryMovement;
+import com.inventory.api.model.Product;
+import com.inventory.api.service.MovementSequencer;
+import org.springframework.beans.DirectFieldAccessor;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Single movements fired concurrently at a handful of hot SKUs, as on a
+ * promotion day, through the current path (one guarded stock update and one
+ * insert per movement) and through {@link MovementSequencer} (per-SKU lanes
+ * combining whatever queued up). Each mode runs a closed loop of
+ * {@code --concurrency} callers over a fresh {@link ServiceFixture} and
+ * reports throughput and latency percentiles side by side; afterwards the
+ * stock of every hot SKU is checked against the movements accepted for it.
+ *
+ * <pre>
+ * mvn -Pbenchmark compile exec:java -Dbenchmark.main=com.inventory.api.benchmark.MovementSequencerBenchmark \
+ *     -Dexec.args="--concurrency=256 --hot-skus=8 --duration-seconds=30"
+ * </pre>
+ *
+ * Options: {@code --backend=MONGO|MEMORY} (MongoDB as configured for
+ * {@link ServiceFixture}), {@code --modes=direct,sequenced},
+ * {@code --lanes=16}, {@code --max-combined=500}, {@code --products=1000},
+ * {@code --warmup-seconds=5}.
+ */
+public final class MovementSequencerBenchmark {
+
+    private MovementSequencerBenchmark() {
+    }
+
+    private static final class Result {
+        private final LatencyHistogram latencies = new LatencyHistogram();
+        private long rejected;
+        private long errors;
+        private double seconds;
+        private boolean consistent = true;
+    }
+
+    public static void main(String[] args) throws Exception {
+        BenchmarkOptions options = new BenchmarkOptions(args);
+        ServiceFixture.Backend backend = ServiceFixture.Backend.valueOf(options.get("backend", "MONGO"));
+        int concurrency = options.getInt("concurrency", 256);
+        int hotSkus = options.getInt("hot-skus", 8);
+        int products = options.getInt("products", 1000);
+        int lanes = options.getInt("lanes", 16);
+        int maxCombined = options.getInt("max-combined", 500);
+        Duration warmup = Duration.ofSeconds(options.getLong("warmup-seconds", 5));
+        Duration duration = Duration.ofSeconds(options.getLong("duration-seconds", 30));
+
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (String mode : options.get("modes", "direct,sequenced").split(",")) {
+            try (ServiceFixture fixture = new ServiceFixture(backend, products, 10_000)) {
+                MovementSequencer sequencer = null;
+                if (mode.equals("sequenced")) {
+                    sequencer = new MovementSequencer(true, lanes, maxCombined, 30_000);
+                    new DirectFieldAccessor(sequencer).setPropertyValue("movementService", fixture.movementService);
+                }
+                try {
+                    results.put(mode, run(fixture, sequencer, hotSkus, concurrency, warmup, duration));
+                } finally {
+                    if (sequencer != null) {
+                        sequencer.shutdown();
+                    }
+                }
+            }
+        }
+        print(results, backend, concurrency, hotSkus);
+    }
+
+    private static Result run(ServiceFixture fixture, MovementSequencer sequencer, int hotSkus, int concurrency,
+                              Duration warmup, Duration duration) throws Exception {
+        List<Product> hot = fixture.products.subList(0, Math.min(hotSkus, fixture.products.size()));
+        int[] initialStock = new int[hot.size()];
+        for (int i = 0; i < hot.size(); i++) {
+            initialStock[i] = stockOf(fixture, hot.get(i).getId());
+        }
+        AtomicLongArray acceptedDelta = new AtomicLongArray(hot.size());
+
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        ExecutorService callers = Executors.newFixedThreadPool(concurrency);
+        List<Future<Result>> workers = new ArrayList<>();
+        for (int w = 0; w < concurrency; w++) {
+            Random random = new Random(42 + w);
+            workers.add(callers.submit(() -> {
+                Result result = new Result();
+                long now;
+                while ((now = System.nanoTime()) < end) {
+                    int sku = random.nextInt(hot.size());
+                    MovementDTO movement = movement(hot.get(sku).getId(), random);
+                    boolean measured = now >= measureFrom;
+                    try {
+                        InventoryMovement saved = sequencer != null
+                            ? sequencer.createMovement(movement)
+                            : fixture.movementService.createMovement(movement);
+                        acceptedDelta.addAndGet(sku, saved.getNewStock() - saved.getPreviousStock());
+                        if (saved.getNewStock() - saved.getPreviousStock() != saved.getQuantity()) {
+                            result.consistent = false;
+                        }
+                    } catch (RuntimeException e) {
+                        if (measured) {
+                            if (e.getMessage() != null && e.getMessage().startsWith("No se puede reducir")) {
+                                result.rejected++;
+                            } else {
+                                result.errors++;
+                            }
+                        }
+                        continue;
+                    }
+                    if (measured) {
+                        result.latencies.record((System.nanoTime() - now) / 1000);
+                    }
+                }
+                return result;
+            }));
+        }
+
+        Result total = new Result();
+        for (Future<Result> worker : workers) {
+            Result result = worker.get();
+            total.latencies.merge(result.latencies);
+            total.rejected += result.rejected;
+            total.errors += result.errors;
+            total.consistent &= result.consistent;
+        }
+        callers.shutdown();
+        total.seconds = duration.toNanos() / 1e9;
+
+        // Every accepted movement must be reflected in the stock exactly once
+        for (int i = 0; i < hot.size(); i++) {
+            if (stockOf(fixture, hot.get(i).getId()) != initialStock[i] + acceptedDelta.get(i)) {
+                total.consistent = false;
+            }
+        }
+        return total;
+    }
+
+    // Restocks and sales of a few units, balanced so stock hovers around where it started
+    private static MovementDTO movement(String productId, Random random) {
+        MovementDTO movement = new MovementDTO();
+        movement.setProductId(productId);
+        boolean sale = random.nextBoolean();
+        movement.setType(sale ? InventoryMovement.MovementType.NEGATIVE_ADJUSTMENT : InventoryMovement.MovementType.ENTRY);
+        movement.setQuantity(1 + random.nextInt(3));
+        movement.setComments("Benchmark");
+        movement.setCreatedBy("benchmark");
+        return movement;
+    }
+
+    private static int stockOf(ServiceFixture fixture, String productId) {
+        Integer stock = fixture.productService.getProductById(productId)
+            .map(Product::getCurrentStock)
+            .orElse(0);
+        return stock != null ? stock : 0;
+    }
+
+    private static void print(Map<String, Result> results, ServiceFixture.Backend backend, int concurrency,
+                              int hotSkus) {
+        System.out.printf("%n%s backend, %d callers on %d hot SKUs%n", backend, concurrency, hotSkus);
+        System.out.printf(Locale.ROOT, "%-10s %10s %9s %7s %10s %10s %10s %10s %11s%n",
+            "mode", "movements", "rejected", "errors", "mov/s", "p50 ms", "p99 ms", "max ms", "consistent");
+        results.forEach((mode, result) -> {
+            LatencyHistogram histogram = result.latencies;
+            System.out.printf(Locale.ROOT, "%-10s %10d %9d %7d %10.1f %10.2f %10.2f %10.2f %11s%n",
+                mode, histogram.count(), result.rejected, result.errors, histogram.count() / result.seconds,
+                histogram.percentile(0.50) / 1000.0, histogram.percentile(0.99) / 1000.0, histogram.max() / 1000.0,
+                result.consistent ? "yes" : "NO");
+        });
+
+        Result direct = results.get("direct");
+        Result sequenced = results.get("sequenced");
+        if (direct != null && sequenced != null) {
+            System.out.printf(Locale.ROOT, "%nsequenced/direct: throughput x%.2f, p99 x%.2f%n",
+                (double) sequenced.latencies.count() / Math.max(1, direct.latencies.count()),
+                (double) sequenced.latencies.percentile(0.99) / Math.max(1, direct.latencies.percentile(0.99)));
+        }
+    }
+}
\ No newline at end of file
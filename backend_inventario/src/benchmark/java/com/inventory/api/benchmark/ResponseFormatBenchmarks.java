@@ -0,0 +1,100 @@
+package com.inventory.api.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.inventory.api.config.BinaryFormatsConfig;
+import com.inventory.api.model.InventoryMovement;
+import com.inventory.api.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encoding cost of the large list responses in each negotiable format, with and
+ * without the gzip the server applies for {@code Accept-Encoding: gzip}: 10k
+ * products and 100k movements, as returned by the product and movement list
+ * endpoints. The time per operation is the serialization CPU; the payload size
+ * of each combination is printed once at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseFormatBenchmarks {
+
+    static final int PRODUCT_COUNT = 10_000;
+    static final int MOVEMENT_COUNT = 100_000;
+
+    public enum Format { JSON, SMILE, CBOR }
+
+    @Param({"JSON", "SMILE", "CBOR"})
+    public Format format;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    private ObjectMapper objectMapper;
+    private List<Product> products;
+    private List<InventoryMovement> movements;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = mapper(format);
+        CatalogGenerator generator = new CatalogGenerator(42);
+        products = generator.products(PRODUCT_COUNT);
+        movements = generator.movements(products, MOVEMENT_COUNT, ServiceFixture.HISTORY_DAYS);
+
+        System.out.printf(Locale.ROOT, "%n%s%s payload: %d products %,d bytes, %d movements %,d bytes%n",
+            format, gzip ? "+gzip" : "", PRODUCT_COUNT, products().length, MOVEMENT_COUNT, movements().length);
+    }
+
+    @Benchmark
+    public byte[] products() throws IOException {
+        return encode(products);
+    }
+
+    @Benchmark
+    public byte[] movements() throws IOException {
+        return encode(movements);
+    }
+
+    private byte[] encode(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1 << 20);
+        try (OutputStream out = gzip ? new GZIPOutputStream(bytes, 8192) : bytes) {
+            objectMapper.writeValue(out, value);
+        }
+        return bytes.toByteArray();
+    }
+
+    // Configured as Spring Boot configures the builder it hands to BinaryFormatsConfig
+    private static ObjectMapper mapper(Format format) {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        switch (format) {
+            case SMILE:
+                return BinaryFormatsConfig.smileMapper(builder);
+            case CBOR:
+                return BinaryFormatsConfig.cborMapper(builder);
+            default:
+                return builder.build();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.inventory.api.benchmark;
+
+import com.inventory.api.dto.DashboardStatsDTO;
+import com.inventory.api.dto.MovementDTO;
+import com.inventory.api.model.InventoryMovement;
+import com.inventory.api.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service hot paths over a catalog of {@code catalogSize} products with
+ * {@code historySize} past movements, on the in-memory stand-ins and on a
+ * local MongoDB. Run through {@link BenchmarkRunner}; select one backend with
+ * {@code -p backend=MEMORY}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmarks {
+
+    private static final String[] SEARCH_TERMS = {"laptop", "inal", "camisa casual", "sierra", "mod", "bicicleta nova"};
+
+    @Param({"MEMORY", "MONGO"})
+    public ServiceFixture.Backend backend;
+
+    @Param({"1000", "100000"})
+    public int catalogSize;
+
+    @Param({"10000", "1000000"})
+    public int historySize;
+
+    private ServiceFixture fixture;
+    private List<Product> products;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new ServiceFixture(backend, catalogSize, historySize);
+        products = fixture.products;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    // Alternating entries and adjustments of one unit keep stock levels stable across iterations
+    @Benchmark
+    public InventoryMovement createMovement() {
+        int n = next++;
+        Product product = products.get((n >>> 1) % products.size());
+        InventoryMovement.MovementType type = (n & 1) == 0
+            ? InventoryMovement.MovementType.ENTRY : InventoryMovement.MovementType.NEGATIVE_ADJUSTMENT;
+        return fixture.movementService.createMovement(new MovementDTO(product.getId(), type, 1, null, "benchmark"));
+    }
+
+    @Benchmark
+    public List<Product> searchProducts() {
+        return fixture.productService.searchProducts(SEARCH_TERMS[next++ % SEARCH_TERMS.length], 20);
+    }
+
+    @Benchmark
+    public Double totalInventoryValue() {
+        return fixture.productService.getTotalInventoryValue();
+    }
+
+    @Benchmark
+    public DashboardStatsDTO dashboardStats() {
+        return fixture.dashboardService.getDashboardStats();
+    }
+}
@@ -0,0 +1,163 @@
+package com.inventory.api.benchmark;
+
+import com.inventory.api.config.CacheConfig;
+import com.inventory.api.model.InventoryMovement;
+import com.inventory.api.model.Product;
+import com.inventory.api.repository.InventoryMovementRepository;
+import com.inventory.api.repository.InventoryMovementRepositoryCustomImpl;
+import com.inventory.api.repository.ProductRepository;
+import com.inventory.api.repository.ProductRepositoryCustomImpl;
+import com.inventory.api.service.ChangeFeedService;
+import com.inventory.api.service.CollectionVersions;
+import com.inventory.api.service.DashboardAggregateService;
+import com.inventory.api.service.DashboardService;
+import com.inventory.api.service.InventoryMovementService;
+import com.inventory.api.service.LowStockAlertService;
+import com.inventory.api.service.MovementArchiveService;
+import com.inventory.api.service.MovementRollupService;
+import com.inventory.api.service.ProductSearchIndex;
+import com.inventory.api.service.ProductService;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import jakarta.validation.Validation;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition;
+import java.util.List;
+
+/**
+ * Wires the real services by hand over one of two storage backends: the
+ * in-memory repository stand-ins, or MongoDB at {@code benchmark.mongo.uri}
+ * (default {@code mongodb://localhost:27017}) in the throwaway database
+ * {@code benchmark.mongo.database} (default {@code inventory_bench}), which is
+ * dropped and reloaded on every setup. Everything above the repositories is
+ * the production code.
+ */
+public final class ServiceFixture implements AutoCloseable {
+
+    public enum Backend { MEMORY, MONGO }
+
+    static final int HISTORY_DAYS = 30;
+
+    private final MongoClient mongoClient;
+    private final ChangeFeedService changeFeed;
+    final List<Product> products;
+    final ProductService productService;
+    final InventoryMovementService movementService;
+    final DashboardService dashboardService;
+
+    ServiceFixture(Backend backend, int catalogSize, int historySize) {
+        CatalogGenerator generator = new CatalogGenerator(42);
+        products = generator.products(catalogSize);
+        List<InventoryMovement> movements = generator.movements(products, historySize, HISTORY_DAYS);
+
+        MongoTemplate mongoTemplate = null;
+        ProductRepository productRepository;
+        InventoryMovementRepository movementRepository;
+        MovementRollupService rollupService;
+        if (backend == Backend.MONGO) {
+            mongoClient = MongoClients.create(System.getProperty("benchmark.mongo.uri", "mongodb://localhost:27017"));
+            mongoTemplate = new MongoTemplate(mongoClient,
+                System.getProperty("benchmark.mongo.database", "inventory_bench"));
+            load(mongoTemplate, products, movements);
+
+            MongoRepositoryFactory factory = new MongoRepositoryFactory(mongoTemplate);
+            ProductRepositoryCustomImpl productCustom = new ProductRepositoryCustomImpl();
+            inject(productCustom, "mongoTemplate", mongoTemplate);
+            inject(productCustom, "cursorBatchSize", 1000);
+            productRepository = factory.getRepository(ProductRepository.class,
+                RepositoryComposition.RepositoryFragments.just(productCustom));
+            InventoryMovementRepositoryCustomImpl movementCustom = new InventoryMovementRepositoryCustomImpl();
+            inject(movementCustom, "mongoTemplate", mongoTemplate);
+            movementRepository = factory.getRepository(InventoryMovementRepository.class,
+                RepositoryComposition.RepositoryFragments.just(movementCustom));
+            rollupService = new MovementRollupService();
+        } else {
+            mongoClient = null;
+            InMemoryRepositories repositories = new InMemoryRepositories(products, movements);
+            productRepository = repositories.productRepository();
+            movementRepository = repositories.movementRepository();
+            // Rollups are MongoDB upserts with nothing to stand in for
+            rollupService = new MovementRollupService() {
+                @Override
+                public void recordMovements(List<InventoryMovement> recorded) {
+                }
+            };
+        }
+
+        DashboardAggregateService dashboardAggregate = new DashboardAggregateService();
+        ProductSearchIndex searchIndex = new ProductSearchIndex();
+        LowStockAlertService lowStockAlerts = new LowStockAlertService(60_000, 100, 1);
+        changeFeed = new ChangeFeedService(10_000, 1_000, 1, 60_000);
+        CollectionVersions versions = new CollectionVersions();
+        for (Object service : List.of(dashboardAggregate, searchIndex, rollupService)) {
+            inject(service, "mongoTemplate", mongoTemplate);
+        }
+        inject(rollupService, "rebuildMaxTimeMinutes", 30L);
+        inject(lowStockAlerts, "productRepository", productRepository);
+
+        productService = new ProductService();
+        inject(productService, "productRepository", productRepository);
+        inject(productService, "dashboardAggregate", dashboardAggregate);
+        inject(productService, "searchIndex", searchIndex);
+        inject(productService, "cacheManager", new CacheConfig().cacheManager(new StandardEnvironment()));
+        inject(productService, "lowStockAlerts", lowStockAlerts);
+        inject(productService, "changeFeed", changeFeed);
+        inject(productService, "versions", versions);
+
+        movementService = new InventoryMovementService();
+        inject(movementService, "movementRepository", movementRepository);
+        inject(movementService, "productRepository", productRepository);
+        inject(movementService, "dashboardAggregate", dashboardAggregate);
+        inject(movementService, "rollupService", rollupService);
+        inject(movementService, "productService", productService);
+        inject(movementService, "changeFeed", changeFeed);
+        inject(movementService, "versions", versions);
+        // Never run here, so every read stays on the hot collection
+        inject(movementService, "archive", new MovementArchiveService());
+        inject(movementService, "maxBatchSize", 10_000);
+        inject(movementService, "validator", Validation.buildDefaultValidatorFactory().getValidator());
+
+        dashboardService = new DashboardService();
+        inject(dashboardService, "dashboardAggregate", dashboardAggregate);
+        inject(dashboardService, "versions", versions);
+
+        if (backend == Backend.MONGO) {
+            searchIndex.rebuild();
+            dashboardAggregate.reconcile();
+            lowStockAlerts.initialize();
+        } else {
+            // What rebuild() and reconcile() would compute from the collections
+            searchIndex.putAll(products);
+            inject(searchIndex, "ready", true);
+            for (Product product : products) {
+                dashboardAggregate.productCreated(product);
+            }
+            for (InventoryMovement movement : movements) {
+                dashboardAggregate.movementRecorded(movement);
+            }
+            inject(dashboardAggregate, "initialized", true);
+        }
+    }
+
+    private static void load(MongoTemplate mongoTemplate, List<Product> products, List<InventoryMovement> movements) {
+        mongoTemplate.getDb().drop();
+        BenchmarkMongo.createIndexes(mongoTemplate);
+        BenchmarkMongo.insert(mongoTemplate, products, Product.class, 10_000);
+        BenchmarkMongo.insert(mongoTemplate, movements, InventoryMovement.class, 10_000);
+    }
+
+    private static void inject(Object target, String field, Object value) {
+        new DirectFieldAccessor(target).setPropertyValue(field, value);
+    }
+
+    @Override
+    public void close() {
+        changeFeed.shutdown();
+        if (mongoClient != null) {
+            mongoClient.close();
+        }
+    }
+}
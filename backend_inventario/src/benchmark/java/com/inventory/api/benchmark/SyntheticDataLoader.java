@@ -0,0 +1,113 @@
+package com.inventory.api.benchmark;
+
+import com.inventory.api.model.Category;
+import com.inventory.api.model.InventoryMovement;
+import com.inventory.api.model.Product;
+import com.inventory.api.model.Supplier;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Bulk-loads a synthetic inventory into a local MongoDB database for load
+ * testing: a catalog from {@link CatalogGenerator} with imbalanced categories
+ * and a movement history from {@link MovementHistoryGenerator} with hot SKUs
+ * and time clustering. Products are written last with the stock their history
+ * leaves them at, and indexes are built after the data.
+ *
+ * <pre>
+ * mvn -Pbenchmark compile exec:java -Dbenchmark.main=com.inventory.api.benchmark.SyntheticDataLoader \
+ *     -Dexec.args="--products=1000000 --movements=50000000"
+ * </pre>
+ *
+ * Options and defaults: {@code --uri=mongodb://localhost:27017},
+ * {@code --database=inventory_load}, {@code --products=100000},
+ * {@code --movements=5000000}, {@code --days=365}, {@code --categories=12},
+ * {@code --category-skew=1.0}, {@code --hot-skew=0.9}, {@code --seed=42},
+ * {@code --batch-size=5000}. The database is dropped first; loading into
+ * {@code inventory_db} also needs {@code --force=true}. Point the application
+ * at the result with {@code --spring.data.mongodb.database=inventory_load};
+ * it backfills the movement rollups on its first start.
+ */
+public final class SyntheticDataLoader {
+
+    private SyntheticDataLoader() {
+    }
+
+    public static void main(String[] args) {
+        BenchmarkOptions options = new BenchmarkOptions(args);
+        String database = options.get("database", "inventory_load");
+        if (database.equals("inventory_db") && !options.getBoolean("force", false)) {
+            throw new IllegalArgumentException("Refusing to drop inventory_db without --force=true");
+        }
+        int productCount = options.getInt("products", 100_000);
+        long movementCount = options.getLong("movements", 5_000_000);
+        int days = options.getInt("days", 365);
+        int batchSize = options.getInt("batch-size", 5_000);
+        long seed = options.getLong("seed", 42);
+
+        CatalogGenerator catalog = new CatalogGenerator(seed,
+            options.getInt("categories", 12), options.getDouble("category-skew", 1.0));
+        HotProducts hotProducts = new HotProducts(productCount, options.getDouble("hot-skew", 0.9), seed);
+        System.out.printf(Locale.ROOT, "Top 1%% of products take %.1f%% of movements%n",
+            100 * hotProducts.share(Math.max(1, productCount / 100)));
+
+        try (MongoClient client = MongoClients.create(options.get("uri", "mongodb://localhost:27017"))) {
+            MongoTemplate mongoTemplate = new MongoTemplate(client, database);
+            mongoTemplate.getDb().drop();
+
+            List<Category> categories = new ArrayList<>();
+            for (String name : catalog.categories()) {
+                categories.add(new Category(name, "Categoría sintética"));
+            }
+            mongoTemplate.insertAll(categories);
+            List<Supplier> suppliers = new ArrayList<>();
+            for (String name : CatalogGenerator.SUPPLIERS) {
+                suppliers.add(new Supplier(name, "Contacto " + name, "555-0100",
+                    name.toLowerCase(Locale.ROOT) + "@example.com"));
+            }
+            mongoTemplate.insertAll(suppliers);
+
+            long historyStarted = System.nanoTime();
+            MovementHistoryGenerator history = new MovementHistoryGenerator(catalog, hotProducts, seed);
+            long[] written = {0};
+            history.generate(movementCount, days, LocalDate.now(), movements -> {
+                BenchmarkMongo.insert(mongoTemplate, movements, InventoryMovement.class, batchSize);
+                long before = written[0];
+                written[0] += movements.size();
+                if (written[0] / 1_000_000 != before / 1_000_000 || written[0] == movementCount) {
+                    progress("movements", written[0], movementCount, historyStarted);
+                }
+            });
+
+            long started = System.nanoTime();
+            List<Product> batch = new ArrayList<>(batchSize);
+            for (int i = 0; i < productCount; i++) {
+                Product product = catalog.product(i);
+                product.setCurrentStock(history.stock(i));
+                batch.add(product);
+                if (batch.size() == batchSize || i == productCount - 1) {
+                    BenchmarkMongo.insert(mongoTemplate, batch, Product.class, batchSize);
+                    batch.clear();
+                    if ((i + 1) % 100_000 == 0 || i == productCount - 1) {
+                        progress("products", i + 1L, productCount, started);
+                    }
+                }
+            }
+
+            started = System.nanoTime();
+            BenchmarkMongo.createIndexes(mongoTemplate);
+            System.out.printf("Indexes built in %s%n", Duration.ofNanos(System.nanoTime() - started));
+        }
+    }
+
+    private static void progress(String what, long done, long total, long started) {
+        double seconds = (System.nanoTime() - started) / 1e9;
+        System.out.printf(Locale.ROOT, "%,d / %,d %s (%.0f/s)%n", done, total, what, done / Math.max(seconds, 1e-3));
+    }
+}
@@ -0,0 +1,114 @@
+package com.inventory.api.benchmark;
+
+import com.inventory.api.InventoryApiApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compares request handling on platform and virtual threads. For each mode
+ * the application is started in this JVM against the local MongoDB, loaded
+ * with a closed-loop read mix at high concurrency and stopped again; the
+ * throughput and latency percentiles of every mode are printed side by side.
+ *
+ * <pre>
+ * mvn -Pbenchmark compile exec:java \
+ *     -Dexec.args="--concurrency=800 --warmup-seconds=10 --duration-seconds=30"
+ * </pre>
+ *
+ * Virtual threads need a Java 21 runtime; on older ones that mode is skipped.
+ * Options: {@code --modes=platform,virtual}, {@code --paths=products?limit=50,...}
+ * (relative to /api/) and {@code --url=http://host:8080/api/} to load an
+ * already running server instead, reported as a single "external" mode.
+ */
+public final class ThreadModeBenchmark {
+
+    private static final List<String> DEFAULT_PATHS = List.of(
+        "products?limit=50",
+        "products/low-stock",
+        "movements/latest",
+        "categories",
+        "dashboard/stats",
+        "reports/overview");
+
+    private ThreadModeBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        BenchmarkOptions options = new BenchmarkOptions(args);
+        int concurrency = options.getInt("concurrency", 800);
+        Duration warmup = Duration.ofSeconds(options.getLong("warmup-seconds", 10));
+        Duration duration = Duration.ofSeconds(options.getLong("duration-seconds", 30));
+        List<String> paths = options.has("paths")
+            ? List.of(options.get("paths", null).split(",")) : DEFAULT_PATHS;
+        LoadScript script = LoadScript.parse(String.join("\n", paths.stream().map(path -> "1 GET " + path).toList()),
+            (name, argument, random) -> {
+                throw new IllegalArgumentException("Unknown placeholder {" + name + "}");
+            });
+
+        Map<String, HttpLoadRunner.Result> results = new LinkedHashMap<>();
+        if (options.has("url")) {
+            URI base = URI.create(options.get("url", null));
+            results.put("external", new HttpLoadRunner(base, script, concurrency, warmup, duration).run());
+        } else {
+            System.setProperty("spring.devtools.restart.enabled", "false");
+            for (String mode : options.get("modes", "platform,virtual").split(",")) {
+                boolean virtual = mode.equals("virtual");
+                if (virtual && Runtime.version().feature() < 21) {
+                    System.out.printf("Skipping virtual mode: Java %d has no virtual threads%n",
+                        Runtime.version().feature());
+                    continue;
+                }
+                results.put(mode, runMode(virtual, script, concurrency, warmup, duration));
+            }
+        }
+        print(results, concurrency);
+    }
+
+    private static HttpLoadRunner.Result runMode(boolean virtual, LoadScript script, int concurrency,
+                                                 Duration warmup, Duration duration) throws InterruptedException {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(InventoryApiApplication.class)
+                .properties(
+                    "server.port=0",
+                    "spring.threads.virtual.enabled=" + virtual,
+                    "logging.level.com.inventory.api=INFO",
+                    "logging.level.org.springframework.data.mongodb=WARN")
+                .run()) {
+            String port = context.getEnvironment().getProperty("local.server.port");
+            URI base = URI.create("http://localhost:" + port + "/api/");
+            return new HttpLoadRunner(base, script, concurrency, warmup, duration).run();
+        }
+    }
+
+    private static void print(Map<String, HttpLoadRunner.Result> results, int concurrency) {
+        System.out.printf("%nConcurrency %d%n", concurrency);
+        System.out.printf(Locale.ROOT, "%-10s %-22s %10s %9s %10s %10s %10s %10s%n",
+            "mode", "path", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+        results.forEach((mode, result) -> {
+            result.getByEndpoint().forEach((endpoint, stats) ->
+                row(mode, endpoint.substring("GET ".length()), stats, result.throughput(stats)));
+            row(mode, "(all)", result.getOverall(), result.throughput(result.getOverall()));
+        });
+
+        HttpLoadRunner.Result platform = results.get("platform");
+        HttpLoadRunner.Result virtual = results.get("virtual");
+        if (platform != null && virtual != null) {
+            System.out.printf(Locale.ROOT, "%nvirtual/platform: throughput x%.2f, p99 x%.2f%n",
+                virtual.throughput(virtual.getOverall()) / platform.throughput(platform.getOverall()),
+                (double) virtual.getOverall().getLatencies().percentile(0.99)
+                    / Math.max(1, platform.getOverall().getLatencies().percentile(0.99)));
+        }
+    }
+
+    private static void row(String mode, String path, HttpLoadRunner.EndpointStats stats, double throughput) {
+        LatencyHistogram histogram = stats.getLatencies();
+        System.out.printf(Locale.ROOT, "%-10s %-22s %10d %9d %10.1f %10.2f %10.2f %10.2f%n",
+            mode, path, histogram.count(), stats.getClientErrors() + stats.getServerErrors(), throughput,
+            histogram.percentile(0.50) / 1000.0, histogram.percentile(0.99) / 1000.0, histogram.max() / 1000.0);
+    }
+}
@@ -0,0 +1,37 @@
+package com.inventory.api.benchmark;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Draws ranks 0..n-1 with probability proportional to 1/(rank+1)^exponent.
+ * An exponent of 0 is uniform; around 1 a few ranks take most draws, as hot
+ * SKUs or large categories do.
+ */
+public final class ZipfSampler {
+
+    private final double[] cumulative;
+
+    public ZipfSampler(int n, double exponent) {
+        cumulative = new double[n];
+        double sum = 0;
+        for (int rank = 0; rank < n; rank++) {
+            sum += 1.0 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cumulative[rank] /= sum;
+        }
+    }
+
+    public int sample(Random random) {
+        int rank = Arrays.binarySearch(cumulative, random.nextDouble());
+        rank = rank >= 0 ? rank : -rank - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+
+    /** Share of all draws that land on the given rank. */
+    public double probability(int rank) {
+        return rank == 0 ? cumulative[0] : cumulative[rank] - cumulative[rank - 1];
+    }
+}
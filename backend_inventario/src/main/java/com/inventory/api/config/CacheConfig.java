@@ -0,0 +1,60 @@
+package com.inventory.api.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.NoOpCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read-through caches for the catalog. Each cache is configured under
+ * {@code inventory.cache.<name>} with {@code enabled}, {@code max-size} and
+ * {@code ttl-seconds}; a disabled cache is replaced by a no-op so the
+ * annotated methods always reach MongoDB. Hit, miss and eviction counts are
+ * published by Actuator as the {@code cache.*} metrics.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String CATEGORIES = "categories";
+    public static final String SUPPLIERS = "suppliers";
+    public static final String PRODUCTS_BY_ID = "productsById";
+    public static final String PRODUCTS_BY_CODE = "productsByCode";
+
+    @Bean
+    public CacheManager cacheManager(Environment environment) {
+        List<Cache> caches = new ArrayList<>();
+        caches.add(build(environment, CATEGORIES, 1, 30));
+        caches.add(build(environment, SUPPLIERS, 1, 30));
+        caches.add(build(environment, PRODUCTS_BY_ID, 10_000, 300));
+        caches.add(build(environment, PRODUCTS_BY_CODE, 10_000, 300));
+
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(caches);
+        return cacheManager;
+    }
+
+    private Cache build(Environment environment, String name, long defaultMaxSize, long defaultTtlSeconds) {
+        String prefix = "inventory.cache." + name + ".";
+        if (!environment.getProperty(prefix + "enabled", Boolean.class, true)) {
+            return new NoOpCache(name);
+        }
+
+        long maxSize = environment.getProperty(prefix + "max-size", Long.class, defaultMaxSize);
+        long ttlSeconds = environment.getProperty(prefix + "ttl-seconds", Long.class, defaultTtlSeconds);
+        return new CaffeineCache(name, Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .recordStats()
+            .build(), false);
+    }
+}
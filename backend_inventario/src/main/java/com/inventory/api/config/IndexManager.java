@@ -0,0 +1,448 @@
+package com.inventory.api.config;
+
+import com.inventory.api.dto.IndexReportDTO;
+import com.inventory.api.dto.ProductQueryDTO;
+import com.inventory.api.model.ArchivedMovement;
+import com.inventory.api.model.Category;
+import com.inventory.api.model.InventoryMovement;
+import com.inventory.api.model.MovementRollup;
+import com.inventory.api.model.Product;
+import com.inventory.api.model.StockSnapshot;
+import com.inventory.api.model.StockSnapshotRun;
+import com.inventory.api.model.Supplier;
+import com.inventory.api.repository.CategoryRepository;
+import com.inventory.api.repository.Fieldset;
+import com.inventory.api.repository.InventoryMovementRepository;
+import com.inventory.api.repository.ProductRepository;
+import com.inventory.api.repository.SupplierRepository;
+import com.inventory.api.service.MovementRollupService;
+import com.mongodb.client.model.CreateCollectionOptions;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.stereotype.Component;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Owns the indexes of every collection. The declarations live on the
+ * documents as {@code @Indexed}/{@code @CompoundIndex}; at startup they are
+ * either created (ENSURE) or only compared with what exists (VERIFY). Every
+ * repository method is also run here as a probe, and the winning plan of each
+ * command it sends is explained, so a query that falls back to a collection
+ * scan is reported and, with {@code fail-on-collscan}, stops the application
+ * from starting.
+ */
+@Component
+public class IndexManager {
+
+    private static final Logger log = LoggerFactory.getLogger(IndexManager.class);
+
+    private static final Class<?>[] DOCUMENTS = {
+        Product.class, InventoryMovement.class, Category.class, Supplier.class, MovementRollup.class,
+        ArchivedMovement.class, StockSnapshot.class, StockSnapshotRun.class
+    };
+
+    // Rarely read and never updated: worth zstd's better ratio over the default snappy
+    private static final Class<?>[] ZSTD_COMPRESSED = {
+        ArchivedMovement.class
+    };
+
+    // Matches no document; the write probes target it
+    private static final String PROBE_ID = "000000000000000000000000";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private QueryPlanCapture capture;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private InventoryMovementRepository movementRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private MovementRollupService rollupService;
+
+    @Value("${inventory.indexes.mode:ENSURE}")
+    private Mode mode;
+
+    @Value("${inventory.indexes.fail-on-collscan:false}")
+    private boolean failOnCollscan;
+
+    public enum Mode {
+        ENSURE, VERIFY
+    }
+
+    private static final class QueryProbe {
+        private final String method;
+        private final boolean collscanExpected;
+        // Either a query to run and capture, or the command to explain as is
+        private final Runnable query;
+        private final Document command;
+
+        private QueryProbe(String method, boolean collscanExpected, Runnable query, Document command) {
+            this.method = method;
+            this.collscanExpected = collscanExpected;
+            this.query = query;
+            this.command = command;
+        }
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void onStartup() {
+        try {
+            if (mode == Mode.ENSURE) {
+                ensureIndexes();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Index creation failed", e);
+            return;
+        }
+
+        IndexReportDTO report;
+        try {
+            report = getReport();
+        } catch (RuntimeException e) {
+            log.warn("Index verification failed", e);
+            return;
+        }
+
+        for (IndexReportDTO.CollectionIndexesDTO collection : report.getCollections()) {
+            if (!collection.getMissing().isEmpty()) {
+                log.warn("Collection {} is missing declared indexes {}", collection.getCollection(), collection.getMissing());
+            }
+            if (!collection.getUnexpected().isEmpty()) {
+                log.info("Collection {} has undeclared indexes {}", collection.getCollection(), collection.getUnexpected());
+            }
+        }
+
+        List<String> regressions = report.getPlans().stream()
+            .filter(plan -> plan.getCollectionScan() && !plan.getCollectionScanExpected())
+            .map(IndexReportDTO.QueryPlanDTO::getMethod)
+            .collect(Collectors.toList());
+        if (!regressions.isEmpty()) {
+            log.warn("Queries planned as COLLSCAN: {}", regressions);
+            if (failOnCollscan) {
+                throw new IllegalStateException("Consultas sin índice (COLLSCAN): " + regressions);
+            }
+        }
+    }
+
+    public void ensureIndexes() {
+        for (Class<?> document : ZSTD_COMPRESSED) {
+            createCompressed(mongoTemplate.getCollectionName(document));
+        }
+        IndexResolver resolver = IndexResolver.create(mongoTemplate.getConverter().getMappingContext());
+        for (Class<?> document : DOCUMENTS) {
+            for (IndexDefinition index : resolver.resolveIndexFor(document)) {
+                mongoTemplate.indexOps(document).ensureIndex(index);
+            }
+        }
+    }
+
+    // Block compression is fixed when a collection is created, so it must exist before any index or insert does
+    private void createCompressed(String collection) {
+        if (mongoTemplate.collectionExists(collection)) {
+            return;
+        }
+        try {
+            mongoTemplate.getDb().createCollection(collection, new CreateCollectionOptions().storageEngineOptions(
+                new Document("wiredTiger", new Document("configString", "block_compressor=zstd"))));
+        } catch (RuntimeException e) {
+            log.warn("Could not create {} with zstd compression; it will use the server default", collection, e);
+        }
+    }
+
+    public IndexReportDTO getReport() {
+        return new IndexReportDTO(mode.name(), compareIndexes(), explainProbes());
+    }
+
+    private List<IndexReportDTO.CollectionIndexesDTO> compareIndexes() {
+        IndexResolver resolver = IndexResolver.create(mongoTemplate.getConverter().getMappingContext());
+        List<IndexReportDTO.CollectionIndexesDTO> collections = new ArrayList<>();
+
+        for (Class<?> document : DOCUMENTS) {
+            String collection = mongoTemplate.getCollectionName(document);
+
+            List<String> declared = new ArrayList<>();
+            for (IndexDefinition index : resolver.resolveIndexFor(document)) {
+                declared.add(signature(index.getIndexKeys()));
+            }
+
+            List<String> existing = new ArrayList<>();
+            if (mongoTemplate.collectionExists(collection)) {
+                for (Document index : mongoTemplate.getCollection(collection).listIndexes()) {
+                    String key = signature(index.get("key", Document.class));
+                    if (!"_id:1".equals(key)) {
+                        existing.add(key);
+                    }
+                }
+            }
+
+            List<String> missing = declared.stream().filter(key -> !existing.contains(key)).collect(Collectors.toList());
+            List<String> unexpected = existing.stream().filter(key -> !declared.contains(key)).collect(Collectors.toList());
+            collections.add(new IndexReportDTO.CollectionIndexesDTO(collection, declared, missing, unexpected));
+        }
+        return collections;
+    }
+
+    private List<IndexReportDTO.QueryPlanDTO> explainProbes() {
+        List<IndexReportDTO.QueryPlanDTO> plans = new ArrayList<>();
+        for (QueryProbe probe : probes()) {
+            List<Document> commands = probe.command != null ? List.of(probe.command) : capture.capture(probe.query);
+            if (commands.isEmpty()) {
+                throw new IllegalStateException("La consulta " + probe.method + " no envió ningún comando");
+            }
+            for (Document command : commands) {
+                Document explain = mongoTemplate.getDb().runCommand(
+                    new Document("explain", command).append("verbosity", "queryPlanner"));
+
+                List<String> stages = new ArrayList<>();
+                List<String> indexes = new ArrayList<>();
+                describe(winningPlan(queryPlanner(explain)), stages, indexes);
+                boolean collscan = stages.contains("COLLSCAN");
+                plans.add(new IndexReportDTO.QueryPlanDTO(probe.method, collection(command),
+                    String.join(" > ", stages), indexes, collscan, probe.collscanExpected));
+            }
+        }
+        return plans;
+    }
+
+    // An aggregate that is not pushed down whole reports the plan of its leading $cursor stage
+    private static Document queryPlanner(Document explain) {
+        if (explain.containsKey("queryPlanner")) {
+            return explain.get("queryPlanner", Document.class);
+        }
+        Document cursor = explain.getList("stages", Document.class).get(0).get("$cursor", Document.class);
+        return cursor.get("queryPlanner", Document.class);
+    }
+
+    // The command name comes first and its value is the collection
+    private static String collection(Document command) {
+        return String.valueOf(command.values().iterator().next());
+    }
+
+    static Document winningPlan(Document queryPlanner) {
+        Document winningPlan = queryPlanner.get("winningPlan", Document.class);
+        // Plans executed by the slot-based engine nest the classic plan one level deeper
+        if (winningPlan.containsKey("queryPlan")) {
+            winningPlan = winningPlan.get("queryPlan", Document.class);
+        }
+        return winningPlan;
+    }
+
+    static void describe(Document stage, List<String> stages, List<String> indexes) {
+        String name = stage.getString("stage");
+        if ("IXSCAN".equals(name) || "COUNT_SCAN".equals(name) || "DISTINCT_SCAN".equals(name)) {
+            String indexName = stage.getString("indexName");
+            indexes.add(indexName);
+            stages.add(name + "(" + indexName + ")");
+        } else {
+            stages.add(name);
+        }
+
+        Document input = stage.get("inputStage", Document.class);
+        if (input != null) {
+            describe(input, stages, indexes);
+        }
+        List<Document> inputs = stage.getList("inputStages", Document.class);
+        if (inputs != null) {
+            for (Document child : inputs) {
+                describe(child, stages, indexes);
+            }
+        }
+    }
+
+    private static String signature(Document keys) {
+        return keys.entrySet().stream()
+            .map(entry -> entry.getKey() + ":" + normalize(entry.getValue()))
+            .collect(Collectors.joining(","));
+    }
+
+    private static String normalize(Object direction) {
+        return direction instanceof Number ? String.valueOf(((Number) direction).intValue()) : String.valueOf(direction);
+    }
+
+    /**
+     * Every repository method, run for real with values that match nothing so
+     * the commands it sends are captured and explained as sent. The writes go
+     * to an id that does not exist. Queries the services build by hand are
+     * probed with the command they send.
+     */
+    private List<QueryProbe> probes() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime weekAgo = now.minusDays(7);
+        Sort newestFirst = Sort.by(Sort.Direction.DESC, "date");
+        Fieldset productSummary = Fieldset.of(Product.class, "summary", null);
+        Fieldset movementSummary = Fieldset.of(InventoryMovement.class, "summary", null);
+        InventoryMovement.MovementType entry = InventoryMovement.MovementType.ENTRY;
+        Product missing = new Product();
+        missing.setId(PROBE_ID);
+
+        List<QueryProbe> probes = new ArrayList<>();
+        probe(probes, "ProductRepository.findByCode", false, () -> productRepository.findByCode("PROBE"));
+        probe(probes, "ProductRepository.existsByCode", false, () -> productRepository.existsByCode("PROBE"));
+        probe(probes, "ProductRepository.findByCategory", false, () -> productRepository.findByCategory("probe"));
+        probe(probes, "ProductRepository.findBySupplier", false, () -> productRepository.findBySupplier("probe"));
+        probe(probes, "ProductRepository.findByCurrentStockLessThanEqual", false,
+            () -> productRepository.findByCurrentStockLessThanEqual(-1));
+        probe(probes, "ProductRepository.findLowStockProducts", false, () -> productRepository.findLowStockProducts());
+        probe(probes, "ProductRepository.findLowStockIds", false, () -> productRepository.findLowStockIds());
+        probe(probes, "ProductRepository.findBySearchTerm", true, () -> productRepository.findBySearchTerm("probe"));
+
+        for (ProductQueryDTO.SortField field : ProductQueryDTO.SortField.values()) {
+            for (ProductQueryDTO.SortDirection direction : ProductQueryDTO.SortDirection.values()) {
+                ProductQueryDTO query = new ProductQueryDTO();
+                query.setSort(field);
+                query.setDirection(direction);
+                probe(probes, "ProductRepository.findPage(sort=" + field + " " + direction + ")", false,
+                    () -> productRepository.findPage(query, 1));
+            }
+        }
+        ProductQueryDTO byCategory = new ProductQueryDTO();
+        byCategory.setCategory("probe");
+        probe(probes, "ProductRepository.findPage(category)", false, () -> productRepository.findPage(byCategory, 51));
+        probe(probes, "ProductRepository.countMatching(category)", false,
+            () -> productRepository.countMatching(byCategory, 10_000));
+        probe(probes, "ProductRepository.findMatching(category, summary)", false,
+            () -> productRepository.findMatching(byCategory, Sort.unsorted(), productSummary));
+
+        ProductQueryDTO bySupplier = new ProductQueryDTO();
+        bySupplier.setSupplier("probe");
+        bySupplier.setSort(ProductQueryDTO.SortField.PRICE);
+        probe(probes, "ProductRepository.findPage(supplier, sort=PRICE)", false,
+            () -> productRepository.findPage(bySupplier, 51));
+        probe(probes, "ProductRepository.findMatching(supplier, summary)", false,
+            () -> productRepository.findMatching(bySupplier, Sort.unsorted(), productSummary));
+
+        ProductQueryDTO low = new ProductQueryDTO();
+        low.setStockStatus(ProductQueryDTO.StockStatus.LOW);
+        low.setSort(ProductQueryDTO.SortField.STOCK);
+        probe(probes, "ProductRepository.findPage(stockStatus=LOW, sort=STOCK)", false,
+            () -> productRepository.findPage(low, 51));
+        probe(probes, "ProductRepository.findMatching(stockStatus=LOW, sort=shortfall)", false,
+            () -> productRepository.findMatching(low, Sort.by(Sort.Direction.DESC, "shortfall"), productSummary));
+
+        ProductQueryDTO after = new ProductQueryDTO();
+        after.setSort(ProductQueryDTO.SortField.NAME);
+        after.setAfterValue("probe");
+        after.setAfterId(PROBE_ID);
+        probe(probes, "ProductRepository.findPage(sort=NAME, after cursor)", false,
+            () -> productRepository.findPage(after, 51));
+        probe(probes, "ProductRepository.streamMatching", false, () -> {
+            try (Stream<Product> products = productRepository.streamMatching(byCategory, PROBE_ID)) {
+                products.count();
+            }
+        });
+
+        probe(probes, "ProductRepository.adjustStock", false, () -> productRepository.adjustStock(PROBE_ID, 0));
+        probe(probes, "ProductRepository.adjustStock(requiredStock)", false,
+            () -> productRepository.adjustStock(PROBE_ID, 0, 0));
+        probe(probes, "ProductRepository.replaceStock", false, () -> productRepository.replaceStock(PROBE_ID, 0));
+        probe(probes, "ProductRepository.updateDetails", false, () -> productRepository.updateDetails(missing));
+        // One-off migration of products written before the low-stock fields existed
+        probe(probes, "ProductRepository.refreshStockState", true, () -> productRepository.refreshStockState());
+
+        probe(probes, "InventoryMovementRepository.findByProductId", false,
+            () -> movementRepository.findByProductId("probe"));
+        probe(probes, "InventoryMovementRepository.findByProductIdOrderByDateDesc", false,
+            () -> movementRepository.findByProductIdOrderByDateDesc("probe"));
+        probe(probes, "InventoryMovementRepository.findByType", false, () -> movementRepository.findByType(entry));
+        probe(probes, "InventoryMovementRepository.findByDateBetween", false,
+            () -> movementRepository.findByDateBetween(now, now));
+        probe(probes, "InventoryMovementRepository.findRecentMovements", false,
+            () -> movementRepository.findRecentMovements(now));
+        probe(probes, "InventoryMovementRepository.findTop10ByOrderByDateDesc", false,
+            () -> movementRepository.findTop10ByOrderByDateDesc());
+        probe(probes, "InventoryMovementRepository.countByDateGreaterThanEqual", false,
+            () -> movementRepository.countByDateGreaterThanEqual(now));
+
+        // The shapes InventoryMovementService sends; listing every movement is a scan by design
+        probe(probes, "InventoryMovementRepository.findMatching()", true,
+            () -> movementRepository.findMatching(null, null, null, null, Sort.unsorted(), 1, movementSummary));
+        probe(probes, "InventoryMovementRepository.findMatching(productId)", false,
+            () -> movementRepository.findMatching("probe", null, null, null, newestFirst, 0, movementSummary));
+        probe(probes, "InventoryMovementRepository.findMatching(type)", false,
+            () -> movementRepository.findMatching(null, entry, null, null, Sort.unsorted(), 1, movementSummary));
+        probe(probes, "InventoryMovementRepository.findMatching(date range)", false,
+            () -> movementRepository.findMatching(null, null, weekAgo, now, Sort.unsorted(), 1, movementSummary));
+        probe(probes, "InventoryMovementRepository.findMatching(since)", false,
+            () -> movementRepository.findMatching(null, null, now, null, Sort.unsorted(), 0, movementSummary));
+        probe(probes, "InventoryMovementRepository.findMatching(latest)", false,
+            () -> movementRepository.findMatching(null, null, null, null, newestFirst, 10, movementSummary));
+        probe(probes, "InventoryMovementRepository.findMatching(productId, type, date range)", false,
+            () -> movementRepository.findMatching("probe", entry, weekAgo, now, newestFirst, 0, null));
+        probe(probes, "InventoryMovementRepository.findArchived(productId)", false,
+            () -> movementRepository.findArchived("probe", null, null, null, newestFirst, 0, movementSummary));
+        probe(probes, "InventoryMovementRepository.findArchived(date range)", false,
+            () -> movementRepository.findArchived(null, null, weekAgo, now, Sort.unsorted(), 1, movementSummary));
+        probe(probes, "InventoryMovementRepository.streamMatching(productId)", false, () -> {
+            try (Stream<InventoryMovement> movements = movementRepository.streamMatching("probe", null, null, null, null)) {
+                movements.count();
+            }
+        });
+        probe(probes, "InventoryMovementRepository.streamArchived(productId)", false, () -> {
+            try (Stream<InventoryMovement> movements = movementRepository.streamArchived("probe", null, null, null, null)) {
+                movements.count();
+            }
+        });
+
+        probe(probes, "CategoryRepository.findByName", false, () -> categoryRepository.findByName("probe"));
+        probe(probes, "CategoryRepository.existsByName", false, () -> categoryRepository.existsByName("probe"));
+        probe(probes, "SupplierRepository.findByName", false, () -> supplierRepository.findByName("probe"));
+        probe(probes, "SupplierRepository.existsByName", false, () -> supplierRepository.existsByName("probe"));
+
+        probe(probes, "MovementRollupService.getRollups", false,
+            () -> rollupService.getRollups(MovementRollup.Granularity.DAY, now, now, null, null));
+
+        // Private to their services and only run by scheduled jobs, so sent here as they build them
+        Date date = new Date();
+        probes.add(new QueryProbe("MovementArchiveService.moveBefore", false, null,
+            find("inventory_movements", new Document("date", new Document("$lt", date)), new Document("date", 1), 5000)));
+        probes.add(new QueryProbe("StockSnapshotService.latestSnapshots", false, null,
+            find("stock_snapshots", new Document("productId", new Document("$in", List.of("probe")))
+                .append("asOf", new Document("$lte", date)), new Document("productId", 1).append("asOf", -1), 0)));
+        probes.add(new QueryProbe("StockSnapshotService.stockAsOf(delta)", false, null,
+            find("inventory_movements", new Document("productId", new Document("$in", List.of("probe")))
+                .append("date", new Document("$gte", date).append("$lt", date)), null, 0)));
+        probes.add(new QueryProbe("StockSnapshotService.latestRun", false, null,
+            find("stock_snapshot_runs", new Document("asOf", new Document("$lte", date)), new Document("asOf", -1), 1)));
+        return probes;
+    }
+
+    private void probe(List<QueryProbe> probes, String method, boolean collscanExpected, Runnable query) {
+        probes.add(new QueryProbe(method, collscanExpected, query, null));
+    }
+
+    private static Document find(String collection, Document filter, Document sort, int limit) {
+        Document find = new Document("find", collection).append("filter", filter);
+        if (sort != null) {
+            find.append("sort", sort);
+        }
+        if (limit > 0) {
+            find.append("limit", limit);
+        }
+        return find;
+    }
+}
@@ -0,0 +1,31 @@
+package com.inventory.api.config;
+
+import com.inventory.api.dto.IndexReportDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/indexes}: index drift per collection and the winning plan
+ * of every registered repository query.
+ */
+@Component
+@Endpoint(id = "indexes")
+public class IndexesEndpoint {
+
+    @Autowired
+    private IndexManager indexManager;
+
+    @ReadOperation
+    public IndexReportDTO report() {
+        return indexManager.getReport();
+    }
+
+    @WriteOperation
+    public IndexReportDTO ensure() {
+        indexManager.ensureIndexes();
+        return indexManager.getReport();
+    }
+}
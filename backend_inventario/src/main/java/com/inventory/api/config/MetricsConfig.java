@@ -0,0 +1,24 @@
+package com.inventory.api.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Times the service layer: every public method of a class annotated with
+ * {@code @Timed("inventory.service")} is recorded with its class and method as
+ * tags. Requests ({@code http.server.requests}) and repository methods
+ * ({@code spring.data.repository.invocations}) are timed by Actuator, MongoDB
+ * commands and connection pools by the listeners added in {@link MongoConfig}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    public static final String SERVICE_TIMER = "inventory.service";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
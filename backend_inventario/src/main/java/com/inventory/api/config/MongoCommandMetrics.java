@@ -0,0 +1,113 @@
+package com.inventory.api.config;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every command the driver sends, tagged with the client, collection,
+ * command and outcome, and records how many documents each returned or wrote:
+ * the batch size of {@code find}, {@code aggregate} and {@code getMore}, and
+ * {@code n} of writes and counts. The started event is the only one that
+ * carries the collection, so it is kept by request id until the command ends.
+ */
+public class MongoCommandMetrics implements CommandListener {
+
+    static final String COMMANDS = "inventory.mongo.commands";
+    static final String DOCUMENTS = "inventory.mongo.command.documents";
+
+    private static final String NO_COLLECTION = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final String client;
+    private final Map<Integer, String> collections = new ConcurrentHashMap<>();
+
+    public MongoCommandMetrics(MeterRegistry meterRegistry, String client) {
+        this.meterRegistry = meterRegistry;
+        this.client = client;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        collections.put(event.getRequestId(), collection(event.getCommandName(), event.getCommand()));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        String collection = collections.remove(event.getRequestId());
+        if (collection == null) {
+            collection = NO_COLLECTION;
+        }
+        timer(event.getCommandName(), collection, "success")
+            .record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+
+        long documents = documents(event.getCommandName(), event.getResponse());
+        if (documents >= 0) {
+            DistributionSummary.builder(DOCUMENTS)
+                .description("Documents returned or affected by a MongoDB command")
+                .baseUnit("documents")
+                .tag("client", client)
+                .tag("collection", collection)
+                .tag("command", event.getCommandName())
+                .register(meterRegistry)
+                .record(documents);
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        String collection = collections.remove(event.getRequestId());
+        timer(event.getCommandName(), collection != null ? collection : NO_COLLECTION, "failed")
+            .record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    private Timer timer(String command, String collection, String status) {
+        return Timer.builder(COMMANDS)
+            .description("MongoDB commands as measured by the driver")
+            .tag("client", client)
+            .tag("collection", collection)
+            .tag("command", command)
+            .tag("status", status)
+            .register(meterRegistry);
+    }
+
+    // The command's first field names the collection, except for getMore
+    static String collection(String commandName, BsonDocument command) {
+        BsonValue value = "getMore".equals(commandName) ? command.get("collection") : command.get(commandName);
+        return value != null && value.isString() ? value.asString().getValue() : NO_COLLECTION;
+    }
+
+    // -1 when the command has no meaningful document count
+    static long documents(String commandName, BsonDocument response) {
+        switch (commandName) {
+            case "find":
+            case "aggregate":
+                return batchSize(response, "firstBatch");
+            case "getMore":
+                return batchSize(response, "nextBatch");
+            case "insert":
+            case "update":
+            case "delete":
+            case "count":
+                return response.isNumber("n") ? response.getNumber("n").longValue() : -1;
+            case "findAndModify":
+                return response.containsKey("value") && !response.get("value").isNull() ? 1 : 0;
+            default:
+                return -1;
+        }
+    }
+
+    private static long batchSize(BsonDocument response, String batch) {
+        BsonDocument cursor = response.isDocument("cursor") ? response.getDocument("cursor") : null;
+        return cursor != null && cursor.isArray(batch) ? cursor.getArray(batch).size() : -1;
+    }
+}
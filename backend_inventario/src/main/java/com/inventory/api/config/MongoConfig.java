@@ -1,13 +1,103 @@
 package com.inventory.api.config;
 
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.event.CommandListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.mongodb.MongoMetricsConnectionPoolListener;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.mongodb.config.AbstractMongoClientConfiguration;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 public class MongoConfig extends AbstractMongoClientConfiguration {
 
+    @Value("${spring.data.mongodb.database:inventory_db}")
+    private String databaseName;
+
+    // A full URI, such as the one tests point at their container, wins over host and port
+    @Value("${spring.data.mongodb.uri:}")
+    private String uri;
+
+    @Value("${spring.data.mongodb.host:localhost}")
+    private String host;
+
+    @Value("${spring.data.mongodb.port:27017}")
+    private int port;
+
+    @Value("${inventory.mongo.max-pool-size:100}")
+    private int maxPoolSize;
+
+    @Value("${inventory.mongo.min-pool-size:0}")
+    private int minPoolSize;
+
+    @Value("${inventory.mongo.max-wait-ms:10000}")
+    private long maxWaitMs;
+
+    @Value("${inventory.metrics.mongo-commands:true}")
+    private boolean commandMetrics;
+
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Autowired
+    private SlowQueryProfiler slowQueryProfiler;
+
+    @Autowired
+    private ObjectProvider<CommandListener> commandListeners;
+
     @Override
     protected String getDatabaseName() {
-        return "inventory_db";
+        return databaseName;
+    }
+
+    // Indexes are created or verified explicitly by IndexManager
+    @Override
+    protected boolean autoIndexCreation() {
+        return false;
+    }
+
+    @Override
+    protected void configureClientSettings(MongoClientSettings.Builder builder) {
+        applyConnection(builder);
+        applyPoolSettings(builder);
+        applyMonitoring(builder, "blocking");
+    }
+
+    void applyConnection(MongoClientSettings.Builder builder) {
+        builder.applyConnectionString(new ConnectionString(
+            uri != null && !uri.isBlank() ? uri : "mongodb://" + host + ":" + port));
+    }
+
+    // The pool, not the request threads, bounds concurrent queries once requests run on virtual threads
+    void applyPoolSettings(MongoClientSettings.Builder builder) {
+        builder.applyToConnectionPoolSettings(pool -> pool
+            .maxSize(maxPoolSize)
+            .minSize(minPoolSize)
+            .maxWaitTime(maxWaitMs, TimeUnit.MILLISECONDS));
+    }
+
+    // Pool size, checked-out connections and wait queue as gauges; command timings and the slow-query profiler when enabled
+    void applyMonitoring(MongoClientSettings.Builder builder, String client) {
+        // Listener beans, such as the command capture in tests; the profiler is one of them
+        commandListeners.orderedStream()
+            .filter(listener -> listener != slowQueryProfiler || slowQueryProfiler.isEnabled())
+            .forEach(builder::addCommandListener);
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null) {
+            return;
+        }
+        builder.applyToConnectionPoolSettings(pool -> pool.addConnectionPoolListener(
+            new MongoMetricsConnectionPoolListener(registry, event -> Tags.of(
+                "client", client,
+                "cluster.id", event.getServerId().getClusterId().getValue(),
+                "server.address", event.getServerId().getAddress().toString()))));
+        if (commandMetrics) {
+            builder.addCommandListener(new MongoCommandMetrics(registry, client));
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,31 @@
+package com.inventory.api.config;
+
+import com.inventory.api.dto.MovementArchiveStatusDTO;
+import com.inventory.api.service.MovementArchiveService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/archive}: the current movement archive cut-over and the
+ * last run; a POST archives up to the horizon right away.
+ */
+@Component
+@Endpoint(id = "archive")
+public class MovementArchiveEndpoint {
+
+    @Autowired
+    private MovementArchiveService archiveService;
+
+    @ReadOperation
+    public MovementArchiveStatusDTO status() {
+        return archiveService.getStatus();
+    }
+
+    @WriteOperation
+    public MovementArchiveStatusDTO archive() {
+        return archiveService.archive();
+    }
+}
@@ -0,0 +1,59 @@
+package com.inventory.api.config;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import org.bson.Document;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Records the commands a query sends, so {@link IndexManager} explains
+ * exactly what the repositories run rather than a copy of it. Only the
+ * capturing thread is recorded; the blocking driver reports commands on the
+ * thread that sends them, and scheduled jobs sharing the client are left out.
+ * {@link MongoConfig} adds it to the clients like any other listener bean.
+ */
+@Component
+public class QueryPlanCapture implements CommandListener {
+
+    private static final Set<String> EXPLAINABLE = Set.of(
+        "find", "count", "distinct", "aggregate", "findAndModify", "update", "delete");
+
+    // Fields explain accepts; session, routing and write concern fields are dropped
+    private static final List<String> QUERY_FIELDS = List.of(
+        "find", "count", "distinct", "aggregate", "findAndModify", "update", "delete",
+        "filter", "query", "key", "pipeline", "cursor", "sort", "projection", "fields", "hint", "skip", "limit",
+        "collation", "updates", "deletes", "new", "upsert", "remove", "arrayFilters", "let");
+
+    private final ThreadLocal<List<Document>> capturing = new ThreadLocal<>();
+
+    /** Runs the query and returns the explainable commands it sent, in order. */
+    public List<Document> capture(Runnable query) {
+        List<Document> commands = new ArrayList<>();
+        capturing.set(commands);
+        try {
+            query.run();
+        } finally {
+            capturing.remove();
+        }
+        return commands;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        List<Document> commands = capturing.get();
+        if (commands == null || !EXPLAINABLE.contains(event.getCommandName())) {
+            return;
+        }
+        Document command = Document.parse(event.getCommand().toJson());
+        Document query = new Document();
+        for (String field : QUERY_FIELDS) {
+            if (command.containsKey(field)) {
+                query.append(field, command.get(field));
+            }
+        }
+        commands.add(query);
+    }
+}
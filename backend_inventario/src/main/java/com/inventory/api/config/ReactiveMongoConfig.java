@@ -0,0 +1,53 @@
+package com.inventory.api.config;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.SimpleReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
+import org.springframework.data.mongodb.repository.config.EnableReactiveMongoRepositories;
+
+/**
+ * Reactive driver and repositories for the {@code reactive} profile. The
+ * template shares the mapping converter of {@link MongoConfig}, so documents
+ * map identically on both drivers; the blocking client stays available for
+ * startup tasks, scheduled jobs and the endpoints without a reactive variant.
+ * Enabling reactive repositories switches off the auto-configured blocking
+ * ones, so both are declared here.
+ */
+@Configuration
+@Profile("reactive")
+@EnableMongoRepositories(basePackages = "com.inventory.api.repository",
+    excludeFilters = @ComponentScan.Filter(type = FilterType.REGEX, pattern = "com\\.inventory\\.api\\.repository\\.reactive\\..*"))
+@EnableReactiveMongoRepositories(basePackages = "com.inventory.api.repository.reactive")
+public class ReactiveMongoConfig {
+
+    @Bean(destroyMethod = "close")
+    public MongoClient reactiveMongoClient(MongoConfig mongoConfig) {
+        MongoClientSettings.Builder settings = MongoClientSettings.builder();
+        mongoConfig.applyConnection(settings);
+        mongoConfig.applyPoolSettings(settings);
+        mongoConfig.applyMonitoring(settings, "reactive");
+        return MongoClients.create(settings.build());
+    }
+
+    @Bean
+    public ReactiveMongoDatabaseFactory reactiveMongoDatabaseFactory(MongoClient reactiveMongoClient,
+                                                                     MongoConfig mongoConfig) {
+        return new SimpleReactiveMongoDatabaseFactory(reactiveMongoClient, mongoConfig.getDatabaseName());
+    }
+
+    @Bean
+    public ReactiveMongoTemplate reactiveMongoTemplate(ReactiveMongoDatabaseFactory reactiveMongoDatabaseFactory,
+                                                       MappingMongoConverter mappingMongoConverter) {
+        return new ReactiveMongoTemplate(reactiveMongoDatabaseFactory, mappingMongoConverter);
+    }
+}
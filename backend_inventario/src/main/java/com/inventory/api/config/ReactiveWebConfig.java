@@ -0,0 +1,65 @@
+package com.inventory.api.config;
+
+import com.inventory.api.controller.ReactiveFieldsetArgumentResolver;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.reactive.config.BlockingExecutionConfigurer;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.result.method.annotation.ArgumentResolverConfigurer;
+
+/**
+ * Controller methods with a non-reactive return type (reports, dashboard,
+ * rollups, paging and batch movements) still call the blocking services in the
+ * {@code reactive} profile. WebFlux runs them on this bounded pool instead of
+ * the event loop, so a slow database queues those requests without stalling
+ * the reactive ones. With virtual threads enabled each call gets a virtual
+ * thread instead and the MongoDB connection pool is what bounds them. The
+ * {@code @RequestFieldset} resolver is registered here as well, as in
+ * {@link WebConfig}.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveWebConfig implements WebFluxConfigurer {
+
+    @Value("${inventory.reactive.blocking-threads:32}")
+    private int blockingThreads;
+
+    @Value("${inventory.reactive.blocking-queue-size:1000}")
+    private int blockingQueueSize;
+
+    @Autowired
+    private Environment environment;
+
+    // Also registered as the application executor, which Spring Boot no longer creates once this one exists
+    @Bean(name = {"blockingControllerExecutor", TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME})
+    public AsyncTaskExecutor blockingControllerExecutor() {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return new VirtualThreadTaskExecutor("blocking-");
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(blockingThreads);
+        executor.setMaxPoolSize(blockingThreads);
+        executor.setQueueCapacity(blockingQueueSize);
+        executor.setThreadNamePrefix("blocking-");
+        return executor;
+    }
+
+    @Override
+    public void configureBlockingExecution(BlockingExecutionConfigurer configurer) {
+        configurer.setExecutor(blockingControllerExecutor());
+    }
+
+    @Override
+    public void configureArgumentResolvers(ArgumentResolverConfigurer configurer) {
+        configurer.addCustomResolver(new ReactiveFieldsetArgumentResolver());
+    }
+}
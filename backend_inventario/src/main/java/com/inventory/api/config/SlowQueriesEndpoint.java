@@ -0,0 +1,31 @@
+package com.inventory.api.config;
+
+import com.inventory.api.dto.SlowOperationDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+import java.util.List;
+
+/**
+ * {@code /actuator/slowqueries}: the MongoDB commands over the slow threshold,
+ * newest first, with their shape, origin and sampled plan.
+ */
+@Component
+@Endpoint(id = "slowqueries")
+public class SlowQueriesEndpoint {
+
+    @Autowired
+    private SlowQueryProfiler slowQueryProfiler;
+
+    @ReadOperation
+    public List<SlowOperationDTO> operations() {
+        return slowQueryProfiler.getOperations();
+    }
+
+    @DeleteOperation
+    public void clear() {
+        slowQueryProfiler.clear();
+    }
+}
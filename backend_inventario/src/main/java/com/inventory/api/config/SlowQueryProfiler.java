@@ -0,0 +1,468 @@
+package com.inventory.api.config;
+
+import com.inventory.api.dto.SlowOperationDTO;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import jakarta.annotation.PreDestroy;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonInt64;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the MongoDB commands slower than {@code inventory.profiler.slow-threshold-ms}
+ * in a bounded buffer, served at {@code /actuator/slowqueries}. Each entry has
+ * the command's shape with literal values replaced by {@code "?"}, the
+ * repository method and application frame that sent it and the documents it
+ * returned. Slow reads are explained with {@code executionStats} on a
+ * background thread, at most once per shape and interval, for the winning plan
+ * and the documents and keys examined; later operations of the same shape
+ * carry that plan. The driver only exposes a command's body during the started
+ * event, so the parts needed afterwards are copied there: literal values only
+ * for reads that may be explained and carry at most
+ * {@code inventory.profiler.max-retained-values} of them, and otherwise just
+ * the normalized shape.
+ */
+@Component
+public class SlowQueryProfiler implements CommandListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryProfiler.class);
+
+    private static final String PLACEHOLDER = "?";
+    private static final String APPLICATION_PACKAGE = "com.inventory.api.";
+    private static final String REPOSITORY_PACKAGE = "com.inventory.api.repository";
+    private static final int MAX_TRACKED_SHAPES = 1000;
+
+    private static final Set<String> EXPLAINABLE = Set.of("find", "aggregate", "count", "distinct");
+    // Added by the driver per request, meaningless to an explain run later
+    private static final Set<String> SESSION_FIELDS = Set.of("$db", "lsid", "$clusterTime", "txnNumber",
+        "$readPreference", "autocommit", "startTransaction");
+    private static final Set<String> NOT_IN_SHAPE = Set.of("cursor", "batchSize", "maxTimeMS", "readConcern",
+        "writeConcern", "comment", "ordered", "singleBatch", "allowDiskUse");
+    // Field names and directions rather than values
+    private static final Set<String> KEPT_AS_IS = Set.of("sort", "projection", "hint", "key", "$sort", "$project");
+
+    private static final StackWalker STACK = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    @Autowired
+    private ObjectProvider<MongoTemplate> mongoTemplate;
+
+    @Value("${inventory.profiler.enabled:true}")
+    private boolean enabled;
+
+    @Value("${inventory.profiler.slow-threshold-ms:100}")
+    private long slowThresholdMs;
+
+    @Value("${inventory.profiler.buffer-size:500}")
+    private int bufferSize;
+
+    @Value("${inventory.profiler.explain:true}")
+    private boolean explain;
+
+    @Value("${inventory.profiler.explain-interval-ms:60000}")
+    private long explainIntervalMs;
+
+    @Value("${inventory.profiler.explain-max-time-ms:5000}")
+    private long explainMaxTimeMs;
+
+    @Value("${inventory.profiler.max-retained-values:1000}")
+    private int maxRetainedValues;
+
+    private final Map<Integer, StartedCommand> started = new ConcurrentHashMap<>();
+    private final Map<String, ShapePlan> plans = new ConcurrentHashMap<>();
+    private final Deque<SlowOperationDTO> operations = new ArrayDeque<>();
+
+    private final ThreadPoolExecutor explainer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(16), runnable -> {
+            Thread thread = new Thread(runnable, "slow-query-explain");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+    private static final class StartedCommand {
+        private final String collection;
+        private final BsonDocument retained;
+        private final boolean explainable;
+
+        private StartedCommand(String collection, BsonDocument retained, boolean explainable) {
+            this.collection = collection;
+            this.retained = retained;
+            this.explainable = explainable;
+        }
+    }
+
+    // Latest explain of a shape; the plan fields stay null until it completes
+    private static final class ShapePlan {
+        private final long requestedAt;
+        private volatile String winningPlan;
+        private volatile List<String> indexes;
+        private volatile Long docsExamined;
+        private volatile Long keysExamined;
+        private volatile LocalDateTime explainedAt;
+
+        private ShapePlan(long requestedAt) {
+            this.requestedAt = requestedAt;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Copies taken under the lock the explain thread writes plans under, so callers never see one half set
+    public List<SlowOperationDTO> getOperations() {
+        synchronized (operations) {
+            List<SlowOperationDTO> newestFirst = new ArrayList<>(operations.size());
+            operations.descendingIterator()
+                .forEachRemaining(operation -> newestFirst.add(new SlowOperationDTO(operation)));
+            return newestFirst;
+        }
+    }
+
+    public void clear() {
+        synchronized (operations) {
+            operations.clear();
+        }
+        plans.clear();
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        String name = event.getCommandName();
+        if ("explain".equals(name)) {
+            return;
+        }
+        BsonDocument command = event.getCommand();
+        String collection = MongoCommandMetrics.collection(name, command);
+        boolean explainable = explain && EXPLAINABLE.contains(name) && !writesOutput(command)
+            && withinBudget(command, maxRetainedValues) >= 0;
+        BsonDocument retained = explainable ? retain(name, collection, command) : normalized(name, collection, command);
+        started.put(event.getRequestId(), new StartedCommand(collection, retained, explainable));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        StartedCommand command = started.remove(event.getRequestId());
+        long elapsedMs = event.getElapsedTime(TimeUnit.MILLISECONDS);
+        if (command != null && elapsedMs >= slowThresholdMs) {
+            long documents = MongoCommandMetrics.documents(event.getCommandName(), event.getResponse());
+            record(event.getDatabaseName(), event.getCommandName(), command, elapsedMs,
+                documents >= 0 ? documents : null, null);
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        StartedCommand command = started.remove(event.getRequestId());
+        long elapsedMs = event.getElapsedTime(TimeUnit.MILLISECONDS);
+        if (command != null && elapsedMs >= slowThresholdMs) {
+            record(event.getDatabaseName(), event.getCommandName(), command, elapsedMs, null,
+                String.valueOf(event.getThrowable().getMessage()));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        explainer.shutdownNow();
+    }
+
+    private void record(String database, String name, StartedCommand command, long elapsedMs,
+                        Long documents, String failure) {
+        String[] origin = origin();
+        String shape = shape(name, command.retained);
+        SlowOperationDTO operation = new SlowOperationDTO(LocalDateTime.now(), elapsedMs, database,
+            command.collection, name, shape, origin[0], origin[1], documents, failure);
+        attachPlan(operation, database, shape, command);
+        log.debug("Slow MongoDB {} on {} took {} ms from {}: {}", name, command.collection, elapsedMs,
+            origin[1] != null ? origin[1] : origin[0], shape);
+
+        synchronized (operations) {
+            while (operations.size() >= bufferSize) {
+                operations.removeFirst();
+            }
+            operations.addLast(operation);
+        }
+    }
+
+    private void attachPlan(SlowOperationDTO operation, String database, String shape, StartedCommand command) {
+        ShapePlan known = plans.get(shape);
+        long now = System.currentTimeMillis();
+        if (explain && command.explainable && (known == null || now - known.requestedAt >= explainIntervalMs)) {
+            if (plans.size() >= MAX_TRACKED_SHAPES) {
+                plans.clear();
+            }
+            ShapePlan plan = new ShapePlan(now);
+            plans.put(shape, plan);
+            operation.setPlanStatus(SlowOperationDTO.PlanStatus.PENDING);
+            try {
+                explainer.execute(() -> explain(database, command.retained, plan, operation));
+                return;
+            } catch (RejectedExecutionException e) {
+                plans.remove(shape, plan);
+            }
+        }
+        if (known != null && known.explainedAt != null) {
+            copyPlan(known, operation, SlowOperationDTO.PlanStatus.FROM_SHAPE);
+        } else {
+            operation.setPlanStatus(SlowOperationDTO.PlanStatus.NOT_EXPLAINED);
+        }
+    }
+
+    private void explain(String database, BsonDocument command, ShapePlan plan, SlowOperationDTO operation) {
+        try {
+            BsonDocument explained = command.clone();
+            explained.put("maxTimeMS", new BsonInt64(explainMaxTimeMs));
+            Document result = mongoTemplate.getObject().getMongoDatabaseFactory().getMongoDatabase(database)
+                .runCommand(new BsonDocument("explain", explained).append("verbosity", new BsonString("executionStats")));
+
+            Document queryPlanner = result.get("queryPlanner", Document.class);
+            Document executionStats = result.get("executionStats", Document.class);
+            // An aggregation reports the query of its first stage under $cursor
+            List<Document> stages = result.getList("stages", Document.class);
+            if (queryPlanner == null && stages != null && !stages.isEmpty()
+                    && stages.get(0).get("$cursor") instanceof Document) {
+                Document cursor = stages.get(0).get("$cursor", Document.class);
+                queryPlanner = cursor.get("queryPlanner", Document.class);
+                executionStats = cursor.get("executionStats", Document.class);
+            }
+            if (queryPlanner == null) {
+                throw new IllegalStateException("explain sin queryPlanner");
+            }
+
+            List<String> planStages = new ArrayList<>();
+            List<String> indexes = new ArrayList<>();
+            IndexManager.describe(IndexManager.winningPlan(queryPlanner), planStages, indexes);
+            plan.winningPlan = String.join(" > ", planStages);
+            plan.indexes = List.copyOf(indexes);
+            plan.docsExamined = executionStats != null ? longValue(executionStats.get("totalDocsExamined")) : null;
+            plan.keysExamined = executionStats != null ? longValue(executionStats.get("totalKeysExamined")) : null;
+            plan.explainedAt = LocalDateTime.now();
+            synchronized (operations) {
+                copyPlan(plan, operation, SlowOperationDTO.PlanStatus.EXPLAINED);
+            }
+        } catch (RuntimeException e) {
+            log.debug("Explain of slow {} failed", operation.getCommand(), e);
+            synchronized (operations) {
+                operation.setPlanStatus(SlowOperationDTO.PlanStatus.FAILED);
+            }
+        }
+    }
+
+    private static void copyPlan(ShapePlan plan, SlowOperationDTO operation, SlowOperationDTO.PlanStatus status) {
+        operation.setWinningPlan(plan.winningPlan);
+        operation.setIndexes(plan.indexes);
+        operation.setDocsExamined(plan.docsExamined);
+        operation.setKeysExamined(plan.keysExamined);
+        operation.setExplainedAt(plan.explainedAt);
+        operation.setPlanStatus(status);
+    }
+
+    // Reads that will be explained, kept whole with their literal values
+    private static BsonDocument retain(String name, String collection, BsonDocument command) {
+        BsonDocument retained = new BsonDocument(name, new BsonString(collection));
+        for (Map.Entry<String, BsonValue> field : command.entrySet()) {
+            if (!field.getKey().equals(name) && !SESSION_FIELDS.contains(field.getKey())) {
+                retained.put(field.getKey(), copy(field.getValue()));
+            }
+        }
+        return retained;
+    }
+
+    // Only what the shape shows, built while normalizing so no literal is copied; writes are
+    // kept by their first statement's filter and update
+    private static BsonDocument normalized(String name, String collection, BsonDocument command) {
+        BsonDocument retained = new BsonDocument(name, new BsonString(collection));
+        if (EXPLAINABLE.contains(name)) {
+            for (Map.Entry<String, BsonValue> field : command.entrySet()) {
+                String key = field.getKey();
+                if (key.equals(name) || SESSION_FIELDS.contains(key) || NOT_IN_SHAPE.contains(key)) {
+                    continue;
+                }
+                if (KEPT_AS_IS.contains(key)) {
+                    retained.put(key, copy(field.getValue()));
+                } else if (key.equals("pipeline") && field.getValue().isArray()) {
+                    BsonArray stages = new BsonArray();
+                    for (BsonValue stage : field.getValue().asArray()) {
+                        stages.add(stage.isDocument() && KEPT_AS_IS.contains(stage.asDocument().getFirstKey())
+                            ? copy(stage) : normalize(stage));
+                    }
+                    retained.put(key, stages);
+                } else {
+                    retained.put(key, normalize(field.getValue()));
+                }
+            }
+        } else if ("findAndModify".equals(name)) {
+            for (String field : List.of("query", "sort", "update", "remove", "upsert")) {
+                if (command.containsKey(field)) {
+                    BsonValue value = command.get(field);
+                    retained.put(field, KEPT_AS_IS.contains(field) ? copy(value) : normalize(value));
+                }
+            }
+        } else if (("update".equals(name) || "delete".equals(name))) {
+            BsonValue statements = command.get("update".equals(name) ? "updates" : "deletes");
+            if (statements != null && statements.isArray() && !statements.asArray().isEmpty()) {
+                BsonDocument first = statements.asArray().get(0).asDocument();
+                retained.put("q", normalize(first.get("q")));
+                if (first.containsKey("u")) {
+                    retained.put("u", normalize(first.get("u")));
+                }
+                retained.put("statements", new BsonInt64(statements.asArray().size()));
+            }
+        }
+        return retained;
+    }
+
+    // Counts the values of a command without copying it; -1 as soon as there are more than budget
+    private static int withinBudget(BsonValue value, int budget) {
+        if (budget < 0) {
+            return -1;
+        }
+        if (value.isDocument()) {
+            for (BsonValue field : value.asDocument().values()) {
+                budget = withinBudget(field, budget);
+                if (budget < 0) {
+                    return -1;
+                }
+            }
+            return budget;
+        }
+        if (value.isArray()) {
+            for (BsonValue element : value.asArray()) {
+                budget = withinBudget(element, budget);
+                if (budget < 0) {
+                    return -1;
+                }
+            }
+            return budget;
+        }
+        return budget - 1;
+    }
+
+    private static BsonValue copy(BsonValue value) {
+        if (value == null) {
+            return null;
+        }
+        if (value.isDocument()) {
+            return value.asDocument().clone();
+        }
+        return value.isArray() ? value.asArray().clone() : value;
+    }
+
+    private static boolean writesOutput(BsonDocument command) {
+        BsonValue pipeline = command.get("pipeline");
+        if (pipeline == null || !pipeline.isArray() || pipeline.asArray().isEmpty()) {
+            return false;
+        }
+        BsonValue last = pipeline.asArray().get(pipeline.asArray().size() - 1);
+        return last.isDocument() && (last.asDocument().containsKey("$out") || last.asDocument().containsKey("$merge"));
+    }
+
+    static String shape(String name, BsonDocument retained) {
+        BsonDocument shape = new BsonDocument();
+        for (Map.Entry<String, BsonValue> field : retained.entrySet()) {
+            String key = field.getKey();
+            if (key.equals(name) || KEPT_AS_IS.contains(key)) {
+                shape.put(key, field.getValue());
+            } else if (key.equals("pipeline") && field.getValue().isArray()) {
+                BsonArray stages = new BsonArray();
+                for (BsonValue stage : field.getValue().asArray()) {
+                    stages.add(stage.isDocument() && KEPT_AS_IS.contains(stage.asDocument().getFirstKey())
+                        ? stage : normalize(stage));
+                }
+                shape.put(key, stages);
+            } else if (!NOT_IN_SHAPE.contains(key)) {
+                shape.put(key, normalize(field.getValue()));
+            }
+        }
+        return shape.toJson();
+    }
+
+    // Keeps operators, field names and $field references; every literal becomes "?"
+    static BsonValue normalize(BsonValue value) {
+        if (value.isDocument()) {
+            BsonDocument normalized = new BsonDocument();
+            for (Map.Entry<String, BsonValue> field : value.asDocument().entrySet()) {
+                normalized.put(field.getKey(), normalize(field.getValue()));
+            }
+            return normalized;
+        }
+        if (value.isArray()) {
+            BsonArray normalized = new BsonArray();
+            boolean literals = true;
+            for (BsonValue element : value.asArray()) {
+                literals &= !element.isDocument() && !element.isArray() && !isFieldReference(element);
+            }
+            if (literals) {
+                normalized.add(new BsonString(PLACEHOLDER));
+                return normalized;
+            }
+            for (BsonValue element : value.asArray()) {
+                normalized.add(normalize(element));
+            }
+            return normalized;
+        }
+        return isFieldReference(value) ? value : new BsonString(PLACEHOLDER);
+    }
+
+    private static boolean isFieldReference(BsonValue value) {
+        return value.isString() && value.asString().getValue().startsWith("$");
+    }
+
+    // {repository method, first application frame outside the repositories}
+    private static String[] origin() {
+        return STACK.walk(frames -> {
+            String repository = null;
+            Iterator<StackWalker.StackFrame> iterator = frames.iterator();
+            while (iterator.hasNext()) {
+                StackWalker.StackFrame frame = iterator.next();
+                Class<?> type = frame.getDeclaringClass();
+                if (Proxy.isProxyClass(type)) {
+                    for (Class<?> contract : type.getInterfaces()) {
+                        if (repository == null && contract.getName().startsWith(REPOSITORY_PACKAGE)) {
+                            repository = contract.getSimpleName() + "." + frame.getMethodName();
+                        }
+                    }
+                } else if (type.getName().startsWith(APPLICATION_PACKAGE) && !type.isHidden()
+                        && type != SlowQueryProfiler.class) {
+                    String method = type.getSimpleName() + "." + frame.getMethodName();
+                    if (!type.getName().startsWith(REPOSITORY_PACKAGE)) {
+                        return new String[] {repository, method + ":" + frame.getLineNumber()};
+                    }
+                    if (repository == null) {
+                        repository = method;
+                    }
+                }
+            }
+            return new String[] {repository, null};
+        });
+    }
+
+    private static Long longValue(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : null;
+    }
+}
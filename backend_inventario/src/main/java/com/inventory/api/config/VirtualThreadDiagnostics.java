@@ -0,0 +1,105 @@
+package com.inventory.api.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Reports which thread model serves requests and, on virtual threads, watches
+ * for carrier pinning. A virtual thread that blocks inside a monitor or native
+ * frame holds its carrier, so enough of them stall every request; each pinning
+ * above the threshold is logged with the frames that caused it and counted in
+ * the {@code inventory.threads.pinned} metric.
+ */
+@Component
+public class VirtualThreadDiagnostics {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadDiagnostics.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 8;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualRequested;
+
+    @Value("${inventory.threads.pinned-threshold-ms:20}")
+    private long pinnedThresholdMs;
+
+    private RecordingStream pinnedEvents;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!Threading.VIRTUAL.isActive(environment)) {
+            if (virtualRequested) {
+                log.warn("spring.threads.virtual.enabled is set but Java {} has no virtual threads; "
+                    + "requests run on platform threads", Runtime.version().feature());
+            } else {
+                log.info("Requests run on platform threads");
+            }
+            return;
+        }
+
+        log.info("Requests and async work run on virtual threads; reporting pinning over {} ms", pinnedThresholdMs);
+        Counter pinned = Counter.builder("inventory.threads.pinned")
+            .description("Virtual threads that held their carrier longer than the threshold")
+            .register(meterRegistry);
+        try {
+            RecordingStream stream = new RecordingStream();
+            stream.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(pinnedThresholdMs)).withStackTrace();
+            stream.onEvent(PINNED_EVENT, event -> {
+                pinned.increment();
+                log.warn("Virtual thread {} pinned its carrier for {} ms\n{}",
+                    event.getThread() != null ? event.getThread().getJavaName() : "?",
+                    event.getDuration().toMillis(), frames(event));
+            });
+            stream.startAsync();
+            pinnedEvents = stream;
+        } catch (RuntimeException e) {
+            log.warn("Virtual thread pinning diagnostics unavailable", e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (pinnedEvents != null) {
+            pinnedEvents.close();
+        }
+    }
+
+    private static String frames(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null) {
+            return "\t(no stack trace)";
+        }
+        StringBuilder text = new StringBuilder();
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        for (int i = 0; i < Math.min(frames.size(), LOGGED_FRAMES); i++) {
+            RecordedFrame frame = frames.get(i);
+            text.append("\tat ").append(frame.getMethod().getType().getName())
+                .append('.').append(frame.getMethod().getName())
+                .append(':').append(frame.getLineNumber()).append('\n');
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,23 @@
+package com.inventory.api.config;
+
+import com.inventory.api.controller.FieldsetArgumentResolver;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import java.util.List;
+
+/**
+ * Servlet counterpart of {@link ReactiveWebConfig}: registers the resolver of
+ * {@code @RequestFieldset} parameters, so every list endpoint validates
+ * {@code view} and {@code fields} the same way.
+ */
+@Configuration
+@Profile("!reactive")
+public class WebConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(new FieldsetArgumentResolver());
+    }
+}
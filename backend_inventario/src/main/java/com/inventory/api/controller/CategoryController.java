@@ -2,7 +2,10 @@ package com.inventory.api.controller;
 
 import com.inventory.api.model.Category;
 import com.inventory.api.service.CategoryService;
+import com.inventory.api.service.CollectionVersions;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -12,28 +15,49 @@ import java.util.List;
 @RestController
 @RequestMapping("/categories")
 @CrossOrigin(origins = "*")
+@Profile("!reactive")
 public class CategoryController {
 
     @Autowired
     private CategoryService categoryService;
 
+    @Autowired
+    private CollectionVersions versions;
+
     @GetMapping
-    public ResponseEntity<List<Category>> getAllCategories() {
+    public ResponseEntity<List<Category>> getAllCategories(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = versions.etag(CollectionVersions.Collection.CATEGORIES);
+        if (ConditionalResponses.notModified(ifNoneMatch, etag)) {
+            return ConditionalResponses.notModifiedResponse(etag);
+        }
         List<Category> categories = categoryService.getAllCategories();
-        return ResponseEntity.ok(categories);
+        return ConditionalResponses.ok(etag, categories);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Category> getCategoryById(@PathVariable String id) {
+    public ResponseEntity<Category> getCategoryById(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = versions.etag(CollectionVersions.Collection.CATEGORIES);
+        if (ConditionalResponses.notModified(ifNoneMatch, etag)) {
+            return ConditionalResponses.notModifiedResponse(etag);
+        }
         return categoryService.getCategoryById(id)
-            .map(category -> ResponseEntity.ok(category))
+            .map(category -> ConditionalResponses.ok(etag, category))
             .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/name/{name}")
-    public ResponseEntity<Category> getCategoryByName(@PathVariable String name) {
+    public ResponseEntity<Category> getCategoryByName(
+            @PathVariable String name,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = versions.etag(CollectionVersions.Collection.CATEGORIES);
+        if (ConditionalResponses.notModified(ifNoneMatch, etag)) {
+            return ConditionalResponses.notModifiedResponse(etag);
+        }
         return categoryService.getCategoryByName(name)
-            .map(category -> ResponseEntity.ok(category))
+            .map(category -> ConditionalResponses.ok(etag, category))
             .orElse(ResponseEntity.notFound().build());
     }
 
@@ -0,0 +1,44 @@
+package com.inventory.api.controller;
+
+import com.inventory.api.service.ChangeFeedService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/changes")
+@CrossOrigin(origins = "*")
+@Profile("!reactive")
+public class ChangeFeedController {
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @RequestParam(required = false) List<String> category,
+            @RequestParam(required = false) List<String> productId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(required = false) String lastEventId) {
+        // EventSource sends the header on reconnect; the parameter covers clients that cannot set it
+        String resumeFrom = lastEventIdHeader != null ? lastEventIdHeader : lastEventId;
+        Long after = null;
+        if (resumeFrom != null && !resumeFrom.isBlank()) {
+            try {
+                after = Long.valueOf(resumeFrom.trim());
+            } catch (NumberFormatException e) {
+                // Unknown position: resuming from 0 makes the feed send a reset
+                after = 0L;
+            }
+        }
+
+        Set<String> categories = category != null ? new HashSet<>(category) : Set.of();
+        Set<String> productIds = productId != null ? new HashSet<>(productId) : Set.of();
+        return changeFeedService.subscribe(categories, productIds, after);
+    }
+}
@@ -3,6 +3,7 @@ package com.inventory.api.controller;
 import com.inventory.api.dto.DashboardStatsDTO;
 import com.inventory.api.service.DashboardService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -15,8 +16,13 @@ public class DashboardController {
     private DashboardService dashboardService;
 
     @GetMapping("/stats")
-    public ResponseEntity<DashboardStatsDTO> getDashboardStats() {
+    public ResponseEntity<DashboardStatsDTO> getDashboardStats(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = dashboardService.getDashboardStatsEtag();
+        if (ConditionalResponses.notModified(ifNoneMatch, etag)) {
+            return ConditionalResponses.notModifiedResponse(etag);
+        }
         DashboardStatsDTO stats = dashboardService.getDashboardStats();
-        return ResponseEntity.ok(stats);
+        return ConditionalResponses.ok(etag, stats);
     }
 }
\ No newline at end of file
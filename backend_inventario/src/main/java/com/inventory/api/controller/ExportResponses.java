@@ -0,0 +1,32 @@
+package com.inventory.api.controller;
+
+import com.inventory.api.service.ExportService;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+final class ExportResponses {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+
+    private ExportResponses() {}
+
+    // No Content-Length is set, so the body goes out with chunked transfer encoding. A gzip export is
+    // a .gz file in its own right rather than a transfer encoding, so it is served as application/gzip
+    // and clients that sent no Accept-Encoding save it as is instead of getting an undecodable body
+    static ResponseEntity<StreamingResponseBody> of(String name, ExportService.ExportFormat format,
+                                                    boolean gzip, StreamingResponseBody body) {
+        boolean csv = format == ExportService.ExportFormat.CSV;
+        String filename = name + (csv ? ".csv" : ".ndjson") + (gzip ? ".gz" : "");
+
+        return ResponseEntity.ok()
+            .contentType(gzip ? GZIP : csv ? CSV : NDJSON)
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(filename).build().toString())
+            .body(body);
+    }
+}
@@ -1,13 +1,19 @@
 package com.inventory.api.controller;
 
 import com.inventory.api.model.InventoryMovement;
+import com.inventory.api.dto.MovementBatchResultDTO;
 import com.inventory.api.dto.MovementDTO;
+import com.inventory.api.repository.Fieldset;
+import com.inventory.api.service.ExportService;
 import com.inventory.api.service.InventoryMovementService;
+import com.inventory.api.service.MovementSequencer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import jakarta.validation.Valid;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -15,17 +21,41 @@ import java.util.List;
 @RestController
 @RequestMapping("/movements")
 @CrossOrigin(origins = "*")
+@Profile("!reactive")
 public class InventoryMovementController {
 
     @Autowired
     private InventoryMovementService movementService;
 
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private MovementSequencer movementSequencer;
+
     @GetMapping
-    public ResponseEntity<List<InventoryMovement>> getAllMovements() {
-        List<InventoryMovement> movements = movementService.getAllMovements();
+    public ResponseEntity<List<?>> getAllMovements(
+            @RequestFieldset(InventoryMovement.class) Fieldset fieldset) {
+        List<?> movements = fieldset != null
+            ? movementService.getAllMovements(fieldset)
+            : movementService.getAllMovements();
         return ResponseEntity.ok(movements);
     }
 
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportMovements(
+            @RequestParam(defaultValue = "NDJSON") ExportService.ExportFormat format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String productId,
+            @RequestParam(required = false) InventoryMovement.MovementType type,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+        StreamingResponseBody body = out ->
+            exportService.exportMovements(productId, type, startDate, endDate, after, format, gzip, out);
+        return ExportResponses.of("movements", format, gzip, body);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<InventoryMovement> getMovementById(@PathVariable String id) {
         return movementService.getMovementById(id)
@@ -34,44 +64,72 @@ public class InventoryMovementController {
     }
 
     @GetMapping("/product/{productId}")
-    public ResponseEntity<List<InventoryMovement>> getMovementsByProductId(@PathVariable String productId) {
-        List<InventoryMovement> movements = movementService.getMovementsByProductId(productId);
+    public ResponseEntity<List<?>> getMovementsByProductId(
+            @PathVariable String productId,
+            @RequestFieldset(InventoryMovement.class) Fieldset fieldset) {
+        List<?> movements = fieldset != null
+            ? movementService.getMovementsByProductId(productId, fieldset)
+            : movementService.getMovementsByProductId(productId);
         return ResponseEntity.ok(movements);
     }
 
     @GetMapping("/type/{type}")
-    public ResponseEntity<List<InventoryMovement>> getMovementsByType(@PathVariable InventoryMovement.MovementType type) {
-        List<InventoryMovement> movements = movementService.getMovementsByType(type);
+    public ResponseEntity<List<?>> getMovementsByType(
+            @PathVariable InventoryMovement.MovementType type,
+            @RequestFieldset(InventoryMovement.class) Fieldset fieldset) {
+        List<?> movements = fieldset != null
+            ? movementService.getMovementsByType(type, fieldset)
+            : movementService.getMovementsByType(type);
         return ResponseEntity.ok(movements);
     }
 
     @GetMapping("/date-range")
-    public ResponseEntity<List<InventoryMovement>> getMovementsByDateRange(
+    public ResponseEntity<List<?>> getMovementsByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
-        List<InventoryMovement> movements = movementService.getMovementsByDateRange(startDate, endDate);
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestFieldset(InventoryMovement.class) Fieldset fieldset) {
+        List<?> movements = fieldset != null
+            ? movementService.getMovementsByDateRange(startDate, endDate, fieldset)
+            : movementService.getMovementsByDateRange(startDate, endDate);
         return ResponseEntity.ok(movements);
     }
 
     @GetMapping("/recent")
-    public ResponseEntity<List<InventoryMovement>> getRecentMovements(@RequestParam(defaultValue = "7") int days) {
-        List<InventoryMovement> movements = movementService.getRecentMovements(days);
+    public ResponseEntity<List<?>> getRecentMovements(
+            @RequestParam(defaultValue = "7") int days,
+            @RequestFieldset(InventoryMovement.class) Fieldset fieldset) {
+        List<?> movements = fieldset != null
+            ? movementService.getRecentMovements(days, fieldset)
+            : movementService.getRecentMovements(days);
         return ResponseEntity.ok(movements);
     }
 
     @GetMapping("/latest")
-    public ResponseEntity<List<InventoryMovement>> getLatestMovements() {
-        List<InventoryMovement> movements = movementService.getLatestMovements();
+    public ResponseEntity<List<?>> getLatestMovements(
+            @RequestFieldset(InventoryMovement.class) Fieldset fieldset) {
+        List<?> movements = fieldset != null
+            ? movementService.getLatestMovements(fieldset)
+            : movementService.getLatestMovements();
         return ResponseEntity.ok(movements);
     }
 
     @PostMapping
     public ResponseEntity<InventoryMovement> createMovement(@Valid @RequestBody MovementDTO movementDTO) {
         try {
-            InventoryMovement movement = movementService.createMovement(movementDTO);
+            InventoryMovement movement = movementSequencer.createMovement(movementDTO);
             return ResponseEntity.status(HttpStatus.CREATED).body(movement);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
     }
+
+    @PostMapping("/batch")
+    public ResponseEntity<MovementBatchResultDTO> createMovements(@RequestBody List<MovementDTO> movementDTOs) {
+        try {
+            MovementBatchResultDTO result = movementService.createMovements(movementDTOs);
+            return ResponseEntity.ok(result);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.inventory.api.controller;
+
+import com.inventory.api.model.InventoryMovement;
+import com.inventory.api.model.MovementRollup;
+import com.inventory.api.service.MovementRollupService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/rollups")
+@CrossOrigin(origins = "*")
+public class MovementRollupController {
+
+    @Autowired
+    private MovementRollupService rollupService;
+
+    @GetMapping
+    public ResponseEntity<List<MovementRollup>> getRollups(
+            @RequestParam(defaultValue = "DAY") MovementRollup.Granularity granularity,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String productId,
+            @RequestParam(required = false) InventoryMovement.MovementType type) {
+        List<MovementRollup> rollups = rollupService.getRollups(granularity, startDate, endDate, productId, type);
+        return ResponseEntity.ok(rollups);
+    }
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<Void> rebuild(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+        try {
+            rollupService.rebuild(startDate, endDate);
+            return ResponseEntity.noContent().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -2,32 +2,125 @@ package com.inventory.api.controller;
 
 import com.inventory.api.model.Product;
 import com.inventory.api.dto.ProductDTO;
+import com.inventory.api.dto.ProductImportResultDTO;
+import com.inventory.api.dto.ProductPageDTO;
+import com.inventory.api.dto.ProductQueryDTO;
+import com.inventory.api.repository.Fieldset;
+import com.inventory.api.service.CollectionVersions;
+import com.inventory.api.service.ExportService;
+import com.inventory.api.service.LowStockAlertService;
+import com.inventory.api.service.ProductImportService;
 import com.inventory.api.service.ProductService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import jakarta.validation.Valid;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
 @RequestMapping("/products")
 @CrossOrigin(origins = "*")
+@Profile("!reactive")
 public class ProductController {
 
+    private static final int MAX_SEARCH_LIMIT = 100;
+
     @Autowired
     private ProductService productService;
 
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private LowStockAlertService lowStockAlertService;
+
+    @Autowired
+    private CollectionVersions versions;
+
     @GetMapping
-    public ResponseEntity<List<Product>> getAllProducts() {
+    public ResponseEntity<List<Product>> getAllProducts(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = versions.etag(CollectionVersions.Collection.PRODUCTS);
+        if (ConditionalResponses.notModified(ifNoneMatch, etag)) {
+            return ConditionalResponses.notModifiedResponse(etag);
+        }
         List<Product> products = productService.getAllProducts();
-        return ResponseEntity.ok(products);
+        return ConditionalResponses.ok(etag, products);
+    }
+
+    @GetMapping(params = "limit")
+    public ResponseEntity<ProductPageDTO> getProductPage(
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String supplier,
+            @RequestParam(required = false) ProductQueryDTO.StockStatus stockStatus,
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "NAME") ProductQueryDTO.SortField sort,
+            @RequestParam(defaultValue = "ASC") ProductQueryDTO.SortDirection direction,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = versions.etag(CollectionVersions.Collection.PRODUCTS);
+        if (ConditionalResponses.notModified(ifNoneMatch, etag)) {
+            return ConditionalResponses.notModifiedResponse(etag);
+        }
+        ProductQueryDTO query = buildQuery(category, supplier, stockStatus, q);
+        query.setLimit(limit);
+        query.setSort(sort);
+        query.setDirection(direction);
+
+        try {
+            return ConditionalResponses.ok(etag, productService.getProductPage(query, cursor));
+        } catch (IllegalArgumentException e) {
+            // Only a bad cursor is the client's fault; query failures surface as 5xx
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @RequestParam(defaultValue = "NDJSON") ExportService.ExportFormat format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String supplier,
+            @RequestParam(required = false) ProductQueryDTO.StockStatus stockStatus,
+            @RequestParam(required = false) String q) {
+        ProductQueryDTO query = buildQuery(category, supplier, stockStatus, q);
+        StreamingResponseBody body = out -> exportService.exportProducts(query, after, format, gzip, out);
+        return ExportResponses.of("products", format, gzip, body);
+    }
+
+    @GetMapping("/stock-as-of")
+    public ResponseEntity<StreamingResponseBody> getStockAsOf(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime date,
+            @RequestParam(defaultValue = "NDJSON") ExportService.ExportFormat format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        StreamingResponseBody body = out -> exportService.exportStockAsOf(date, format, gzip, out);
+        return ExportResponses.of("stock-as-of", format, gzip, body);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Product> getProductById(@PathVariable String id) {
+    public ResponseEntity<Product> getProductById(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = versions.productEtag(id);
+        if (ConditionalResponses.notModified(ifNoneMatch, etag)) {
+            return ConditionalResponses.notModifiedResponse(etag);
+        }
         return productService.getProductById(id)
-            .map(product -> ResponseEntity.ok(product))
+            .map(product -> ConditionalResponses.ok(etag, product))
             .orElse(ResponseEntity.notFound().build());
     }
 
@@ -39,26 +132,65 @@ public class ProductController {
     }
 
     @GetMapping("/category/{category}")
-    public ResponseEntity<List<Product>> getProductsByCategory(@PathVariable String category) {
-        List<Product> products = productService.getProductsByCategory(category);
-        return ResponseEntity.ok(products);
+    public ResponseEntity<List<?>> getProductsByCategory(
+            @PathVariable String category,
+            @RequestFieldset(Product.class) Fieldset fieldset,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = versions.etag(CollectionVersions.Collection.PRODUCTS);
+        if (ConditionalResponses.notModified(ifNoneMatch, etag)) {
+            return ConditionalResponses.notModifiedResponse(etag);
+        }
+        List<?> products = fieldset != null
+            ? productService.getProductsByCategory(category, fieldset)
+            : productService.getProductsByCategory(category);
+        return ConditionalResponses.ok(etag, products);
     }
 
     @GetMapping("/supplier/{supplier}")
-    public ResponseEntity<List<Product>> getProductsBySupplier(@PathVariable String supplier) {
-        List<Product> products = productService.getProductsBySupplier(supplier);
-        return ResponseEntity.ok(products);
+    public ResponseEntity<List<?>> getProductsBySupplier(
+            @PathVariable String supplier,
+            @RequestFieldset(Product.class) Fieldset fieldset,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = versions.etag(CollectionVersions.Collection.PRODUCTS);
+        if (ConditionalResponses.notModified(ifNoneMatch, etag)) {
+            return ConditionalResponses.notModifiedResponse(etag);
+        }
+        List<?> products = fieldset != null
+            ? productService.getProductsBySupplier(supplier, fieldset)
+            : productService.getProductsBySupplier(supplier);
+        return ConditionalResponses.ok(etag, products);
     }
 
     @GetMapping("/low-stock")
-    public ResponseEntity<List<Product>> getLowStockProducts() {
-        List<Product> products = productService.getLowStockProducts();
-        return ResponseEntity.ok(products);
+    public ResponseEntity<List<?>> getLowStockProducts(
+            @RequestFieldset(Product.class) Fieldset fieldset,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = versions.etag(CollectionVersions.Collection.PRODUCTS);
+        if (ConditionalResponses.notModified(ifNoneMatch, etag)) {
+            return ConditionalResponses.notModifiedResponse(etag);
+        }
+        List<?> products = fieldset != null
+            ? productService.getLowStockProducts(fieldset)
+            : productService.getLowStockProducts();
+        return ConditionalResponses.ok(etag, products);
+    }
+
+    @GetMapping(value = "/low-stock/alerts", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamLowStockAlerts() {
+        return lowStockAlertService.subscribe();
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<Product>> searchProducts(@RequestParam String term) {
-        List<Product> products = productService.searchProducts(term);
+    public ResponseEntity<List<Product>> searchProducts(@RequestParam String term,
+                                                        @RequestParam(defaultValue = "20") int limit) {
+        List<Product> products = productService.searchProducts(term, Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT)));
+        return ResponseEntity.ok(products);
+    }
+
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<Product>> autocompleteProducts(@RequestParam String prefix,
+                                                              @RequestParam(defaultValue = "10") int limit) {
+        List<Product> products = productService.autocompleteProducts(prefix, Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT)));
         return ResponseEntity.ok(products);
     }
 
@@ -72,6 +204,28 @@ public class ProductController {
         }
     }
 
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ProductImportResultDTO> importProducts(
+            InputStream body,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @RequestParam(required = false) String importId,
+            @RequestParam(required = false) Long expectedRows) {
+        ProductImportService.ImportFormat format = contentType.contains("csv")
+            ? ProductImportService.ImportFormat.CSV : ProductImportService.ImportFormat.NDJSON;
+        ProductImportResultDTO result = productImportService.importProducts(body, format, importId, expectedRows);
+        if (result.getStatus() == ProductImportResultDTO.Status.FAILED) {
+            return ResponseEntity.badRequest().body(result);
+        }
+        return ResponseEntity.ok(result);
+    }
+
+    @GetMapping("/import/{importId}")
+    public ResponseEntity<ProductImportResultDTO> getImport(@PathVariable String importId) {
+        return productImportService.getImport(importId)
+            .map(result -> ResponseEntity.ok(result))
+            .orElse(ResponseEntity.notFound().build());
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Product> updateProduct(@PathVariable String id, @Valid @RequestBody ProductDTO productDTO) {
         try {
@@ -101,4 +255,14 @@ public class ProductController {
             return ResponseEntity.badRequest().build();
         }
     }
-}
\ No newline at end of file
+
+    private ProductQueryDTO buildQuery(String category, String supplier,
+                                       ProductQueryDTO.StockStatus stockStatus, String text) {
+        ProductQueryDTO query = new ProductQueryDTO();
+        query.setCategory(category);
+        query.setSupplier(supplier);
+        query.setStockStatus(stockStatus);
+        query.setText(text);
+        return query;
+    }
+}
@@ -0,0 +1,62 @@
+package com.inventory.api.controller;
+
+import com.inventory.api.model.Category;
+import com.inventory.api.service.ReactiveCategoryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import jakarta.validation.Valid;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/categories")
+@CrossOrigin(origins = "*")
+@Profile("reactive")
+public class ReactiveCategoryController {
+
+    @Autowired
+    private ReactiveCategoryService categoryService;
+
+    @GetMapping
+    public Flux<Category> getAllCategories() {
+        return categoryService.getAllCategories();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Category>> getCategoryById(@PathVariable String id) {
+        return categoryService.getCategoryById(id)
+            .map(category -> ResponseEntity.ok(category))
+            .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/name/{name}")
+    public Mono<ResponseEntity<Category>> getCategoryByName(@PathVariable String name) {
+        return categoryService.getCategoryByName(name)
+            .map(category -> ResponseEntity.ok(category))
+            .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Category>> createCategory(@Valid @RequestBody Category category) {
+        return categoryService.createCategory(category)
+            .map(createdCategory -> ResponseEntity.status(HttpStatus.CREATED).body(createdCategory))
+            .onErrorResume(RuntimeException.class, e -> Mono.just(ResponseEntity.badRequest().build()));
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<Category>> updateCategory(@PathVariable String id, @Valid @RequestBody Category category) {
+        return categoryService.updateCategory(id, category)
+            .map(updatedCategory -> ResponseEntity.ok(updatedCategory))
+            .onErrorResume(RuntimeException.class, e -> Mono.just(ResponseEntity.badRequest().build()));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteCategory(@PathVariable String id) {
+        return categoryService.deleteCategory(id)
+            .then(Mono.just(ResponseEntity.noContent().<Void>build()))
+            .onErrorResume(RuntimeException.class, e -> Mono.just(ResponseEntity.notFound().build()));
+    }
+}
@@ -0,0 +1,31 @@
+package com.inventory.api.controller;
+
+import com.inventory.api.repository.Fieldset;
+import org.springframework.core.MethodParameter;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.BindingContext;
+import org.springframework.web.reactive.result.method.SyncHandlerMethodArgumentResolver;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
+
+/** Resolves {@link RequestFieldset} parameters for the {@code reactive} controllers. */
+public class ReactiveFieldsetArgumentResolver implements SyncHandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(RequestFieldset.class)
+            && Fieldset.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgumentValue(MethodParameter parameter, BindingContext bindingContext,
+                                       ServerWebExchange exchange) {
+        Class<?> document = parameter.getParameterAnnotation(RequestFieldset.class).value();
+        MultiValueMap<String, String> params = exchange.getRequest().getQueryParams();
+        try {
+            return Fieldset.of(document, params.getFirst("view"), params.getFirst("fields"));
+        } catch (IllegalArgumentException e) {
+            throw new ServerWebInputException(e.getMessage(), parameter, e);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.inventory.api.controller;
+
+import com.inventory.api.model.InventoryMovement;
+import com.inventory.api.dto.MovementBatchResultDTO;
+import com.inventory.api.dto.MovementDTO;
+import com.inventory.api.repository.Fieldset;
+import com.inventory.api.service.InventoryMovementService;
+import com.inventory.api.service.ReactiveInventoryMovementService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import jakarta.validation.Valid;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/movements")
+@CrossOrigin(origins = "*")
+@Profile("reactive")
+public class ReactiveInventoryMovementController {
+
+    @Autowired
+    private ReactiveInventoryMovementService movementService;
+
+    @Autowired
+    private InventoryMovementService blockingMovementService;
+
+    @GetMapping
+    public Flux<?> getAllMovements(@RequestFieldset(InventoryMovement.class) Fieldset fieldset) {
+        return select(movementService.getAllMovements(), fieldset);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<InventoryMovement>> getMovementById(@PathVariable String id) {
+        return movementService.getMovementById(id)
+            .map(movement -> ResponseEntity.ok(movement))
+            .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/product/{productId}")
+    public Flux<?> getMovementsByProductId(
+            @PathVariable String productId,
+            @RequestFieldset(InventoryMovement.class) Fieldset fieldset) {
+        return select(movementService.getMovementsByProductId(productId), fieldset);
+    }
+
+    @GetMapping("/type/{type}")
+    public Flux<?> getMovementsByType(
+            @PathVariable InventoryMovement.MovementType type,
+            @RequestFieldset(InventoryMovement.class) Fieldset fieldset) {
+        return select(movementService.getMovementsByType(type), fieldset);
+    }
+
+    @GetMapping("/date-range")
+    public Flux<?> getMovementsByDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestFieldset(InventoryMovement.class) Fieldset fieldset) {
+        return select(movementService.getMovementsByDateRange(startDate, endDate), fieldset);
+    }
+
+    @GetMapping("/recent")
+    public Flux<?> getRecentMovements(
+            @RequestParam(defaultValue = "7") int days,
+            @RequestFieldset(InventoryMovement.class) Fieldset fieldset) {
+        return select(movementService.getRecentMovements(days), fieldset);
+    }
+
+    @GetMapping("/latest")
+    public Flux<?> getLatestMovements(@RequestFieldset(InventoryMovement.class) Fieldset fieldset) {
+        return select(movementService.getLatestMovements(), fieldset);
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<InventoryMovement>> createMovement(@Valid @RequestBody MovementDTO movementDTO) {
+        return movementService.createMovement(movementDTO)
+            .map(movement -> ResponseEntity.status(HttpStatus.CREATED).body(movement))
+            .onErrorResume(RuntimeException.class, e -> Mono.just(ResponseEntity.badRequest().build()));
+    }
+
+    // Non-reactive signature: WebFlux runs it on the blocking executor
+    @PostMapping("/batch")
+    public ResponseEntity<MovementBatchResultDTO> createMovements(@RequestBody List<MovementDTO> movementDTOs) {
+        try {
+            MovementBatchResultDTO result = blockingMovementService.createMovements(movementDTOs);
+            return ResponseEntity.ok(result);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Documents are fetched whole and trimmed here, so the response matches the servlet endpoints
+    private static Flux<?> select(Flux<InventoryMovement> documents, Fieldset fieldset) {
+        return fieldset != null ? documents.map(fieldset::select) : documents;
+    }
+}
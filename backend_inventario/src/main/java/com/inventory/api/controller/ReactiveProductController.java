@@ -0,0 +1,148 @@
+package com.inventory.api.controller;
+
+import com.inventory.api.model.Product;
+import com.inventory.api.dto.ProductDTO;
+import com.inventory.api.dto.ProductPageDTO;
+import com.inventory.api.dto.ProductQueryDTO;
+import com.inventory.api.repository.Fieldset;
+import com.inventory.api.service.ProductService;
+import com.inventory.api.service.ReactiveProductService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import jakarta.validation.Valid;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Same contract as {@link ProductController} for the {@code reactive} profile.
+ * Lists are streamed as they arrive from the driver, as a JSON array or as
+ * NDJSON when the client accepts {@code application/x-ndjson}.
+ */
+@RestController
+@RequestMapping("/products")
+@CrossOrigin(origins = "*")
+@Profile("reactive")
+public class ReactiveProductController {
+
+    private static final int MAX_SEARCH_LIMIT = 100;
+
+    @Autowired
+    private ReactiveProductService productService;
+
+    @Autowired
+    private ProductService blockingProductService;
+
+    @GetMapping
+    public Flux<Product> getAllProducts() {
+        return productService.getAllProducts();
+    }
+
+    // Non-reactive signature: WebFlux runs it on the blocking executor
+    @GetMapping(params = "limit")
+    public ResponseEntity<ProductPageDTO> getProductPage(
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String supplier,
+            @RequestParam(required = false) ProductQueryDTO.StockStatus stockStatus,
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "NAME") ProductQueryDTO.SortField sort,
+            @RequestParam(defaultValue = "ASC") ProductQueryDTO.SortDirection direction) {
+        ProductQueryDTO query = new ProductQueryDTO();
+        query.setCategory(category);
+        query.setSupplier(supplier);
+        query.setStockStatus(stockStatus);
+        query.setText(q);
+        query.setLimit(limit);
+        query.setSort(sort);
+        query.setDirection(direction);
+
+        try {
+            return ResponseEntity.ok(blockingProductService.getProductPage(query, cursor));
+        } catch (IllegalArgumentException e) {
+            // Only a bad cursor is the client's fault; query failures surface as 5xx
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Product>> getProductById(@PathVariable String id) {
+        return productService.getProductById(id)
+            .map(product -> ResponseEntity.ok(product))
+            .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/code/{code}")
+    public Mono<ResponseEntity<Product>> getProductByCode(@PathVariable String code) {
+        return productService.getProductByCode(code)
+            .map(product -> ResponseEntity.ok(product))
+            .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/category/{category}")
+    public Flux<?> getProductsByCategory(
+            @PathVariable String category,
+            @RequestFieldset(Product.class) Fieldset fieldset) {
+        return select(productService.getProductsByCategory(category), fieldset);
+    }
+
+    @GetMapping("/supplier/{supplier}")
+    public Flux<?> getProductsBySupplier(
+            @PathVariable String supplier,
+            @RequestFieldset(Product.class) Fieldset fieldset) {
+        return select(productService.getProductsBySupplier(supplier), fieldset);
+    }
+
+    @GetMapping("/low-stock")
+    public Flux<?> getLowStockProducts(@RequestFieldset(Product.class) Fieldset fieldset) {
+        return select(productService.getLowStockProducts(), fieldset);
+    }
+
+    @GetMapping("/search")
+    public Flux<Product> searchProducts(@RequestParam String term,
+                                       @RequestParam(defaultValue = "20") int limit) {
+        return productService.searchProducts(term, Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT)));
+    }
+
+    @GetMapping("/autocomplete")
+    public Flux<Product> autocompleteProducts(@RequestParam String prefix,
+                                              @RequestParam(defaultValue = "10") int limit) {
+        return productService.autocompleteProducts(prefix, Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT)));
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Product>> createProduct(@Valid @RequestBody ProductDTO productDTO) {
+        return productService.createProduct(productDTO)
+            .map(product -> ResponseEntity.status(HttpStatus.CREATED).body(product))
+            .onErrorResume(RuntimeException.class, e -> Mono.just(ResponseEntity.badRequest().build()));
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<Product>> updateProduct(@PathVariable String id, @Valid @RequestBody ProductDTO productDTO) {
+        return productService.updateProduct(id, productDTO)
+            .map(product -> ResponseEntity.ok(product))
+            .onErrorResume(RuntimeException.class, e -> Mono.just(ResponseEntity.badRequest().build()));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteProduct(@PathVariable String id) {
+        return productService.deleteProduct(id)
+            .then(Mono.just(ResponseEntity.noContent().<Void>build()))
+            .onErrorResume(RuntimeException.class, e -> Mono.just(ResponseEntity.notFound().build()));
+    }
+
+    @PatchMapping("/{id}/stock")
+    public Mono<ResponseEntity<Product>> updateStock(@PathVariable String id, @RequestParam Integer stock) {
+        return productService.updateStock(id, stock)
+            .map(product -> ResponseEntity.ok(product))
+            .onErrorResume(RuntimeException.class, e -> Mono.just(ResponseEntity.badRequest().build()));
+    }
+
+    // Documents are fetched whole and trimmed here, so the response matches the servlet endpoints
+    private static Flux<?> select(Flux<Product> documents, Fieldset fieldset) {
+        return fieldset != null ? documents.map(fieldset::select) : documents;
+    }
+}
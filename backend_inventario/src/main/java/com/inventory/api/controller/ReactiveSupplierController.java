@@ -0,0 +1,62 @@
+package com.inventory.api.controller;
+
+import com.inventory.api.model.Supplier;
+import com.inventory.api.service.ReactiveSupplierService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import jakarta.validation.Valid;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/suppliers")
+@CrossOrigin(origins = "*")
+@Profile("reactive")
+public class ReactiveSupplierController {
+
+    @Autowired
+    private ReactiveSupplierService supplierService;
+
+    @GetMapping
+    public Flux<Supplier> getAllSuppliers() {
+        return supplierService.getAllSuppliers();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Supplier>> getSupplierById(@PathVariable String id) {
+        return supplierService.getSupplierById(id)
+            .map(supplier -> ResponseEntity.ok(supplier))
+            .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/name/{name}")
+    public Mono<ResponseEntity<Supplier>> getSupplierByName(@PathVariable String name) {
+        return supplierService.getSupplierByName(name)
+            .map(supplier -> ResponseEntity.ok(supplier))
+            .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Supplier>> createSupplier(@Valid @RequestBody Supplier supplier) {
+        return supplierService.createSupplier(supplier)
+            .map(createdSupplier -> ResponseEntity.status(HttpStatus.CREATED).body(createdSupplier))
+            .onErrorResume(RuntimeException.class, e -> Mono.just(ResponseEntity.badRequest().build()));
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<Supplier>> updateSupplier(@PathVariable String id, @Valid @RequestBody Supplier supplier) {
+        return supplierService.updateSupplier(id, supplier)
+            .map(updatedSupplier -> ResponseEntity.ok(updatedSupplier))
+            .onErrorResume(RuntimeException.class, e -> Mono.just(ResponseEntity.badRequest().build()));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteSupplier(@PathVariable String id) {
+        return supplierService.deleteSupplier(id)
+            .then(Mono.just(ResponseEntity.noContent().<Void>build()))
+            .onErrorResume(RuntimeException.class, e -> Mono.just(ResponseEntity.notFound().build()));
+    }
+}
@@ -0,0 +1,42 @@
+package com.inventory.api.controller;
+
+import com.inventory.api.dto.InventoryReportDTO;
+import com.inventory.api.dto.MovementBucketDTO;
+import com.inventory.api.service.ReportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.List;
+
+@RestController
+@RequestMapping("/reports")
+@CrossOrigin(origins = "*")
+public class ReportController {
+
+    @Autowired
+    private ReportService reportService;
+
+    @GetMapping("/overview")
+    public ResponseEntity<InventoryReportDTO> getOverview(@RequestParam(defaultValue = "30") int days) {
+        InventoryReportDTO report = reportService.getOverview(days);
+        return ResponseEntity.ok(report);
+    }
+
+    @GetMapping("/categories")
+    public ResponseEntity<List<InventoryReportDTO.CategoryBreakdownDTO>> getCategoryBreakdown() {
+        List<InventoryReportDTO.CategoryBreakdownDTO> categories = reportService.getCategoryBreakdown();
+        return ResponseEntity.ok(categories);
+    }
+
+    @GetMapping("/movements/monthly")
+    public ResponseEntity<List<MovementBucketDTO>> getMovementsByMonth(@RequestParam(defaultValue = "6") int months) {
+        List<MovementBucketDTO> buckets = reportService.getMovementsByMonth(months);
+        return ResponseEntity.ok(buckets);
+    }
+
+    @GetMapping("/movements/by-type")
+    public ResponseEntity<List<MovementBucketDTO>> getMovementsByType(@RequestParam(defaultValue = "30") int days) {
+        List<MovementBucketDTO> buckets = reportService.getMovementsByType(days);
+        return ResponseEntity.ok(buckets);
+    }
+}
@@ -0,0 +1,21 @@
+package com.inventory.api.controller;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Binds a {@link com.inventory.api.repository.Fieldset} parameter from the
+ * {@code view} and {@code fields} request parameters, for the given document
+ * class. The parameter is null when neither is given; an unknown view or
+ * field, or both at once, is answered with 400 before the handler runs.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RequestFieldset {
+
+    Class<?> value();
+}
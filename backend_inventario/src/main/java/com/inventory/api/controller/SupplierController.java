@@ -2,7 +2,10 @@ package com.inventory.api.controller;
 
 import com.inventory.api.model.Supplier;
 import com.inventory.api.service.SupplierService;
+import com.inventory.api.service.CollectionVersions;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -12,28 +15,49 @@ import java.util.List;
 @RestController
 @RequestMapping("/suppliers")
 @CrossOrigin(origins = "*")
+@Profile("!reactive")
 public class SupplierController {
 
     @Autowired
     private SupplierService supplierService;
 
+    @Autowired
+    private CollectionVersions versions;
+
     @GetMapping
-    public ResponseEntity<List<Supplier>> getAllSuppliers() {
+    public ResponseEntity<List<Supplier>> getAllSuppliers(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = versions.etag(CollectionVersions.Collection.SUPPLIERS);
+        if (ConditionalResponses.notModified(ifNoneMatch, etag)) {
+            return ConditionalResponses.notModifiedResponse(etag);
+        }
         List<Supplier> suppliers = supplierService.getAllSuppliers();
-        return ResponseEntity.ok(suppliers);
+        return ConditionalResponses.ok(etag, suppliers);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Supplier> getSupplierById(@PathVariable String id) {
+    public ResponseEntity<Supplier> getSupplierById(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = versions.etag(CollectionVersions.Collection.SUPPLIERS);
+        if (ConditionalResponses.notModified(ifNoneMatch, etag)) {
+            return ConditionalResponses.notModifiedResponse(etag);
+        }
         return supplierService.getSupplierById(id)
-            .map(supplier -> ResponseEntity.ok(supplier))
+            .map(supplier -> ConditionalResponses.ok(etag, supplier))
             .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/name/{name}")
-    public ResponseEntity<Supplier> getSupplierByName(@PathVariable String name) {
+    public ResponseEntity<Supplier> getSupplierByName(
+            @PathVariable String name,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = versions.etag(CollectionVersions.Collection.SUPPLIERS);
+        if (ConditionalResponses.notModified(ifNoneMatch, etag)) {
+            return ConditionalResponses.notModifiedResponse(etag);
+        }
         return supplierService.getSupplierByName(name)
-            .map(supplier -> ResponseEntity.ok(supplier))
+            .map(supplier -> ConditionalResponses.ok(etag, supplier))
             .orElse(ResponseEntity.notFound().build());
     }
 
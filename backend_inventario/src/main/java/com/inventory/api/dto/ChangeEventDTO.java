@@ -0,0 +1,61 @@
+package com.inventory.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.inventory.api.model.InventoryMovement;
+import com.inventory.api.model.Product;
+import java.time.LocalDateTime;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChangeEventDTO {
+    private long id;
+    private Type type;
+    private String productId;
+    private String category;
+    private LocalDateTime timestamp;
+    private Product product;
+    private Integer previousStock;
+    private Integer newStock;
+    private InventoryMovement movement;
+
+    public enum Type {
+        PRODUCT_UPSERTED, PRODUCT_DELETED, STOCK_CHANGED, MOVEMENT_CREATED
+    }
+
+    // Constructors
+    public ChangeEventDTO() {}
+
+    public ChangeEventDTO(Type type, String productId, String category) {
+        this.type = type;
+        this.productId = productId;
+        this.category = category;
+        this.timestamp = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public long getId() { return id; }
+    public void setId(long id) { this.id = id; }
+
+    public Type getType() { return type; }
+    public void setType(Type type) { this.type = type; }
+
+    public String getProductId() { return productId; }
+    public void setProductId(String productId) { this.productId = productId; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public LocalDateTime getTimestamp() { return timestamp; }
+    public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
+
+    public Product getProduct() { return product; }
+    public void setProduct(Product product) { this.product = product; }
+
+    public Integer getPreviousStock() { return previousStock; }
+    public void setPreviousStock(Integer previousStock) { this.previousStock = previousStock; }
+
+    public Integer getNewStock() { return newStock; }
+    public void setNewStock(Integer newStock) { this.newStock = newStock; }
+
+    public InventoryMovement getMovement() { return movement; }
+    public void setMovement(InventoryMovement movement) { this.movement = movement; }
+}
@@ -0,0 +1,98 @@
+package com.inventory.api.dto;
+
+import java.util.List;
+
+public class IndexReportDTO {
+    private String mode;
+    private List<CollectionIndexesDTO> collections;
+    private List<QueryPlanDTO> plans;
+
+    public static class CollectionIndexesDTO {
+        private String collection;
+        private List<String> declared;
+        private List<String> missing;
+        private List<String> unexpected;
+
+        public CollectionIndexesDTO() {}
+
+        public CollectionIndexesDTO(String collection, List<String> declared,
+                                    List<String> missing, List<String> unexpected) {
+            this.collection = collection;
+            this.declared = declared;
+            this.missing = missing;
+            this.unexpected = unexpected;
+        }
+
+        // Getters and Setters
+        public String getCollection() { return collection; }
+        public void setCollection(String collection) { this.collection = collection; }
+
+        public List<String> getDeclared() { return declared; }
+        public void setDeclared(List<String> declared) { this.declared = declared; }
+
+        public List<String> getMissing() { return missing; }
+        public void setMissing(List<String> missing) { this.missing = missing; }
+
+        public List<String> getUnexpected() { return unexpected; }
+        public void setUnexpected(List<String> unexpected) { this.unexpected = unexpected; }
+    }
+
+    public static class QueryPlanDTO {
+        private String method;
+        private String collection;
+        private String winningPlan;
+        private List<String> indexes;
+        private Boolean collectionScan;
+        private Boolean collectionScanExpected;
+
+        public QueryPlanDTO() {}
+
+        public QueryPlanDTO(String method, String collection, String winningPlan, List<String> indexes,
+                            Boolean collectionScan, Boolean collectionScanExpected) {
+            this.method = method;
+            this.collection = collection;
+            this.winningPlan = winningPlan;
+            this.indexes = indexes;
+            this.collectionScan = collectionScan;
+            this.collectionScanExpected = collectionScanExpected;
+        }
+
+        // Getters and Setters
+        public String getMethod() { return method; }
+        public void setMethod(String method) { this.method = method; }
+
+        public String getCollection() { return collection; }
+        public void setCollection(String collection) { this.collection = collection; }
+
+        public String getWinningPlan() { return winningPlan; }
+        public void setWinningPlan(String winningPlan) { this.winningPlan = winningPlan; }
+
+        public List<String> getIndexes() { return indexes; }
+        public void setIndexes(List<String> indexes) { this.indexes = indexes; }
+
+        public Boolean getCollectionScan() { return collectionScan; }
+        public void setCollectionScan(Boolean collectionScan) { this.collectionScan = collectionScan; }
+
+        public Boolean getCollectionScanExpected() { return collectionScanExpected; }
+        public void setCollectionScanExpected(Boolean collectionScanExpected) { this.collectionScanExpected = collectionScanExpected; }
+    }
+
+    // Constructors
+    public IndexReportDTO() {}
+
+    public IndexReportDTO(String mode, List<CollectionIndexesDTO> collections, List<QueryPlanDTO> plans) {
+        this.mode = mode;
+        this.collections = collections;
+        this.plans = plans;
+    }
+
+    // Getters and Setters
+    public String getMode() { return mode; }
+    public void setMode(String mode) { this.mode = mode; }
+
+    public List<CollectionIndexesDTO> getCollections() { return collections; }
+    public void setCollections(List<CollectionIndexesDTO> collections) { this.collections = collections; }
+
+    public List<QueryPlanDTO> getPlans() { return plans; }
+    public void setPlans(List<QueryPlanDTO> plans) { this.plans = plans; }
+}
@@ -0,0 +1,69 @@
+package com.inventory.api.dto;
+
+import java.util.List;
+
+public class InventoryReportDTO {
+    private Long totalProducts;
+    private Double totalValue;
+    private Long lowStockItems;
+    private Long recentMovements;
+    private Integer recentMovementDays;
+    private List<CategoryBreakdownDTO> categories;
+
+    public static class CategoryBreakdownDTO {
+        private String name;
+        private Long productCount;
+        private Long totalStock;
+        private Double totalValue;
+        private Long lowStockItems;
+
+        public CategoryBreakdownDTO() {}
+
+        public CategoryBreakdownDTO(String name, Long productCount, Long totalStock,
+                                    Double totalValue, Long lowStockItems) {
+            this.name = name;
+            this.productCount = productCount;
+            this.totalStock = totalStock;
+            this.totalValue = totalValue;
+            this.lowStockItems = lowStockItems;
+        }
+
+        // Getters and Setters
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+
+        public Long getProductCount() { return productCount; }
+        public void setProductCount(Long productCount) { this.productCount = productCount; }
+
+        public Long getTotalStock() { return totalStock; }
+        public void setTotalStock(Long totalStock) { this.totalStock = totalStock; }
+
+        public Double getTotalValue() { return totalValue; }
+        public void setTotalValue(Double totalValue) { this.totalValue = totalValue; }
+
+        public Long getLowStockItems() { return lowStockItems; }
+        public void setLowStockItems(Long lowStockItems) { this.lowStockItems = lowStockItems; }
+    }
+
+    // Constructors
+    public InventoryReportDTO() {}
+
+    // Getters and Setters
+    public Long getTotalProducts() { return totalProducts; }
+    public void setTotalProducts(Long totalProducts) { this.totalProducts = totalProducts; }
+
+    public Double getTotalValue() { return totalValue; }
+    public void setTotalValue(Double totalValue) { this.totalValue = totalValue; }
+
+    public Long getLowStockItems() { return lowStockItems; }
+    public void setLowStockItems(Long lowStockItems) { this.lowStockItems = lowStockItems; }
+
+    public Long getRecentMovements() { return recentMovements; }
+    public void setRecentMovements(Long recentMovements) { this.recentMovements = recentMovements; }
+
+    public Integer getRecentMovementDays() { return recentMovementDays; }
+    public void setRecentMovementDays(Integer recentMovementDays) { this.recentMovementDays = recentMovementDays; }
+
+    public List<CategoryBreakdownDTO> getCategories() { return categories; }
+    public void setCategories(List<CategoryBreakdownDTO> categories) { this.categories = categories; }
+}
@@ -0,0 +1,58 @@
+package com.inventory.api.dto;
+
+import java.time.LocalDateTime;
+
+public class LowStockAlertDTO {
+    private String productId;
+    private String code;
+    private String name;
+    private Integer currentStock;
+    private Integer minimumStock;
+    private Integer shortfall;
+    private State state;
+    private LocalDateTime timestamp;
+
+    public enum State {
+        LOW, RESTOCKED
+    }
+
+    // Constructors
+    public LowStockAlertDTO() {}
+
+    public LowStockAlertDTO(String productId, String code, String name, Integer currentStock,
+                            Integer minimumStock, Integer shortfall, State state, LocalDateTime timestamp) {
+        this.productId = productId;
+        this.code = code;
+        this.name = name;
+        this.currentStock = currentStock;
+        this.minimumStock = minimumStock;
+        this.shortfall = shortfall;
+        this.state = state;
+        this.timestamp = timestamp;
+    }
+
+    // Getters and Setters
+    public String getProductId() { return productId; }
+    public void setProductId(String productId) { this.productId = productId; }
+
+    public String getCode() { return code; }
+    public void setCode(String code) { this.code = code; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public Integer getCurrentStock() { return currentStock; }
+    public void setCurrentStock(Integer currentStock) { this.currentStock = currentStock; }
+
+    public Integer getMinimumStock() { return minimumStock; }
+    public void setMinimumStock(Integer minimumStock) { this.minimumStock = minimumStock; }
+
+    public Integer getShortfall() { return shortfall; }
+    public void setShortfall(Integer shortfall) { this.shortfall = shortfall; }
+
+    public State getState() { return state; }
+    public void setState(State state) { this.state = state; }
+
+    public LocalDateTime getTimestamp() { return timestamp; }
+    public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
+}
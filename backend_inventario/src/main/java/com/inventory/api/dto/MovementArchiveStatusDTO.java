@@ -0,0 +1,38 @@
+package com.inventory.api.dto;
+
+import java.time.LocalDateTime;
+
+public class MovementArchiveStatusDTO {
+    private Boolean enabled;
+    private Integer horizonDays;
+    private LocalDateTime archivedBefore;
+    private Boolean running;
+    private LocalDateTime lastRunAt;
+    private Long lastRunMoved;
+    private Long lastRunSnapshots;
+
+    // Constructors
+    public MovementArchiveStatusDTO() {}
+
+    // Getters and Setters
+    public Boolean getEnabled() { return enabled; }
+    public void setEnabled(Boolean enabled) { this.enabled = enabled; }
+
+    public Integer getHorizonDays() { return horizonDays; }
+    public void setHorizonDays(Integer horizonDays) { this.horizonDays = horizonDays; }
+
+    public LocalDateTime getArchivedBefore() { return archivedBefore; }
+    public void setArchivedBefore(LocalDateTime archivedBefore) { this.archivedBefore = archivedBefore; }
+
+    public Boolean getRunning() { return running; }
+    public void setRunning(Boolean running) { this.running = running; }
+
+    public LocalDateTime getLastRunAt() { return lastRunAt; }
+    public void setLastRunAt(LocalDateTime lastRunAt) { this.lastRunAt = lastRunAt; }
+
+    public Long getLastRunMoved() { return lastRunMoved; }
+    public void setLastRunMoved(Long lastRunMoved) { this.lastRunMoved = lastRunMoved; }
+
+    public Long getLastRunSnapshots() { return lastRunSnapshots; }
+    public void setLastRunSnapshots(Long lastRunSnapshots) { this.lastRunSnapshots = lastRunSnapshots; }
+}
@@ -0,0 +1,73 @@
+package com.inventory.api.dto;
+
+import java.util.List;
+
+public class MovementBatchResultDTO {
+    private Integer accepted;
+    private Integer rejected;
+    private List<ItemResultDTO> items;
+
+    public enum Status {
+        ACCEPTED,
+        REJECTED_INSUFFICIENT_STOCK,
+        UNKNOWN_PRODUCT,
+        INVALID,
+        // The stock update failed in a way that does not tell whether it applied
+        UNKNOWN_OUTCOME
+    }
+
+    public static class ItemResultDTO {
+        private Integer index;
+        private Status status;
+        private String movementId;
+        private Integer previousStock;
+        private Integer newStock;
+        private String message;
+
+        public ItemResultDTO() {}
+
+        public ItemResultDTO(Integer index, Status status, String message) {
+            this.index = index;
+            this.status = status;
+            this.message = message;
+        }
+
+        // Getters and Setters
+        public Integer getIndex() { return index; }
+        public void setIndex(Integer index) { this.index = index; }
+
+        public Status getStatus() { return status; }
+        public void setStatus(Status status) { this.status = status; }
+
+        public String getMovementId() { return movementId; }
+        public void setMovementId(String movementId) { this.movementId = movementId; }
+
+        public Integer getPreviousStock() { return previousStock; }
+        public void setPreviousStock(Integer previousStock) { this.previousStock = previousStock; }
+
+        public Integer getNewStock() { return newStock; }
+        public void setNewStock(Integer newStock) { this.newStock = newStock; }
+
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
+
+    // Constructors
+    public MovementBatchResultDTO() {}
+
+    public MovementBatchResultDTO(Integer accepted, Integer rejected, List<ItemResultDTO> items) {
+        this.accepted = accepted;
+        this.rejected = rejected;
+        this.items = items;
+    }
+
+    // Getters and Setters
+    public Integer getAccepted() { return accepted; }
+    public void setAccepted(Integer accepted) { this.accepted = accepted; }
+
+    public Integer getRejected() { return rejected; }
+    public void setRejected(Integer rejected) { this.rejected = rejected; }
+
+    public List<ItemResultDTO> getItems() { return items; }
+    public void setItems(List<ItemResultDTO> items) { this.items = items; }
+}
@@ -0,0 +1,26 @@
+package com.inventory.api.dto;
+
+public class MovementBucketDTO {
+    private String key;
+    private Long count;
+    private Long totalQuantity;
+
+    // Constructors
+    public MovementBucketDTO() {}
+
+    public MovementBucketDTO(String key, Long count, Long totalQuantity) {
+        this.key = key;
+        this.count = count;
+        this.totalQuantity = totalQuantity;
+    }
+
+    // Getters and Setters
+    public String getKey() { return key; }
+    public void setKey(String key) { this.key = key; }
+
+    public Long getCount() { return count; }
+    public void setCount(Long count) { this.count = count; }
+
+    public Long getTotalQuantity() { return totalQuantity; }
+    public void setTotalQuantity(Long totalQuantity) { this.totalQuantity = totalQuantity; }
+}
@@ -0,0 +1,80 @@
+package com.inventory.api.dto;
+
+import com.inventory.api.model.Product;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for paged product listings. Encodes the sort key, the
+ * direction and the (sort value, id) pair of the last returned product.
+ */
+public final class ProductCursor {
+
+    private ProductCursor() {}
+
+    public static String encode(ProductQueryDTO query, Product last) {
+        Object value = sortValue(query.getSort(), last);
+        String raw = query.getSort().name() + "|" + query.getDirection().name() + "|" + last.getId()
+            + "|" + typeTag(value) + "|" + (value == null ? "" : value.toString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the cursor is malformed or was issued for another sort
+     */
+    public static void decodeInto(String cursor, ProductQueryDTO query) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido", e);
+        }
+
+        String[] parts = raw.split("\\|", 5);
+        if (parts.length != 5) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+        if (!parts[0].equals(query.getSort().name()) || !parts[1].equals(query.getDirection().name())) {
+            throw new IllegalArgumentException("El cursor no corresponde al orden solicitado");
+        }
+
+        query.setAfterId(parts[2]);
+        query.setAfterValue(parseValue(parts[3], parts[4]));
+    }
+
+    private static Object sortValue(ProductQueryDTO.SortField sort, Product product) {
+        switch (sort) {
+            case CODE: return product.getCode();
+            case STOCK: return product.getCurrentStock();
+            case PRICE: return product.getSalePrice();
+            case UPDATED: return product.getUpdatedAt();
+            case NAME:
+            default: return product.getName();
+        }
+    }
+
+    private static String typeTag(Object value) {
+        if (value == null) return "N";
+        if (value instanceof Integer) return "I";
+        if (value instanceof Double) return "D";
+        if (value instanceof LocalDateTime) return "T";
+        return "S";
+    }
+
+    private static Object parseValue(String tag, String value) {
+        try {
+            switch (tag) {
+                case "N": return null;
+                case "I": return Integer.valueOf(value);
+                case "D": return Double.valueOf(value);
+                case "T": return LocalDateTime.parse(value);
+                case "S": return value;
+                default: throw new IllegalArgumentException("Cursor inválido");
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor inválido", e);
+        }
+    }
+}
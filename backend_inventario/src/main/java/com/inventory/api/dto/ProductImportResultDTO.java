@@ -0,0 +1,75 @@
+package com.inventory.api.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class ProductImportResultDTO {
+    private String importId;
+    private Status status;
+    private Long processedRows;
+    private Long inserted;
+    private Long duplicates;
+    private Long invalid;
+    private List<RowErrorDTO> errors;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    public static class RowErrorDTO {
+        private Long row;
+        private String code;
+        private String message;
+
+        public RowErrorDTO() {}
+
+        public RowErrorDTO(Long row, String code, String message) {
+            this.row = row;
+            this.code = code;
+            this.message = message;
+        }
+
+        // Getters and Setters
+        public Long getRow() { return row; }
+        public void setRow(Long row) { this.row = row; }
+
+        public String getCode() { return code; }
+        public void setCode(String code) { this.code = code; }
+
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
+
+    // Constructors
+    public ProductImportResultDTO() {}
+
+    // Getters and Setters
+    public String getImportId() { return importId; }
+    public void setImportId(String importId) { this.importId = importId; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public Long getProcessedRows() { return processedRows; }
+    public void setProcessedRows(Long processedRows) { this.processedRows = processedRows; }
+
+    public Long getInserted() { return inserted; }
+    public void setInserted(Long inserted) { this.inserted = inserted; }
+
+    public Long getDuplicates() { return duplicates; }
+    public void setDuplicates(Long duplicates) { this.duplicates = duplicates; }
+
+    public Long getInvalid() { return invalid; }
+    public void setInvalid(Long invalid) { this.invalid = invalid; }
+
+    public List<RowErrorDTO> getErrors() { return errors; }
+    public void setErrors(List<RowErrorDTO> errors) { this.errors = errors; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+}
@@ -0,0 +1,40 @@
+package com.inventory.api.dto;
+
+import com.inventory.api.model.Product;
+import java.util.List;
+
+public class ProductPageDTO {
+    private List<Product> items;
+    private String nextCursor;
+    private Boolean hasMore;
+    private Long totalCount;
+    private Boolean totalCountExact;
+
+    // Constructors
+    public ProductPageDTO() {}
+
+    public ProductPageDTO(List<Product> items, String nextCursor, Boolean hasMore,
+                          Long totalCount, Boolean totalCountExact) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+        this.totalCount = totalCount;
+        this.totalCountExact = totalCountExact;
+    }
+
+    // Getters and Setters
+    public List<Product> getItems() { return items; }
+    public void setItems(List<Product> items) { this.items = items; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public Boolean getHasMore() { return hasMore; }
+    public void setHasMore(Boolean hasMore) { this.hasMore = hasMore; }
+
+    public Long getTotalCount() { return totalCount; }
+    public void setTotalCount(Long totalCount) { this.totalCount = totalCount; }
+
+    public Boolean getTotalCountExact() { return totalCountExact; }
+    public void setTotalCountExact(Boolean totalCountExact) { this.totalCountExact = totalCountExact; }
+}
@@ -0,0 +1,79 @@
+package com.inventory.api.dto;
+
+public class ProductQueryDTO {
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    private String category;
+    private String supplier;
+    private StockStatus stockStatus;
+    private String text;
+    private SortField sort = SortField.NAME;
+    private SortDirection direction = SortDirection.ASC;
+    private int limit = DEFAULT_LIMIT;
+
+    // Keyset position decoded from the opaque cursor
+    private Object afterValue;
+    private String afterId;
+
+    public enum StockStatus {
+        LOW, OUT, OK
+    }
+
+    public enum SortDirection {
+        ASC, DESC
+    }
+
+    public enum SortField {
+        NAME("name"),
+        CODE("code"),
+        STOCK("currentStock"),
+        PRICE("salePrice"),
+        UPDATED("updatedAt");
+
+        private final String field;
+
+        SortField(String field) {
+            this.field = field;
+        }
+
+        public String getField() {
+            return field;
+        }
+    }
+
+    // Constructors
+    public ProductQueryDTO() {}
+
+    public boolean hasCursor() {
+        return afterId != null;
+    }
+
+    // Getters and Setters
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public String getSupplier() { return supplier; }
+    public void setSupplier(String supplier) { this.supplier = supplier; }
+
+    public StockStatus getStockStatus() { return stockStatus; }
+    public void setStockStatus(StockStatus stockStatus) { this.stockStatus = stockStatus; }
+
+    public String getText() { return text; }
+    public void setText(String text) { this.text = text; }
+
+    public SortField getSort() { return sort; }
+    public void setSort(SortField sort) { this.sort = sort; }
+
+    public SortDirection getDirection() { return direction; }
+    public void setDirection(SortDirection direction) { this.direction = direction; }
+
+    public int getLimit() { return limit; }
+    public void setLimit(int limit) { this.limit = Math.max(1, Math.min(limit, MAX_LIMIT)); }
+
+    public Object getAfterValue() { return afterValue; }
+    public void setAfterValue(Object afterValue) { this.afterValue = afterValue; }
+
+    public String getAfterId() { return afterId; }
+    public void setAfterId(String afterId) { this.afterId = afterId; }
+}
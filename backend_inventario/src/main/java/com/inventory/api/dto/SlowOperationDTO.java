@@ -0,0 +1,107 @@
+package com.inventory.api.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class SlowOperationDTO {
+    private LocalDateTime timestamp;
+    private Long durationMs;
+    private String database;
+    private String collection;
+    private String command;
+    private String shape;
+    private String repositoryMethod;
+    private String caller;
+    private Long documentsReturned;
+    private String failure;
+    private PlanStatus planStatus;
+    private String winningPlan;
+    private List<String> indexes;
+    private Long docsExamined;
+    private Long keysExamined;
+    private LocalDateTime explainedAt;
+
+    public enum PlanStatus {
+        // FROM_SHAPE: the plan of an earlier operation with the same shape, explained at explainedAt
+        EXPLAINED, PENDING, FROM_SHAPE, NOT_EXPLAINED, FAILED
+    }
+
+    // Constructors
+    public SlowOperationDTO() {}
+
+    public SlowOperationDTO(LocalDateTime timestamp, Long durationMs, String database, String collection,
+                            String command, String shape, String repositoryMethod, String caller,
+                            Long documentsReturned, String failure) {
+        this.timestamp = timestamp;
+        this.durationMs = durationMs;
+        this.database = database;
+        this.collection = collection;
+        this.command = command;
+        this.shape = shape;
+        this.repositoryMethod = repositoryMethod;
+        this.caller = caller;
+        this.documentsReturned = documentsReturned;
+        this.failure = failure;
+    }
+
+    // Snapshot of an operation whose plan may still be filled in by the explain thread
+    public SlowOperationDTO(SlowOperationDTO other) {
+        this(other.timestamp, other.durationMs, other.database, other.collection, other.command, other.shape,
+            other.repositoryMethod, other.caller, other.documentsReturned, other.failure);
+        this.planStatus = other.planStatus;
+        this.winningPlan = other.winningPlan;
+        this.indexes = other.indexes;
+        this.docsExamined = other.docsExamined;
+        this.keysExamined = other.keysExamined;
+        this.explainedAt = other.explainedAt;
+    }
+
+    // Getters and Setters
+    public LocalDateTime getTimestamp() { return timestamp; }
+    public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
+
+    public Long getDurationMs() { return durationMs; }
+    public void setDurationMs(Long durationMs) { this.durationMs = durationMs; }
+
+    public String getDatabase() { return database; }
+    public void setDatabase(String database) { this.database = database; }
+
+    public String getCollection() { return collection; }
+    public void setCollection(String collection) { this.collection = collection; }
+
+    public String getCommand() { return command; }
+    public void setCommand(String command) { this.command = command; }
+
+    public String getShape() { return shape; }
+    public void setShape(String shape) { this.shape = shape; }
+
+    public String getRepositoryMethod() { return repositoryMethod; }
+    public void setRepositoryMethod(String repositoryMethod) { this.repositoryMethod = repositoryMethod; }
+
+    public String getCaller() { return caller; }
+    public void setCaller(String caller) { this.caller = caller; }
+
+    public Long getDocumentsReturned() { return documentsReturned; }
+    public void setDocumentsReturned(Long documentsReturned) { this.documentsReturned = documentsReturned; }
+
+    public String getFailure() { return failure; }
+    public void setFailure(String failure) { this.failure = failure; }
+
+    public PlanStatus getPlanStatus() { return planStatus; }
+    public void setPlanStatus(PlanStatus planStatus) { this.planStatus = planStatus; }
+
+    public String getWinningPlan() { return winningPlan; }
+    public void setWinningPlan(String winningPlan) { this.winningPlan = winningPlan; }
+
+    public List<String> getIndexes() { return indexes; }
+    public void setIndexes(List<String> indexes) { this.indexes = indexes; }
+
+    public Long getDocsExamined() { return docsExamined; }
+    public void setDocsExamined(Long docsExamined) { this.docsExamined = docsExamined; }
+
+    public Long getKeysExamined() { return keysExamined; }
+    public void setKeysExamined(Long keysExamined) { this.keysExamined = keysExamined; }
+
+    public LocalDateTime getExplainedAt() { return explainedAt; }
+    public void setExplainedAt(LocalDateTime explainedAt) { this.explainedAt = explainedAt; }
+}
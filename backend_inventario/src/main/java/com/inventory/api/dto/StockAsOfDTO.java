@@ -0,0 +1,40 @@
+package com.inventory.api.dto;
+
+public class StockAsOfDTO {
+    private String productId;
+    private String productCode;
+    private String productName;
+    private String category;
+    private String unit;
+    private Integer stock;
+    private Double purchasePrice;
+    private Double stockValue;
+
+    // Constructors
+    public StockAsOfDTO() {}
+
+    // Getters and Setters
+    public String getProductId() { return productId; }
+    public void setProductId(String productId) { this.productId = productId; }
+
+    public String getProductCode() { return productCode; }
+    public void setProductCode(String productCode) { this.productCode = productCode; }
+
+    public String getProductName() { return productName; }
+    public void setProductName(String productName) { this.productName = productName; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public String getUnit() { return unit; }
+    public void setUnit(String unit) { this.unit = unit; }
+
+    public Integer getStock() { return stock; }
+    public void setStock(Integer stock) { this.stock = stock; }
+
+    public Double getPurchasePrice() { return purchasePrice; }
+    public void setPurchasePrice(Double purchasePrice) { this.purchasePrice = purchasePrice; }
+
+    public Double getStockValue() { return stockValue; }
+    public void setStockValue(Double stockValue) { this.stockValue = stockValue; }
+}
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.inventory.api.model;
+
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * A movement older than the archive horizon, moved out of the hot collection
+ * unchanged. Only the product history and date queries reach the archive, so
+ * it keeps just their indexes (the inherited one on {@code date} and
+ * {@code product_date}).
+ */
+@Document(collection = "inventory_movements_archive")
+@CompoundIndexes({
+    @CompoundIndex(name = "product_date", def = "{ 'productId': 1, 'date': -1 }")
+})
+public class ArchivedMovement extends InventoryMovement {
+
+    // Constructors
+    public ArchivedMovement() {}
+}
@@ -2,6 +2,7 @@ package com.inventory.api.model;
 
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.index.Indexed;
 import jakarta.validation.constraints.NotBlank;
 
 @Document(collection = "categories")
@@ -10,6 +11,7 @@ public class Category {
     private String id;
     
     @NotBlank(message = "El nombre de la categoría es requerido")
+    @Indexed
     private String name;
     
     private String description;
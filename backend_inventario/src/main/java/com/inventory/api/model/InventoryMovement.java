@@ -2,10 +2,17 @@ package com.inventory.api.model;
 
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import jakarta.validation.constraints.*;
 import java.time.LocalDateTime;
 
 @Document(collection = "inventory_movements")
+@CompoundIndexes({
+    @CompoundIndex(name = "product_date", def = "{ 'productId': 1, 'date': -1 }"),
+    @CompoundIndex(name = "type_date", def = "{ 'type': 1, 'date': -1 }")
+})
 public class InventoryMovement {
     @Id
     private String id;
@@ -31,7 +38,12 @@ public class InventoryMovement {
     @Min(value = 0, message = "El stock nuevo no puede ser negativo")
     private Integer newStock;
     
+    @Indexed
     private LocalDateTime date;
+
+    // Product revision produced by the stock update, which orders a product's movements as committed
+    private Long stockRevision;
+    
     private String comments;
     
     @NotBlank(message = "El usuario que creó el movimiento es requerido")
@@ -102,6 +114,9 @@ public class InventoryMovement {
     public LocalDateTime getDate() { return date; }
     public void setDate(LocalDateTime date) { this.date = date; }
 
+    public Long getStockRevision() { return stockRevision; }
+    public void setStockRevision(Long stockRevision) { this.stockRevision = stockRevision; }
+
     public String getComments() { return comments; }
     public void setComments(String comments) { this.comments = comments; }
 
@@ -0,0 +1,84 @@
+package com.inventory.api.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+@Document(collection = "movement_rollups")
+@CompoundIndexes({
+    @CompoundIndex(name = "bucket_key", unique = true,
+                   def = "{ 'granularity': 1, 'productId': 1, 'type': 1, 'bucketStart': 1 }"),
+    @CompoundIndex(name = "granularity_bucket", def = "{ 'granularity': 1, 'bucketStart': 1 }")
+})
+public class MovementRollup {
+    @Id
+    private String id;
+
+    private Granularity granularity;
+    private String productId;
+    private InventoryMovement.MovementType type;
+    private LocalDateTime bucketStart;
+    private Long count;
+    private Long totalQuantity;
+    private Integer minStock;
+    private Integer maxStock;
+
+    public enum Granularity {
+        HOUR("hour"),
+        DAY("day"),
+        MONTH("month");
+
+        private final String unit;
+
+        Granularity(String unit) {
+            this.unit = unit;
+        }
+
+        public String getUnit() {
+            return unit;
+        }
+
+        public LocalDateTime bucketStart(LocalDateTime date) {
+            switch (this) {
+                case HOUR: return date.truncatedTo(ChronoUnit.HOURS);
+                case DAY: return date.truncatedTo(ChronoUnit.DAYS);
+                case MONTH:
+                default: return date.withDayOfMonth(1).truncatedTo(ChronoUnit.DAYS);
+            }
+        }
+    }
+
+    // Constructors
+    public MovementRollup() {}
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public Granularity getGranularity() { return granularity; }
+    public void setGranularity(Granularity granularity) { this.granularity = granularity; }
+
+    public String getProductId() { return productId; }
+    public void setProductId(String productId) { this.productId = productId; }
+
+    public InventoryMovement.MovementType getType() { return type; }
+    public void setType(InventoryMovement.MovementType type) { this.type = type; }
+
+    public LocalDateTime getBucketStart() { return bucketStart; }
+    public void setBucketStart(LocalDateTime bucketStart) { this.bucketStart = bucketStart; }
+
+    public Long getCount() { return count; }
+    public void setCount(Long count) { this.count = count; }
+
+    public Long getTotalQuantity() { return totalQuantity; }
+    public void setTotalQuantity(Long totalQuantity) { this.totalQuantity = totalQuantity; }
+
+    public Integer getMinStock() { return minStock; }
+    public void setMinStock(Integer minStock) { this.minStock = minStock; }
+
+    public Integer getMaxStock() { return maxStock; }
+    public void setMaxStock(Integer maxStock) { this.maxStock = maxStock; }
+}
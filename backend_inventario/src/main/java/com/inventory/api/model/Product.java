@@ -2,11 +2,22 @@ package com.inventory.api.model;
 
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.Indexed;
 import jakarta.validation.constraints.*;
 import java.time.LocalDateTime;
 
 @Document(collection = "products")
+@CompoundIndexes({
+    @CompoundIndex(name = "name_id", def = "{ 'name': 1, '_id': 1 }"),
+    @CompoundIndex(name = "stock_id", def = "{ 'currentStock': 1, '_id': 1 }"),
+    @CompoundIndex(name = "price_id", def = "{ 'salePrice': 1, '_id': 1 }"),
+    @CompoundIndex(name = "updated_id", def = "{ 'updatedAt': 1, '_id': 1 }"),
+    @CompoundIndex(name = "category_name_id", def = "{ 'category': 1, 'name': 1, '_id': 1 }"),
+    @CompoundIndex(name = "supplier_name_id", def = "{ 'supplier': 1, 'name': 1, '_id': 1 }"),
+    @CompoundIndex(name = "lowstock_shortfall", def = "{ 'lowStock': 1, 'shortfall': -1 }")
+})
 public class Product {
     @Id
     private String id;
@@ -40,10 +51,18 @@ public class Product {
     
     @Min(value = 0, message = "El stock mínimo no puede ser negativo")
     private Integer minimumStock;
+
+    // Derived from currentStock and minimumStock so low-stock queries can use an index;
+    // stock updates in MongoDB recompute them in the same write
+    private Boolean lowStock = false;
+    private Integer shortfall = 0;
     
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    // Incremented by every update pipeline, so copies of the product held in memory can be ordered
+    private long revision;
+
     // Constructors
     public Product() {
         this.createdAt = LocalDateTime.now();
@@ -63,6 +82,7 @@ public class Product {
         this.salePrice = salePrice;
         this.unit = unit;
         this.minimumStock = minimumStock;
+        updateStockState();
     }
 
     // Getters and Setters
@@ -94,14 +114,33 @@ public class Product {
     public void setUnit(String unit) { this.unit = unit; }
 
     public Integer getCurrentStock() { return currentStock; }
-    public void setCurrentStock(Integer currentStock) { this.currentStock = currentStock; }
+    public void setCurrentStock(Integer currentStock) { this.currentStock = currentStock; updateStockState(); }
 
     public Integer getMinimumStock() { return minimumStock; }
-    public void setMinimumStock(Integer minimumStock) { this.minimumStock = minimumStock; }
+    public void setMinimumStock(Integer minimumStock) { this.minimumStock = minimumStock; updateStockState(); }
+
+    public Boolean getLowStock() { return lowStock; }
+
+    public Integer getShortfall() { return shortfall; }
 
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public long getRevision() { return revision; }
+    public void setRevision(long revision) { this.revision = revision; }
+
+    // Same rule as the update pipelines in ProductUpdates
+    private void updateStockState() {
+        if (minimumStock == null) {
+            lowStock = false;
+            shortfall = 0;
+            return;
+        }
+        int stock = currentStock != null ? currentStock : 0;
+        lowStock = stock <= minimumStock;
+        shortfall = Math.max(0, minimumStock - stock);
+    }
 }
\ No newline at end of file
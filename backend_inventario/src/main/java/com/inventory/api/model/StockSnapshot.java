@@ -0,0 +1,46 @@
+package com.inventory.api.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+import java.time.LocalDateTime;
+
+/**
+ * The stock of a product as of a point in time, i.e. after every movement
+ * dated before {@code asOf}. Written at each snapshot boundary (daily, and at
+ * every archive cut-over) for the products that moved since the previous one;
+ * see {@link StockSnapshotRun}.
+ */
+@Document(collection = "stock_snapshots")
+@CompoundIndexes({
+    @CompoundIndex(name = "product_as_of", unique = true, def = "{ 'productId': 1, 'asOf': -1 }")
+})
+public class StockSnapshot {
+    @Id
+    private String id;
+
+    private String productId;
+    private LocalDateTime asOf;
+    private Integer stock;
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public StockSnapshot() {}
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getProductId() { return productId; }
+    public void setProductId(String productId) { this.productId = productId; }
+
+    public LocalDateTime getAsOf() { return asOf; }
+    public void setAsOf(LocalDateTime asOf) { this.asOf = asOf; }
+
+    public Integer getStock() { return stock; }
+    public void setStock(Integer stock) { this.stock = stock; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
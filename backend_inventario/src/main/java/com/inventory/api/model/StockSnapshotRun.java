@@ -0,0 +1,40 @@
+package com.inventory.api.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import java.time.LocalDateTime;
+
+/**
+ * A completed snapshot boundary: every product with a movement between the
+ * previous boundary and {@code asOf} has a {@link StockSnapshot} at
+ * {@code asOf}, so the latest snapshot of any product up to a boundary is its
+ * stock there.
+ */
+@Document(collection = "stock_snapshot_runs")
+public class StockSnapshotRun {
+    @Id
+    private String id;
+
+    @Indexed(unique = true)
+    private LocalDateTime asOf;
+
+    private Long products;
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public StockSnapshotRun() {}
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public LocalDateTime getAsOf() { return asOf; }
+    public void setAsOf(LocalDateTime asOf) { this.asOf = asOf; }
+
+    public Long getProducts() { return products; }
+    public void setProducts(Long products) { this.products = products; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.inventory.api.model;
 
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.index.Indexed;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Email;
 
@@ -11,6 +12,7 @@ public class Supplier {
     private String id;
     
     @NotBlank(message = "El nombre del proveedor es requerido")
+    @Indexed
     private String name;
     
     @NotBlank(message = "El contacto es requerido")
@@ -0,0 +1,116 @@
+package com.inventory.api.repository;
+
+import com.inventory.api.model.InventoryMovement;
+import com.inventory.api.model.Product;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.util.ReflectionUtils;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The fields of a document a list endpoint returns, either named in
+ * {@code fields=} or taken from a named view such as {@code summary}. The
+ * repositories only fetch these fields from MongoDB, and the response holds
+ * only these fields; {@code id} is always included.
+ */
+public final class Fieldset {
+
+    private static final String ID = "id";
+
+    private static final Map<Class<?>, Map<String, List<String>>> VIEWS = Map.of(
+        Product.class, Map.of(
+            "summary", List.of("code", "name", "category", "currentStock", "minimumStock", "lowStock"),
+            "stock", List.of("code", "name", "currentStock", "minimumStock", "shortfall")),
+        InventoryMovement.class, Map.of(
+            "summary", List.of("productId", "productCode", "type", "quantity", "newStock", "date")));
+
+    private static final Map<Class<?>, Map<String, Field>> PROPERTIES = new ConcurrentHashMap<>();
+
+    private final List<Field> fields;
+
+    private Fieldset(List<Field> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * Resolves the {@code view} and {@code fields} request parameters; null
+     * when neither is given and the whole document is wanted.
+     */
+    public static Fieldset of(Class<?> document, String view, String fields) {
+        boolean hasView = view != null && !view.isBlank();
+        boolean hasFields = fields != null && !fields.isBlank();
+        if (!hasView && !hasFields) {
+            return null;
+        }
+        if (hasView && hasFields) {
+            throw new IllegalArgumentException("Indique view o fields, no ambos");
+        }
+
+        List<String> names;
+        if (hasView) {
+            names = VIEWS.getOrDefault(document, Map.of()).get(view.trim());
+            if (names == null) {
+                throw new IllegalArgumentException("Vista desconocida: " + view);
+            }
+        } else {
+            names = new ArrayList<>();
+            for (String name : fields.split(",")) {
+                if (!name.isBlank()) {
+                    names.add(name.trim());
+                }
+            }
+        }
+
+        Map<String, Field> properties = PROPERTIES.computeIfAbsent(document, Fieldset::properties);
+        List<Field> selected = new ArrayList<>();
+        selected.add(properties.get(ID));
+        for (String name : names) {
+            Field field = properties.get(name);
+            if (field == null) {
+                throw new IllegalArgumentException("Campo desconocido: " + name);
+            }
+            if (!selected.contains(field)) {
+                selected.add(field);
+            }
+        }
+        return new Fieldset(selected);
+    }
+
+    public Query applyTo(Query query) {
+        for (Field field : fields) {
+            query.fields().include(field.getName());
+        }
+        return query;
+    }
+
+    /** The selected fields of a document fetched with this fieldset, in request order. */
+    public Map<String, Object> select(Object document) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (Field field : fields) {
+            values.put(field.getName(), ReflectionUtils.getField(field, document));
+        }
+        return values;
+    }
+
+    public List<Map<String, Object>> selectAll(List<?> documents) {
+        List<Map<String, Object>> selected = new ArrayList<>(documents.size());
+        for (Object document : documents) {
+            selected.add(select(document));
+        }
+        return selected;
+    }
+
+    private static Map<String, Field> properties(Class<?> document) {
+        Map<String, Field> properties = new LinkedHashMap<>();
+        ReflectionUtils.doWithFields(document, field -> {
+            ReflectionUtils.makeAccessible(field);
+            properties.put(field.getName(), field);
+        }, field -> !Modifier.isStatic(field.getModifiers()));
+        return properties;
+    }
+}
@@ -8,7 +8,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface InventoryMovementRepository extends MongoRepository<InventoryMovement, String> {
+public interface InventoryMovementRepository extends MongoRepository<InventoryMovement, String>, InventoryMovementRepositoryCustom {
     
     List<InventoryMovement> findByProductId(String productId);
     
@@ -23,4 +23,6 @@ public interface InventoryMovementRepository extends MongoRepository<InventoryMo
     List<InventoryMovement> findRecentMovements(LocalDateTime since);
     
     List<InventoryMovement> findTop10ByOrderByDateDesc();
+    
+    long countByDateGreaterThanEqual(LocalDateTime since);
 }
\ No newline at end of file
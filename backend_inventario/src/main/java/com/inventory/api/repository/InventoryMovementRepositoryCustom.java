@@ -0,0 +1,39 @@
+package com.inventory.api.repository;
+
+import com.inventory.api.model.InventoryMovement;
+import org.springframework.data.domain.Sort;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface InventoryMovementRepositoryCustom {
+
+    /**
+     * The matching movements in {@code sort} order, at most {@code limit} of
+     * them when positive, fetching only the fields of the fieldset when one is
+     * given. Every filter is optional.
+     */
+    List<InventoryMovement> findMatching(String productId, InventoryMovement.MovementType type,
+                                         LocalDateTime startDate, LocalDateTime endDate,
+                                         Sort sort, int limit, Fieldset fieldset);
+
+    /**
+     * As {@link #findMatching}, over the movements moved to the archive
+     * collection. Only the product and date filters are indexed there.
+     */
+    List<InventoryMovement> findArchived(String productId, InventoryMovement.MovementType type,
+                                         LocalDateTime startDate, LocalDateTime endDate,
+                                         Sort sort, int limit, Fieldset fieldset);
+
+    /**
+     * Streams the matching movements in {@code _id} order from a server-side
+     * cursor, starting after {@code afterId} when given. The caller must close
+     * the stream.
+     */
+    Stream<InventoryMovement> streamMatching(String productId, InventoryMovement.MovementType type,
+                                             LocalDateTime startDate, LocalDateTime endDate, String afterId);
+
+    /** As {@link #streamMatching}, over the archive collection. */
+    Stream<InventoryMovement> streamArchived(String productId, InventoryMovement.MovementType type,
+                                             LocalDateTime startDate, LocalDateTime endDate, String afterId);
+}
@@ -0,0 +1,99 @@
+package com.inventory.api.repository;
+
+import com.inventory.api.model.ArchivedMovement;
+import com.inventory.api.model.InventoryMovement;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class InventoryMovementRepositoryCustomImpl implements InventoryMovementRepositoryCustom {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${inventory.export.cursor-batch-size:1000}")
+    private int cursorBatchSize;
+
+    @Override
+    public List<InventoryMovement> findMatching(String productId, InventoryMovement.MovementType type,
+                                                LocalDateTime startDate, LocalDateTime endDate,
+                                                Sort sort, int limit, Fieldset fieldset) {
+        return mongoTemplate.find(buildQuery(productId, type, startDate, endDate, sort, limit, fieldset),
+            InventoryMovement.class);
+    }
+
+    @Override
+    public List<InventoryMovement> findArchived(String productId, InventoryMovement.MovementType type,
+                                                LocalDateTime startDate, LocalDateTime endDate,
+                                                Sort sort, int limit, Fieldset fieldset) {
+        return mongoTemplate.find(buildQuery(productId, type, startDate, endDate, sort, limit, fieldset),
+            InventoryMovement.class, mongoTemplate.getCollectionName(ArchivedMovement.class));
+    }
+
+    @Override
+    public Stream<InventoryMovement> streamMatching(String productId, InventoryMovement.MovementType type,
+                                                    LocalDateTime startDate, LocalDateTime endDate, String afterId) {
+        return mongoTemplate.stream(buildStreamQuery(productId, type, startDate, endDate, afterId),
+            InventoryMovement.class);
+    }
+
+    @Override
+    public Stream<InventoryMovement> streamArchived(String productId, InventoryMovement.MovementType type,
+                                                    LocalDateTime startDate, LocalDateTime endDate, String afterId) {
+        return mongoTemplate.stream(buildStreamQuery(productId, type, startDate, endDate, afterId),
+            InventoryMovement.class, mongoTemplate.getCollectionName(ArchivedMovement.class));
+    }
+
+    private Query buildStreamQuery(String productId, InventoryMovement.MovementType type,
+                                   LocalDateTime startDate, LocalDateTime endDate, String afterId) {
+        Criteria criteria = buildCriteria(productId, type, startDate, endDate);
+        if (afterId != null && !afterId.isBlank()) {
+            criteria = criteria.and("_id").gt(ObjectId.isValid(afterId) ? new ObjectId(afterId) : afterId);
+        }
+
+        return new Query(criteria)
+            .with(Sort.by(Sort.Direction.ASC, "_id"))
+            .cursorBatchSize(cursorBatchSize);
+    }
+
+    private Query buildQuery(String productId, InventoryMovement.MovementType type,
+                             LocalDateTime startDate, LocalDateTime endDate,
+                             Sort sort, int limit, Fieldset fieldset) {
+        Query query = new Query(buildCriteria(productId, type, startDate, endDate)).with(sort);
+        if (limit > 0) {
+            query.limit(limit);
+        }
+        if (fieldset != null) {
+            fieldset.applyTo(query);
+        }
+        return query;
+    }
+
+    private Criteria buildCriteria(String productId, InventoryMovement.MovementType type,
+                                   LocalDateTime startDate, LocalDateTime endDate) {
+        Criteria criteria = new Criteria();
+        if (productId != null && !productId.isBlank()) {
+            criteria = criteria.and("productId").is(productId);
+        }
+        if (type != null) {
+            criteria = criteria.and("type").is(type);
+        }
+        if (startDate != null || endDate != null) {
+            Criteria date = criteria.and("date");
+            if (startDate != null) {
+                date.gte(startDate);
+            }
+            if (endDate != null) {
+                date.lte(endDate);
+            }
+        }
+        return criteria;
+    }
+}
@@ -8,7 +8,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ProductRepository extends MongoRepository<Product, String> {
+public interface ProductRepository extends MongoRepository<Product, String>, ProductRepositoryCustom {
     
     Optional<Product> findByCode(String code);
     
@@ -19,8 +19,11 @@ public interface ProductRepository extends MongoRepository<Product, String> {
     @Query("{ 'currentStock': { $lte: ?0 } }")
     List<Product> findByCurrentStockLessThanEqual(Integer stock);
     
-    @Query("{ '$expr': { '$lte': ['$currentStock', '$minimumStock'] } }")
+    @Query(value = "{ 'lowStock': true }", sort = "{ 'shortfall': -1 }")
     List<Product> findLowStockProducts();
+
+    @Query(value = "{ 'lowStock': true }", fields = "{ '_id': 1 }")
+    List<Product> findLowStockIds();
     
     @Query("{ '$or': [ " +
            "{ 'name': { $regex: ?0, $options: 'i' } }, " +
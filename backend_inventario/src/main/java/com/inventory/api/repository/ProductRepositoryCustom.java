@@ -0,0 +1,63 @@
+package com.inventory.api.repository;
+
+import com.inventory.api.dto.ProductQueryDTO;
+import com.inventory.api.model.Product;
+import org.springframework.data.domain.Sort;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface ProductRepositoryCustom {
+
+    List<Product> findPage(ProductQueryDTO query, int fetchSize);
+
+    long countMatching(ProductQueryDTO query, long cap);
+
+    /**
+     * Every product matching the query filters, fetching only the fields of
+     * the fieldset when one is given. Sort and cursor fields of the query are
+     * ignored in favour of {@code sort}.
+     */
+    List<Product> findMatching(ProductQueryDTO query, Sort sort, Fieldset fieldset);
+
+    /**
+     * Streams every product matching the query filters in {@code _id} order
+     * from a server-side cursor, starting after {@code afterId} when given.
+     * Sort and cursor fields of the query are ignored. The caller must close
+     * the stream.
+     */
+    Stream<Product> streamMatching(ProductQueryDTO query, String afterId);
+
+    /**
+     * Atomically adds {@code delta} to the stock, only if the result stays
+     * non-negative. Returns the product after the change, or null when the
+     * product does not exist or has insufficient stock.
+     */
+    Product adjustStock(String id, int delta);
+
+    /**
+     * Atomically adds {@code delta} to the stock, only if the product has at
+     * least {@code requiredStock} when the update lands, whatever other writes
+     * changed it since it was read. Returns the product after the change, or
+     * null when the product does not exist or has too little stock.
+     */
+    Product adjustStock(String id, int delta, int requiredStock);
+
+    /**
+     * Atomically sets the stock. Returns the product as it was before the
+     * change, or null when it does not exist.
+     */
+    Product replaceStock(String id, int newStock);
+
+    /**
+     * Atomically writes the editable fields of the product, leaving its stock
+     * untouched, and recomputes the low-stock state against the stored stock.
+     * Returns the product after the change, or null when it does not exist.
+     */
+    Product updateDetails(Product product);
+
+    /**
+     * Computes the low-stock state of products written before it existed.
+     * Returns the number of products updated.
+     */
+    long refreshStockState();
+}
\ No newline at end of file
@@ -0,0 +1,170 @@
+package com.inventory.api.repository;
+
+import com.inventory.api.dto.ProductQueryDTO;
+import com.inventory.api.model.Product;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+public class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${inventory.export.cursor-batch-size:1000}")
+    private int cursorBatchSize;
+
+    @Override
+    public List<Product> findPage(ProductQueryDTO query, int fetchSize) {
+        Query mongoQuery = new Query(buildCriteria(query, true));
+
+        String field = query.getSort().getField();
+        Sort.Direction direction = query.getDirection() == ProductQueryDTO.SortDirection.DESC
+            ? Sort.Direction.DESC : Sort.Direction.ASC;
+        mongoQuery.with(Sort.by(direction, field).and(Sort.by(direction, "_id")));
+        mongoQuery.limit(fetchSize);
+
+        return mongoTemplate.find(mongoQuery, Product.class);
+    }
+
+    @Override
+    public long countMatching(ProductQueryDTO query, long cap) {
+        Criteria criteria = buildCriteria(query, false);
+        if (criteria.getCriteriaObject().isEmpty()) {
+            return mongoTemplate.estimatedCount(Product.class);
+        }
+        Query countQuery = new Query(criteria).limit((int) cap);
+        return mongoTemplate.count(countQuery, Product.class);
+    }
+
+    @Override
+    public List<Product> findMatching(ProductQueryDTO query, Sort sort, Fieldset fieldset) {
+        Query mongoQuery = new Query(buildCriteria(query, false)).with(sort);
+        if (fieldset != null) {
+            fieldset.applyTo(mongoQuery);
+        }
+        return mongoTemplate.find(mongoQuery, Product.class);
+    }
+
+    @Override
+    public Stream<Product> streamMatching(ProductQueryDTO query, String afterId) {
+        Criteria criteria = buildCriteria(query, false);
+        if (afterId != null && !afterId.isBlank()) {
+            Criteria after = Criteria.where("_id").gt(ObjectId.isValid(afterId) ? new ObjectId(afterId) : afterId);
+            criteria = criteria.getCriteriaObject().isEmpty() ? after : new Criteria().andOperator(criteria, after);
+        }
+
+        Query mongoQuery = new Query(criteria)
+            .with(Sort.by(Sort.Direction.ASC, "_id"))
+            .cursorBatchSize(cursorBatchSize);
+        return mongoTemplate.stream(mongoQuery, Product.class);
+    }
+
+    @Override
+    public Product adjustStock(String id, int delta) {
+        Query query = new Query(Criteria.where("_id").is(id).and("currentStock").gte(-delta));
+        return mongoTemplate.findAndModify(query, ProductUpdates.setStock(ProductUpdates.incrementedStock(delta)),
+            FindAndModifyOptions.options().returnNew(true), Product.class);
+    }
+
+    @Override
+    public Product adjustStock(String id, int delta, int requiredStock) {
+        Query query = new Query(Criteria.where("_id").is(id).and("currentStock").gte(requiredStock));
+        return mongoTemplate.findAndModify(query, ProductUpdates.setStock(ProductUpdates.incrementedStock(delta)),
+            FindAndModifyOptions.options().returnNew(true), Product.class);
+    }
+
+    @Override
+    public Product replaceStock(String id, int newStock) {
+        Query query = new Query(Criteria.where("_id").is(id));
+        return mongoTemplate.findAndModify(query, ProductUpdates.setStock(newStock),
+            FindAndModifyOptions.options().returnNew(false), Product.class);
+    }
+
+    @Override
+    public Product updateDetails(Product product) {
+        Query query = new Query(Criteria.where("_id").is(product.getId()));
+        return mongoTemplate.findAndModify(query, ProductUpdates.setDetails(product),
+            FindAndModifyOptions.options().returnNew(true), Product.class);
+    }
+
+    @Override
+    public long refreshStockState() {
+        Query query = new Query(new Criteria().orOperator(
+            Criteria.where("lowStock").exists(false),
+            Criteria.where("shortfall").exists(false)));
+        return mongoTemplate.updateMulti(query, ProductUpdates.refreshStockState(), Product.class)
+            .getModifiedCount();
+    }
+
+    Criteria buildCriteria(ProductQueryDTO query, boolean applyCursor) {
+        List<Criteria> clauses = new ArrayList<>();
+
+        if (query.getCategory() != null && !query.getCategory().isBlank()) {
+            clauses.add(Criteria.where("category").is(query.getCategory()));
+        }
+        if (query.getSupplier() != null && !query.getSupplier().isBlank()) {
+            clauses.add(Criteria.where("supplier").is(query.getSupplier()));
+        }
+        if (query.getStockStatus() != null) {
+            clauses.add(stockStatusCriteria(query.getStockStatus()));
+        }
+        if (query.getText() != null && !query.getText().isBlank()) {
+            Pattern pattern = Pattern.compile(Pattern.quote(query.getText().trim()), Pattern.CASE_INSENSITIVE);
+            clauses.add(new Criteria().orOperator(
+                Criteria.where("name").regex(pattern),
+                Criteria.where("code").regex(pattern)));
+        }
+        if (applyCursor && query.hasCursor()) {
+            clauses.add(keysetCriteria(query));
+        }
+
+        if (clauses.isEmpty()) {
+            return new Criteria();
+        }
+        return clauses.size() == 1 ? clauses.get(0) : new Criteria().andOperator(clauses);
+    }
+
+    private Criteria stockStatusCriteria(ProductQueryDTO.StockStatus status) {
+        switch (status) {
+            case OUT:
+                return Criteria.where("currentStock").lte(0);
+            case OK:
+                return Criteria.where("lowStock").is(false);
+            case LOW:
+            default:
+                return Criteria.where("lowStock").is(true);
+        }
+    }
+
+    // (field, _id) > (afterValue, afterId) in the requested direction
+    private Criteria keysetCriteria(ProductQueryDTO query) {
+        String field = query.getSort().getField();
+        Object value = query.getAfterValue();
+        Object id = ObjectId.isValid(query.getAfterId()) ? new ObjectId(query.getAfterId()) : query.getAfterId();
+        boolean desc = query.getDirection() == ProductQueryDTO.SortDirection.DESC;
+
+        // Null sorts before every other value in MongoDB
+        if (value == null) {
+            Criteria sameValue = new Criteria().andOperator(
+                Criteria.where(field).is(null),
+                desc ? Criteria.where("_id").lt(id) : Criteria.where("_id").gt(id));
+            return desc ? sameValue : new Criteria().orOperator(Criteria.where(field).ne(null), sameValue);
+        }
+
+        Criteria beyondValue = desc ? Criteria.where(field).lt(value) : Criteria.where(field).gt(value);
+        Criteria sameValue = new Criteria().andOperator(
+            Criteria.where(field).is(value),
+            desc ? Criteria.where("_id").lt(id) : Criteria.where("_id").gt(id));
+        return new Criteria().orOperator(beyondValue, sameValue);
+    }
+}
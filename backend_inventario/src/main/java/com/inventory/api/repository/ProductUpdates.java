@@ -0,0 +1,70 @@
+package com.inventory.api.repository;
+
+import com.inventory.api.model.Product;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import java.util.List;
+
+/**
+ * Pipeline updates shared by the blocking and reactive product repositories.
+ * Every update that touches the stock or the minimum recomputes the derived
+ * low-stock state in the same write, and every update bumps the revision.
+ */
+public final class ProductUpdates {
+
+    private ProductUpdates() {}
+
+    /** Sets the stock, given as a value or an expression such as {@link #incrementedStock}. */
+    public static AggregationUpdate setStock(Object newStock) {
+        Document stock = new Document("currentStock", newStock).append("updatedAt", "$$NOW")
+            .append("revision", nextRevision());
+        return AggregationUpdate.from(List.of(setStage(stock), setStage(stockState())));
+    }
+
+    public static Document incrementedStock(int delta) {
+        return new Document("$add", List.of("$currentStock", delta));
+    }
+
+    /** Writes the editable fields of the product, leaving the stock as stored. */
+    public static AggregationUpdate setDetails(Product product) {
+        // Pipeline stages read "$..." strings as field paths, so user text goes in as literals
+        Document fields = new Document("code", literal(product.getCode()))
+            .append("name", literal(product.getName()))
+            .append("description", literal(product.getDescription()))
+            .append("category", literal(product.getCategory()))
+            .append("supplier", literal(product.getSupplier()))
+            .append("purchasePrice", product.getPurchasePrice())
+            .append("salePrice", product.getSalePrice())
+            .append("unit", literal(product.getUnit()))
+            .append("minimumStock", product.getMinimumStock())
+            .append("updatedAt", "$$NOW")
+            .append("revision", nextRevision());
+        return AggregationUpdate.from(List.of(setStage(fields), setStage(stockState())));
+    }
+
+    public static AggregationUpdate refreshStockState() {
+        return AggregationUpdate.from(List.of(setStage(stockState().append("revision", nextRevision()))));
+    }
+
+    // Documents written before the field existed start from zero
+    private static Document nextRevision() {
+        return new Document("$add", List.of(new Document("$ifNull", List.of("$revision", 0L)), 1L));
+    }
+
+    // Mirrors Product#updateStockState: low when stock <= minimumStock, never low without a minimum
+    private static Document stockState() {
+        Document stock = new Document("$ifNull", List.of("$currentStock", 0));
+        return new Document("lowStock", new Document("$lte", List.of(stock, "$minimumStock")))
+            .append("shortfall", new Document("$max", List.of(0,
+                new Document("$subtract", List.of("$minimumStock", stock)))));
+    }
+
+    private static Document literal(Object value) {
+        return new Document("$literal", value);
+    }
+
+    private static AggregationOperation setStage(Document fields) {
+        return context -> new Document("$set", fields);
+    }
+}
@@ -0,0 +1,12 @@
+package com.inventory.api.repository.reactive;
+
+import com.inventory.api.model.Category;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveCategoryRepository extends ReactiveMongoRepository<Category, String> {
+    Mono<Category> findByName(String name);
+    Mono<Boolean> existsByName(String name);
+}
@@ -0,0 +1,25 @@
+package com.inventory.api.repository.reactive;
+
+import com.inventory.api.model.InventoryMovement;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import java.time.LocalDateTime;
+
+@Repository
+public interface ReactiveInventoryMovementRepository extends ReactiveMongoRepository<InventoryMovement, String>,
+        ReactiveInventoryMovementRepositoryCustom {
+
+    Flux<InventoryMovement> findByProductIdOrderByDateDesc(String productId);
+
+    Flux<InventoryMovement> findByType(InventoryMovement.MovementType type);
+
+    @Query("{ 'date': { $gte: ?0, $lte: ?1 } }")
+    Flux<InventoryMovement> findByDateBetween(LocalDateTime startDate, LocalDateTime endDate);
+
+    @Query("{ 'date': { $gte: ?0 } }")
+    Flux<InventoryMovement> findRecentMovements(LocalDateTime since);
+
+    Flux<InventoryMovement> findTop10ByOrderByDateDesc();
+}
@@ -0,0 +1,16 @@
+package com.inventory.api.repository.reactive;
+
+import com.inventory.api.model.InventoryMovement;
+import org.springframework.data.domain.Sort;
+import reactor.core.publisher.Flux;
+import java.time.LocalDateTime;
+
+/**
+ * Reactive counterpart of
+ * {@link com.inventory.api.repository.InventoryMovementRepositoryCustom#findArchived}
+ * for the product and date filters.
+ */
+public interface ReactiveInventoryMovementRepositoryCustom {
+
+    Flux<InventoryMovement> findArchived(String productId, LocalDateTime startDate, LocalDateTime endDate, Sort sort);
+}
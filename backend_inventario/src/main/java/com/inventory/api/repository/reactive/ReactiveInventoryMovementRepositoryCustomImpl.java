@@ -0,0 +1,37 @@
+package com.inventory.api.repository.reactive;
+
+import com.inventory.api.model.ArchivedMovement;
+import com.inventory.api.model.InventoryMovement;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import java.time.LocalDateTime;
+
+public class ReactiveInventoryMovementRepositoryCustomImpl implements ReactiveInventoryMovementRepositoryCustom {
+
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Override
+    public Flux<InventoryMovement> findArchived(String productId, LocalDateTime startDate, LocalDateTime endDate,
+                                                Sort sort) {
+        Criteria criteria = new Criteria();
+        if (productId != null && !productId.isBlank()) {
+            criteria = criteria.and("productId").is(productId);
+        }
+        if (startDate != null || endDate != null) {
+            Criteria date = criteria.and("date");
+            if (startDate != null) {
+                date.gte(startDate);
+            }
+            if (endDate != null) {
+                date.lte(endDate);
+            }
+        }
+        return reactiveMongoTemplate.find(new Query(criteria).with(sort), InventoryMovement.class,
+            reactiveMongoTemplate.getCollectionName(ArchivedMovement.class));
+    }
+}
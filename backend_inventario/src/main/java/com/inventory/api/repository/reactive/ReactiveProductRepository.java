@@ -0,0 +1,23 @@
+package com.inventory.api.repository.reactive;
+
+import com.inventory.api.model.Product;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveProductRepository extends ReactiveMongoRepository<Product, String>, ReactiveProductRepositoryCustom {
+
+    Mono<Product> findByCode(String code);
+
+    Flux<Product> findByCategory(String category);
+
+    Flux<Product> findBySupplier(String supplier);
+
+    @Query(value = "{ 'lowStock': true }", sort = "{ 'shortfall': -1 }")
+    Flux<Product> findLowStockProducts();
+
+    Mono<Boolean> existsByCode(String code);
+}
@@ -0,0 +1,18 @@
+package com.inventory.api.repository.reactive;
+
+import com.inventory.api.model.Product;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterparts of the atomic stock writes in
+ * {@link com.inventory.api.repository.ProductRepositoryCustom}, with the same
+ * guards and results; "null" there is an empty {@code Mono} here.
+ */
+public interface ReactiveProductRepositoryCustom {
+
+    Mono<Product> adjustStock(String id, int delta);
+
+    Mono<Product> replaceStock(String id, int newStock);
+
+    Mono<Product> updateDetails(Product product);
+}
@@ -0,0 +1,37 @@
+package com.inventory.api.repository.reactive;
+
+import com.inventory.api.model.Product;
+import com.inventory.api.repository.ProductUpdates;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Mono;
+
+public class ReactiveProductRepositoryCustomImpl implements ReactiveProductRepositoryCustom {
+
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Override
+    public Mono<Product> adjustStock(String id, int delta) {
+        Query query = new Query(Criteria.where("_id").is(id).and("currentStock").gte(-delta));
+        return reactiveMongoTemplate.findAndModify(query, ProductUpdates.setStock(ProductUpdates.incrementedStock(delta)),
+            FindAndModifyOptions.options().returnNew(true), Product.class);
+    }
+
+    @Override
+    public Mono<Product> replaceStock(String id, int newStock) {
+        Query query = new Query(Criteria.where("_id").is(id));
+        return reactiveMongoTemplate.findAndModify(query, ProductUpdates.setStock(newStock),
+            FindAndModifyOptions.options().returnNew(false), Product.class);
+    }
+
+    @Override
+    public Mono<Product> updateDetails(Product product) {
+        Query query = new Query(Criteria.where("_id").is(product.getId()));
+        return reactiveMongoTemplate.findAndModify(query, ProductUpdates.setDetails(product),
+            FindAndModifyOptions.options().returnNew(true), Product.class);
+    }
+}
@@ -0,0 +1,12 @@
+package com.inventory.api.repository.reactive;
+
+import com.inventory.api.model.Supplier;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveSupplierRepository extends ReactiveMongoRepository<Supplier, String> {
+    Mono<Supplier> findByName(String name);
+    Mono<Boolean> existsByName(String name);
+}
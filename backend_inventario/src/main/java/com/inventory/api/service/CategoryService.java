@@ -2,17 +2,28 @@ package com.inventory.api.service;
 
 import com.inventory.api.model.Category;
 import com.inventory.api.repository.CategoryRepository;
+import com.inventory.api.config.CacheConfig;
+import com.inventory.api.config.MetricsConfig;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import java.util.List;
 import java.util.Optional;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class CategoryService {
 
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private CollectionVersions versions;
+
+    @Cacheable(CacheConfig.CATEGORIES)
     public List<Category> getAllCategories() {
         return categoryRepository.findAll();
     }
@@ -25,13 +36,25 @@ public class CategoryService {
         return categoryRepository.findByName(name);
     }
 
+    // Evicted on both sides of the write: a read that started before it can still cache the old list
+    // once the write is done, which the short TTL bounds
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.CATEGORIES, allEntries = true, beforeInvocation = true),
+        @CacheEvict(cacheNames = CacheConfig.CATEGORIES, allEntries = true)
+    })
     public Category createCategory(Category category) {
         if (categoryRepository.existsByName(category.getName())) {
             throw new RuntimeException("Ya existe una categoría con el nombre: " + category.getName());
         }
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        versions.bump(CollectionVersions.Collection.CATEGORIES);
+        return saved;
     }
 
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.CATEGORIES, allEntries = true, beforeInvocation = true),
+        @CacheEvict(cacheNames = CacheConfig.CATEGORIES, allEntries = true)
+    })
     public Category updateCategory(String id, Category category) {
         Category existingCategory = categoryRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Categoría no encontrada con ID: " + id));
@@ -44,13 +67,20 @@ public class CategoryService {
         existingCategory.setName(category.getName());
         existingCategory.setDescription(category.getDescription());
 
-        return categoryRepository.save(existingCategory);
+        Category saved = categoryRepository.save(existingCategory);
+        versions.bump(CollectionVersions.Collection.CATEGORIES);
+        return saved;
     }
 
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.CATEGORIES, allEntries = true, beforeInvocation = true),
+        @CacheEvict(cacheNames = CacheConfig.CATEGORIES, allEntries = true)
+    })
     public void deleteCategory(String id) {
         if (!categoryRepository.existsById(id)) {
             throw new RuntimeException("Categoría no encontrada con ID: " + id);
         }
         categoryRepository.deleteById(id);
+        versions.bump(CollectionVersions.Collection.CATEGORIES);
     }
 }
\ No newline at end of file
@@ -0,0 +1,188 @@
+package com.inventory.api.service;
+
+import com.inventory.api.dto.ChangeEventDTO;
+import com.inventory.api.model.InventoryMovement;
+import com.inventory.api.model.Product;
+import com.inventory.api.config.MetricsConfig;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Server-sent change feed so clients can apply deltas instead of reloading
+ * lists. Every event gets a sequence number and is kept in a bounded replay
+ * buffer, which lets a client resume from its {@code Last-Event-ID}. Each
+ * subscriber has its own bounded queue drained by a small dispatch pool; a
+ * subscriber that falls a full queue behind is disconnected and can resume
+ * from the buffer when it reconnects, so one slow client never holds up the
+ * writers or the other subscribers. A resume is sent by the dispatch pool
+ * ahead of the queue, so the queue only has to hold the live events that
+ * arrive meanwhile, however far behind the client reconnected.
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class ChangeFeedService {
+
+    private final int replaySize;
+    private final int queueSize;
+    private final long timeoutMs;
+
+    private final Object lock = new Object();
+    // Ring buffer of the last `replaySize` events; event n lives at n % replaySize
+    private final ChangeEventDTO[] replay;
+    // Ids start from the boot time so ids handed out before a restart can never be resumed from
+    private final long firstId;
+    private long lastId;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ExecutorService dispatcher;
+
+    private static final class Subscriber extends SseSubscriber {
+        private final Set<String> categories;
+        private final Set<String> productIds;
+
+        private Subscriber(SseEmitter emitter, int queueSize, ExecutorService dispatcher,
+                           List<Subscriber> subscribers, Set<String> categories, Set<String> productIds) {
+            super(emitter, queueSize, dispatcher, subscribers::remove);
+            this.categories = categories;
+            this.productIds = productIds;
+        }
+
+        private boolean accepts(ChangeEventDTO event) {
+            return (categories.isEmpty() || categories.contains(event.getCategory()))
+                && (productIds.isEmpty() || productIds.contains(event.getProductId()));
+        }
+    }
+
+    public ChangeFeedService(@Value("${inventory.changes.replay-size:10000}") int replaySize,
+                             @Value("${inventory.changes.subscriber-queue-size:1000}") int queueSize,
+                             @Value("${inventory.changes.dispatch-threads:4}") int dispatchThreads,
+                             @Value("${inventory.changes.sse-timeout-ms:1800000}") long timeoutMs) {
+        this.replaySize = replaySize;
+        this.queueSize = queueSize;
+        this.timeoutMs = timeoutMs;
+        this.replay = new ChangeEventDTO[replaySize];
+        this.lastId = System.currentTimeMillis() * 1000;
+        this.firstId = lastId + 1;
+        this.dispatcher = Executors.newFixedThreadPool(dispatchThreads, runnable -> {
+            Thread thread = new Thread(runnable, "change-feed");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+    }
+
+    public void productUpserted(Product product) {
+        ChangeEventDTO event = new ChangeEventDTO(ChangeEventDTO.Type.PRODUCT_UPSERTED,
+            product.getId(), product.getCategory());
+        event.setProduct(product);
+        publish(event);
+    }
+
+    public void productDeleted(Product product) {
+        publish(new ChangeEventDTO(ChangeEventDTO.Type.PRODUCT_DELETED, product.getId(), product.getCategory()));
+    }
+
+    public void stockChanged(Product product, int previousStock) {
+        ChangeEventDTO event = new ChangeEventDTO(ChangeEventDTO.Type.STOCK_CHANGED,
+            product.getId(), product.getCategory());
+        event.setPreviousStock(previousStock);
+        event.setNewStock(product.getCurrentStock());
+        publish(event);
+    }
+
+    public void movementRecorded(InventoryMovement movement, String category) {
+        ChangeEventDTO event = new ChangeEventDTO(ChangeEventDTO.Type.MOVEMENT_CREATED,
+            movement.getProductId(), category);
+        event.setMovement(movement);
+        publish(event);
+    }
+
+    /**
+     * Opens a feed limited to the given categories and products (empty means
+     * all). With {@code lastEventId} the events after it are replayed first;
+     * when they are no longer buffered a single {@code reset} event tells the
+     * client to reload before applying further deltas.
+     */
+    public SseEmitter subscribe(Set<String> categories, Set<String> productIds, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, queueSize, dispatcher, subscribers, categories, productIds);
+
+        // Registering under the lock orders the replay strictly before any live event; only the
+        // references are copied here, the dispatch pool sends them once the lock is released
+        boolean replaying = false;
+        synchronized (lock) {
+            if (lastEventId != null && lastEventId != lastId) {
+                long oldest = Math.max(firstId, lastId - replaySize + 1);
+                if (lastEventId + 1 < oldest || lastEventId > lastId) {
+                    subscriber.offer(SseEmitter.event().id(String.valueOf(lastId)).name("reset").data(lastId).build());
+                } else {
+                    List<ChangeEventDTO> backlog = new ArrayList<>();
+                    for (long id = lastEventId + 1; id <= lastId; id++) {
+                        ChangeEventDTO event = replay[(int) (id % replaySize)];
+                        if (subscriber.accepts(event)) {
+                            backlog.add(event);
+                        }
+                    }
+                    subscriber.startWith(() -> backlog.stream().map(ChangeFeedService::toSse).iterator());
+                    replaying = !backlog.isEmpty();
+                }
+            }
+            subscribers.add(subscriber);
+        }
+        if (replaying) {
+            subscriber.start();
+        }
+        return emitter;
+    }
+
+    // Keeps idle connections open through proxies and detects clients that went away
+    @Scheduled(fixedDelayString = "${inventory.changes.heartbeat-ms:15000}")
+    public void heartbeat() {
+        Set<ResponseBodyEmitter.DataWithMediaType> heartbeat = SseEmitter.event().comment("heartbeat").build();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(heartbeat);
+        }
+    }
+
+    private void publish(ChangeEventDTO event) {
+        List<Subscriber> targets = new ArrayList<>();
+        Set<ResponseBodyEmitter.DataWithMediaType> sse;
+        synchronized (lock) {
+            event.setId(++lastId);
+            replay[(int) (lastId % replaySize)] = event;
+            sse = toSse(event);
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.accepts(event)) {
+                    targets.add(subscriber);
+                }
+            }
+            // Offering inside the lock keeps every subscriber's queue in id order
+            for (Subscriber subscriber : targets) {
+                subscriber.offer(sse);
+            }
+        }
+    }
+
+    private static Set<ResponseBodyEmitter.DataWithMediaType> toSse(ChangeEventDTO event) {
+        return SseEmitter.event()
+            .id(String.valueOf(event.getId()))
+            .name(event.getType().name().toLowerCase(Locale.ROOT).replace('_', '-'))
+            .data(event)
+            .build();
+    }
+}
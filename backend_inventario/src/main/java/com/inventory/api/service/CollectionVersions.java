@@ -0,0 +1,69 @@
+package com.inventory.api.service;
+
+import org.springframework.stereotype.Service;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Write counters behind the weak ETags of the read endpoints. Every write
+ * through the services bumps the counter of its collection, and product writes
+ * also bump the product's stripe, so a poll whose ETag still matches can be
+ * answered with 304 before any query. The counters live in memory: each
+ * process tags with its own random epoch, so a restart or another instance
+ * never matches a tag it did not issue, and writes made outside the services
+ * are not seen.
+ */
+@Service
+public class CollectionVersions {
+
+    public enum Collection {
+        PRODUCTS, CATEGORIES, SUPPLIERS, MOVEMENTS
+    }
+
+    // Products share striped counters; a collision only costs an unnecessary full response
+    private static final int PRODUCT_STRIPES = 1 << 16;
+
+    private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong() ^ System.nanoTime());
+    private final AtomicLongArray versions = new AtomicLongArray(Collection.values().length);
+    private final AtomicLongArray productVersions = new AtomicLongArray(PRODUCT_STRIPES);
+
+    public void bump(Collection collection) {
+        versions.incrementAndGet(collection.ordinal());
+    }
+
+    public void productChanged(String productId) {
+        productVersions.incrementAndGet(stripe(productId));
+        bump(Collection.PRODUCTS);
+    }
+
+    public long version(Collection collection) {
+        return versions.get(collection.ordinal());
+    }
+
+    public String etag(Collection collection) {
+        return tag(collection.name().toLowerCase(Locale.ROOT), version(collection));
+    }
+
+    public String productEtag(String productId) {
+        return tag("product", productVersions.get(stripe(productId)));
+    }
+
+    /**
+     * A weak ETag for a resource derived from the given counters. Weak because
+     * the JSON, Smile and CBOR bodies of one version share it: they are the
+     * same data, not the same bytes.
+     */
+    public String tag(String resource, long... counters) {
+        StringBuilder tag = new StringBuilder().append("W/\"").append(resource).append('-').append(epoch);
+        for (long counter : counters) {
+            tag.append('-').append(counter);
+        }
+        return tag.append('"').toString();
+    }
+
+    private static int stripe(String productId) {
+        int hash = productId != null ? productId.hashCode() : 0;
+        return (hash ^ (hash >>> 16)) & (PRODUCT_STRIPES - 1);
+    }
+}
@@ -0,0 +1,425 @@
+package com.inventory.api.service;
+
+import com.inventory.api.dto.DashboardStatsDTO;
+import com.inventory.api.model.InventoryMovement;
+import com.inventory.api.model.Product;
+import com.inventory.api.config.MetricsConfig;
+import io.micrometer.core.annotation.Timed;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the dashboard figures in memory and updates them on every product and
+ * movement write, so that reading them never scans the collections. A periodic
+ * reconciliation recomputes everything from MongoDB to correct any drift, e.g.
+ * from writes that bypass the services such as {@code DataInitializer}. Product
+ * writes are tracked from before their MongoDB call until their hook has run,
+ * and the product scan is only kept if none was in flight, started or finished
+ * while it ran. Movements are counted up to a read point once those dated
+ * before it have had {@code reconcile-settle-ms} to land, as in
+ * {@link MovementRollupService#rebuild}; live movements recorded meanwhile are
+ * replayed on top unless the scan returned their id, and the scanned ids near
+ * the read point are remembered so a late hook cannot count them again.
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class DashboardAggregateService {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardAggregateService.class);
+
+    static final int RECENT_MOVEMENT_DAYS = 7;
+    private static final long MILLIS_PER_HOUR = 3_600_000L;
+    private static final long WINDOW_HOURS = RECENT_MOVEMENT_DAYS * 24L;
+    private static final int MAX_SCAN_ATTEMPTS = 3;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${inventory.dashboard.reconcile-settle-ms:2000}")
+    private long reconcileSettleMs;
+
+    private final Object lock = new Object();
+    // Not a monitor: a reconciliation waits on MongoDB and would pin a virtual thread's carrier
+    private final Lock reconcileLock = new ReentrantLock();
+    private Totals totals = new Totals();
+    // Epoch hour -> number of movements recorded in that hour
+    private TreeMap<Long, Long> movementBuckets = new TreeMap<>();
+    // Product writes between the start of their MongoDB call and the end of their hook, and a count bumped
+    // whenever one starts or finishes, so a scan can tell whether any overlapped it
+    private int productWritesInFlight;
+    private long productWrites;
+    // Non-null while the movement scan runs; id -> date of every movement recorded meanwhile
+    private Map<String, LocalDateTime> pendingMovements;
+    // Ids the last scan counted near its read point, whose hooks may still be on their way
+    private Set<String> scannedIds = new HashSet<>();
+    private boolean initialized;
+    // Bumped by every reconciliation that replaces the figures, so cached copies can tell
+    private long generation;
+
+    /** Contribution of a single product to the aggregate, captured before it is modified. */
+    public static final class Contribution {
+        private final String category;
+        private final double value;
+        private final boolean lowStock;
+
+        private Contribution(Product product) {
+            this(product, product.getCurrentStock() != null ? product.getCurrentStock() : 0);
+        }
+
+        private Contribution(Product product, int stock) {
+            this.category = product.getCategory();
+            double price = product.getSalePrice() != null ? product.getSalePrice() : 0.0;
+            this.value = stock * price;
+            this.lowStock = product.getMinimumStock() != null && stock <= product.getMinimumStock();
+        }
+    }
+
+    private static final class Totals {
+        private long products;
+        private double value;
+        private long lowStock;
+        private final Map<String, Long> categories = new HashMap<>();
+
+        private void apply(Contribution contribution, int sign) {
+            products += sign;
+            value += sign * contribution.value;
+            if (contribution.lowStock) {
+                lowStock += sign;
+            }
+            if (contribution.category != null) {
+                categories.merge(contribution.category, (long) sign, Long::sum);
+                if (categories.get(contribution.category) == 0) {
+                    categories.remove(contribution.category);
+                }
+            }
+        }
+    }
+
+    public Contribution capture(Product product) {
+        return new Contribution(product);
+    }
+
+    /**
+     * Runs a product write together with its hooks, so that a reconciliation
+     * scan overlapping any part of it is discarded instead of counting the
+     * write once from MongoDB and once more from the hook.
+     */
+    public <T> T trackProductWrite(Supplier<T> write) {
+        productWriteStarted();
+        try {
+            return write.get();
+        } finally {
+            productWriteFinished();
+        }
+    }
+
+    /** As {@link #trackProductWrite(Supplier)}, from subscription until the write and its hooks complete. */
+    public <T> Mono<T> trackProductWrite(Mono<T> write) {
+        return Mono.defer(() -> {
+            productWriteStarted();
+            return write.doFinally(signal -> productWriteFinished());
+        });
+    }
+
+    private void productWriteStarted() {
+        synchronized (lock) {
+            productWritesInFlight++;
+            productWrites++;
+        }
+    }
+
+    private void productWriteFinished() {
+        synchronized (lock) {
+            productWritesInFlight--;
+            productWrites++;
+        }
+    }
+
+    public void productCreated(Product product) {
+        Contribution added = new Contribution(product);
+        synchronized (lock) {
+            apply(added, 1);
+        }
+    }
+
+    public void productChanged(Contribution before, Product after) {
+        Contribution added = new Contribution(after);
+        synchronized (lock) {
+            apply(before, -1);
+            apply(added, 1);
+        }
+    }
+
+    public void stockChanged(Product product, int previousStock) {
+        Contribution removed = new Contribution(product, previousStock);
+        Contribution added = new Contribution(product);
+        synchronized (lock) {
+            apply(removed, -1);
+            apply(added, 1);
+        }
+    }
+
+    public void productDeleted(Product product) {
+        Contribution removed = new Contribution(product);
+        synchronized (lock) {
+            apply(removed, -1);
+        }
+    }
+
+    public void movementRecorded(InventoryMovement movement) {
+        LocalDateTime date = movement.getDate() != null ? movement.getDate() : LocalDateTime.now();
+        long hour = epochHour(date);
+        synchronized (lock) {
+            if (movement.getId() != null && scannedIds.remove(movement.getId())) {
+                // Already counted by the last scan
+                return;
+            }
+            movementBuckets.merge(hour, 1L, Long::sum);
+            if (pendingMovements != null && movement.getId() != null) {
+                pendingMovements.put(movement.getId(), date);
+            }
+        }
+    }
+
+    public DashboardStatsDTO getStats() {
+        ensureInitialized();
+
+        long windowStart = epochHour(LocalDateTime.now()) - WINDOW_HOURS;
+        synchronized (lock) {
+            movementBuckets.headMap(windowStart).clear();
+            long recentMovements = movementBuckets.values().stream().mapToLong(Long::longValue).sum();
+
+            List<DashboardStatsDTO.CategoryStatsDTO> categories = new ArrayList<>();
+            totals.categories.forEach((name, count) ->
+                categories.add(new DashboardStatsDTO.CategoryStatsDTO(name, count.intValue())));
+
+            return new DashboardStatsDTO((int) totals.products, totals.value, (int) totals.lowStock,
+                (int) recentMovements, categories);
+        }
+    }
+
+    public long getGeneration() {
+        synchronized (lock) {
+            return generation;
+        }
+    }
+
+    static long currentEpochHour() {
+        return epochHour(LocalDateTime.now());
+    }
+
+    // No request is served before the application is ready, so there is nothing to wait for
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reconcile(false);
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.dashboard.reconcile-interval-ms:300000}",
+               initialDelayString = "${inventory.dashboard.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        reconcile(true);
+    }
+
+    private void reconcile(boolean settle) {
+        reconcileLock.lock();
+        try {
+            Totals computed = null;
+            boolean settled = false;
+            MovementScan scan;
+            LocalDateTime readPoint;
+            LocalDateTime tailStart;
+            try {
+                // A product write overlapping the scan may or may not be in it, so such a scan is retried
+                for (int attempt = 1; attempt <= MAX_SCAN_ATTEMPTS && !settled; attempt++) {
+                    long writesBefore;
+                    boolean idle;
+                    synchronized (lock) {
+                        writesBefore = productWrites;
+                        idle = productWritesInFlight == 0;
+                    }
+                    computed = computeTotals();
+                    synchronized (lock) {
+                        settled = idle && productWrites == writesBefore;
+                    }
+                }
+
+                readPoint = LocalDateTime.now();
+                synchronized (lock) {
+                    pendingMovements = new LinkedHashMap<>();
+                }
+                // Movements are dated when built, a moment before they are written; let those before the mark land
+                if (settle) {
+                    awaitSettle();
+                }
+                tailStart = readPoint.minus(Duration.ofMillis(reconcileSettleMs));
+                scan = computeMovementBuckets(readPoint, tailStart);
+            } catch (RuntimeException e) {
+                synchronized (lock) {
+                    pendingMovements = null;
+                }
+                log.warn("Dashboard reconciliation failed", e);
+                return;
+            }
+
+            synchronized (lock) {
+                // Movements recorded during the scan are added unless it counted them already; those dated
+                // before the tail had landed long before it and are in it
+                Set<String> lateHooks = new HashSet<>(scan.tailIds);
+                pendingMovements.forEach((id, date) -> {
+                    if (!lateHooks.remove(id) && !date.isBefore(tailStart)) {
+                        scan.buckets.merge(epochHour(date), 1L, Long::sum);
+                    }
+                });
+                movementBuckets = scan.buckets;
+                pendingMovements = null;
+                scannedIds = lateHooks;
+
+                if (settled) {
+                    if (initialized && (computed.products != totals.products || computed.lowStock != totals.lowStock)) {
+                        log.info("Dashboard aggregate drift corrected: products {} -> {}, low stock {} -> {}",
+                            totals.products, computed.products, totals.lowStock, computed.lowStock);
+                    }
+                    totals = computed;
+                } else if (!initialized) {
+                    // Nothing better to start from; the next pass corrects the writes it overlapped
+                    totals = computed;
+                } else {
+                    log.debug("Product writes overlapped every dashboard scan; totals kept until the next pass");
+                }
+                initialized = true;
+                generation++;
+            }
+        } finally {
+            reconcileLock.unlock();
+        }
+    }
+
+    private void ensureInitialized() {
+        boolean ready;
+        synchronized (lock) {
+            ready = initialized;
+        }
+        if (!ready) {
+            reconcile();
+        }
+    }
+
+    private void apply(Contribution contribution, int sign) {
+        totals.apply(contribution, sign);
+        // Also catches hooks of writes that were not tracked
+        productWrites++;
+    }
+
+    private void awaitSettle() {
+        try {
+            Thread.sleep(reconcileSettleMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Conciliación del panel interrumpida");
+        }
+    }
+
+    private Totals computeTotals() {
+        Totals computed = new Totals();
+
+        Aggregation byCategory = Aggregation.newAggregation(
+            Aggregation.project("category")
+                .and(ArithmeticOperators.Multiply.valueOf(
+                        ConditionalOperators.ifNull("currentStock").then(0))
+                    .multiplyBy(ConditionalOperators.ifNull("salePrice").then(0)))
+                .as("value")
+                .and(ConditionalOperators.when(
+                        ComparisonOperators.Eq.valueOf("lowStock").equalToValue(true))
+                    .then(1).otherwise(0))
+                .as("low"),
+            Aggregation.group("category")
+                .count().as("count")
+                .sum("value").as("value")
+                .sum("low").as("low"));
+
+        for (Document row : mongoTemplate.aggregate(byCategory, Product.class, Document.class)) {
+            long count = ((Number) row.get("count")).longValue();
+            computed.products += count;
+            computed.value += ((Number) row.get("value")).doubleValue();
+            computed.lowStock += ((Number) row.get("low")).longValue();
+            String category = row.getString("_id");
+            if (category != null) {
+                computed.categories.put(category, count);
+            }
+        }
+        return computed;
+    }
+
+    private static final class MovementScan {
+        private final TreeMap<Long, Long> buckets = new TreeMap<>();
+        // Ids of the counted movements dated from the tail start on
+        private final Set<String> tailIds = new HashSet<>();
+    }
+
+    // Hourly counts up to the read point and, in the same read, the ids of the movements near it
+    private MovementScan computeMovementBuckets(LocalDateTime readPoint, LocalDateTime tailStart) {
+        LocalDateTime since = readPoint.minusDays(RECENT_MOVEMENT_DAYS);
+
+        Aggregation byHour = Aggregation.newAggregation(
+            Aggregation.match(Criteria.where("date").gte(since).lt(readPoint)),
+            Aggregation.facet(
+                    Aggregation.project()
+                        .and(ArithmeticOperators.Floor.floorValueOf(
+                                ArithmeticOperators.Divide.valueOf(ConvertOperators.ToLong.toLong("$date"))
+                                    .divideBy(MILLIS_PER_HOUR)))
+                        .as("hour"),
+                    Aggregation.group("hour").count().as("count"))
+                .as("buckets")
+                .and(
+                    Aggregation.match(Criteria.where("date").gte(tailStart)),
+                    Aggregation.project("_id"))
+                .as("tail"));
+
+        MovementScan scan = new MovementScan();
+        Document result = mongoTemplate.aggregate(byHour, InventoryMovement.class, Document.class)
+            .getUniqueMappedResult();
+        if (result == null) {
+            return scan;
+        }
+        for (Document row : result.getList("buckets", Document.class)) {
+            scan.buckets.put(((Number) row.get("_id")).longValue(), ((Number) row.get("count")).longValue());
+        }
+        for (Document row : result.getList("tail", Document.class)) {
+            scan.tailIds.add(String.valueOf(row.get("_id")));
+        }
+        return scan;
+    }
+
+    private static long epochHour(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() / MILLIS_PER_HOUR;
+    }
+}
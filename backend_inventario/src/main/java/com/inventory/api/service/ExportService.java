@@ -0,0 +1,170 @@
+package com.inventory.api.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.inventory.api.dto.ProductQueryDTO;
+import com.inventory.api.dto.StockAsOfDTO;
+import com.inventory.api.model.InventoryMovement;
+import com.inventory.api.model.Product;
+import com.inventory.api.repository.ProductRepository;
+import com.inventory.api.config.MetricsConfig;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes products and movements straight from a MongoDB cursor to the
+ * response as NDJSON or CSV, one document at a time. Output is flushed every
+ * few hundred rows so it reaches the client as chunks while memory stays
+ * constant. Rows are in {@code _id} order; passing the last received id as
+ * {@code after} resumes an interrupted export.
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class ExportService {
+
+    private static final String[] PRODUCT_COLUMNS = {
+        "id", "code", "name", "description", "category", "supplier", "purchasePrice",
+        "salePrice", "unit", "currentStock", "minimumStock", "createdAt", "updatedAt"
+    };
+
+    private static final String[] STOCK_AS_OF_COLUMNS = {
+        "productId", "productCode", "productName", "category", "unit", "stock", "purchasePrice", "stockValue"
+    };
+
+    private static final String[] MOVEMENT_COLUMNS = {
+        "id", "productId", "productCode", "productName", "type", "quantity",
+        "previousStock", "newStock", "date", "comments", "createdBy"
+    };
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockSnapshotService stockSnapshots;
+
+    @Autowired
+    private MovementArchiveService archive;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${inventory.export.flush-every-rows:500}")
+    private int flushEveryRows;
+
+    public enum ExportFormat {
+        NDJSON, CSV
+    }
+
+    public void exportProducts(ProductQueryDTO query, String afterId, ExportFormat format,
+                               boolean gzip, OutputStream out) throws IOException {
+        try (Stream<Product> products = productRepository.streamMatching(query, afterId)) {
+            write(products.iterator(), format, gzip, out, PRODUCT_COLUMNS, product -> new Object[] {
+                product.getId(), product.getCode(), product.getName(), product.getDescription(),
+                product.getCategory(), product.getSupplier(), product.getPurchasePrice(),
+                product.getSalePrice(), product.getUnit(), product.getCurrentStock(),
+                product.getMinimumStock(), product.getCreatedAt(), product.getUpdatedAt()
+            });
+        }
+    }
+
+    public void exportStockAsOf(LocalDateTime date, ExportFormat format, boolean gzip,
+                                OutputStream out) throws IOException {
+        try (Stream<StockAsOfDTO> rows = stockSnapshots.stockAsOf(date)) {
+            write(rows.iterator(), format, gzip, out, STOCK_AS_OF_COLUMNS, row -> new Object[] {
+                row.getProductId(), row.getProductCode(), row.getProductName(), row.getCategory(),
+                row.getUnit(), row.getStock(), row.getPurchasePrice(), row.getStockValue()
+            });
+        }
+    }
+
+    public void exportMovements(String productId, InventoryMovement.MovementType type, LocalDateTime startDate,
+                                LocalDateTime endDate, String afterId, ExportFormat format,
+                                boolean gzip, OutputStream out) throws IOException {
+        try (Stream<InventoryMovement> movements =
+                 archive.streamWithArchived(productId, type, startDate, endDate, afterId)) {
+            write(movements.iterator(), format, gzip, out, MOVEMENT_COLUMNS, movement -> new Object[] {
+                movement.getId(), movement.getProductId(), movement.getProductCode(),
+                movement.getProductName(), movement.getType(), movement.getQuantity(),
+                movement.getPreviousStock(), movement.getNewStock(), movement.getDate(),
+                movement.getComments(), movement.getCreatedBy()
+            });
+        }
+    }
+
+    private <T> void write(Iterator<T> rows, ExportFormat format, boolean gzip, OutputStream out,
+                           String[] columns, Function<T, Object[]> csvRow) throws IOException {
+        OutputStream target = gzip ? new GZIPOutputStream(out, 64 * 1024, true) : out;
+        if (format == ExportFormat.CSV) {
+            writeCsv(rows, target, columns, csvRow);
+        } else {
+            writeNdjson(rows, target);
+        }
+        if (gzip) {
+            ((GZIPOutputStream) target).finish();
+        }
+        out.flush();
+    }
+
+    private <T> void writeNdjson(Iterator<T> rows, OutputStream out) throws IOException {
+        // Flushing is done here in batches, not after every value
+        ObjectWriter rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        long count = 0;
+        while (rows.hasNext()) {
+            rowWriter.writeValue(generator, rows.next());
+            generator.writeRaw('\n');
+            if (++count % flushEveryRows == 0) {
+                generator.flush();
+            }
+        }
+        generator.flush();
+    }
+
+    private <T> void writeCsv(Iterator<T> rows, OutputStream out, String[] columns,
+                              Function<T, Object[]> csvRow) throws IOException {
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        writer.write(String.join(",", columns));
+        writer.write('\n');
+        long count = 0;
+        while (rows.hasNext()) {
+            Object[] values = csvRow.apply(rows.next());
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(csvField(values[i]));
+            }
+            writer.write('\n');
+            if (++count % flushEveryRows == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+    }
+
+    private static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
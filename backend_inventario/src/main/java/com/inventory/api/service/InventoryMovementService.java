@@ -2,25 +2,83 @@ package com.inventory.api.service;
 
 import com.inventory.api.model.InventoryMovement;
 import com.inventory.api.model.Product;
+import com.inventory.api.dto.MovementBatchResultDTO;
 import com.inventory.api.dto.MovementDTO;
+import com.inventory.api.repository.Fieldset;
 import com.inventory.api.repository.InventoryMovementRepository;
 import com.inventory.api.repository.ProductRepository;
+import com.inventory.api.config.MetricsConfig;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class InventoryMovementService {
 
+    private static final Logger log = LoggerFactory.getLogger(InventoryMovementService.class);
+
     @Autowired
     private InventoryMovementRepository movementRepository;
 
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private DashboardAggregateService dashboardAggregate;
+
+    @Autowired
+    private MovementRollupService rollupService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ChangeFeedService changeFeed;
+
+    @Autowired
+    private CollectionVersions versions;
+
+    @Autowired
+    private MovementArchiveService archive;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private AsyncTaskExecutor taskExecutor;
+
+    @Value("${inventory.movements.max-batch-size:10000}")
+    private int maxBatchSize;
+
+    @Value("${inventory.movements.batch-parallelism:8}")
+    private int batchParallelism;
+
     public List<InventoryMovement> getAllMovements() {
         return movementRepository.findAll();
     }
@@ -30,7 +88,8 @@ public class InventoryMovementService {
     }
 
     public List<InventoryMovement> getMovementsByProductId(String productId) {
-        return movementRepository.findByProductIdOrderByDateDesc(productId);
+        return archive.withArchived(movementRepository.findByProductIdOrderByDateDesc(productId),
+            productId, null, null, Sort.by(Sort.Direction.DESC, "date"), null);
     }
 
     public List<InventoryMovement> getMovementsByType(InventoryMovement.MovementType type) {
@@ -38,40 +97,364 @@ public class InventoryMovementService {
     }
 
     public List<InventoryMovement> getMovementsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        return movementRepository.findByDateBetween(startDate, endDate);
+        return archive.withArchived(movementRepository.findByDateBetween(startDate, endDate),
+            null, startDate, endDate, Sort.unsorted(), null);
     }
 
     public List<InventoryMovement> getRecentMovements(int days) {
         LocalDateTime since = LocalDateTime.now().minusDays(days);
-        return movementRepository.findRecentMovements(since);
+        return archive.withArchived(movementRepository.findRecentMovements(since),
+            null, since, null, Sort.unsorted(), null);
     }
 
     public List<InventoryMovement> getLatestMovements() {
         return movementRepository.findTop10ByOrderByDateDesc();
     }
 
-    @Transactional
+    public List<Map<String, Object>> getAllMovements(Fieldset fieldset) {
+        return fieldset.selectAll(movementRepository.findMatching(null, null, null, null,
+            Sort.unsorted(), 0, fieldset));
+    }
+
+    public List<Map<String, Object>> getMovementsByProductId(String productId, Fieldset fieldset) {
+        Sort sort = Sort.by(Sort.Direction.DESC, "date");
+        return fieldset.selectAll(archive.withArchived(
+            movementRepository.findMatching(productId, null, null, null, sort, 0, fieldset),
+            productId, null, null, sort, fieldset));
+    }
+
+    public List<Map<String, Object>> getMovementsByType(InventoryMovement.MovementType type, Fieldset fieldset) {
+        return fieldset.selectAll(movementRepository.findMatching(null, type, null, null,
+            Sort.unsorted(), 0, fieldset));
+    }
+
+    public List<Map<String, Object>> getMovementsByDateRange(LocalDateTime startDate, LocalDateTime endDate,
+                                                             Fieldset fieldset) {
+        return fieldset.selectAll(archive.withArchived(
+            movementRepository.findMatching(null, null, startDate, endDate, Sort.unsorted(), 0, fieldset),
+            null, startDate, endDate, Sort.unsorted(), fieldset));
+    }
+
+    public List<Map<String, Object>> getRecentMovements(int days, Fieldset fieldset) {
+        LocalDateTime since = LocalDateTime.now().minusDays(days);
+        return fieldset.selectAll(archive.withArchived(
+            movementRepository.findMatching(null, null, since, null, Sort.unsorted(), 0, fieldset),
+            null, since, null, Sort.unsorted(), fieldset));
+    }
+
+    public List<Map<String, Object>> getLatestMovements(Fieldset fieldset) {
+        return fieldset.selectAll(movementRepository.findMatching(null, null, null, null,
+            Sort.by(Sort.Direction.DESC, "date"), 10, fieldset));
+    }
+
     public InventoryMovement createMovement(MovementDTO movementDTO) {
-        Product product = productRepository.findById(movementDTO.getProductId())
-            .orElseThrow(() -> new RuntimeException("Producto no encontrado con ID: " + movementDTO.getProductId()));
+        int adjustedQuantity = adjustedQuantity(movementDTO);
 
-        Integer previousStock = product.getCurrentStock();
-        Integer quantity = movementDTO.getQuantity();
+        // Single guarded $inc: concurrent movements on the same product cannot lose updates
+        Product product = dashboardAggregate.trackProductWrite(() -> {
+            Product updated = productRepository.adjustStock(movementDTO.getProductId(), adjustedQuantity);
+            if (updated != null) {
+                productService.afterStockChange(updated, updated.getCurrentStock() - adjustedQuantity);
+            }
+            return updated;
+        });
+        if (product == null) {
+            Product existing = productRepository.findById(movementDTO.getProductId())
+                .orElseThrow(() -> new RuntimeException("Producto no encontrado con ID: " + movementDTO.getProductId()));
+            throw new RuntimeException("No se puede reducir el stock por debajo de 0. Stock actual: " + existing.getCurrentStock());
+        }
 
-        // Adjust quantity based on movement type
-        Integer adjustedQuantity = quantity;
-        if (movementDTO.getType() == InventoryMovement.MovementType.NEGATIVE_ADJUSTMENT) {
-            adjustedQuantity = -Math.abs(quantity);
+        int newStock = product.getCurrentStock();
+        int previousStock = newStock - adjustedQuantity;
+        InventoryMovement movement = buildMovement(product, movementDTO, adjustedQuantity, previousStock, newStock);
+
+        // Save movement
+        InventoryMovement saved = movementRepository.save(movement);
+        afterMovementSaved(saved, product.getCategory());
+        rollupService.recordMovement(saved);
+        return saved;
+    }
+
+    /**
+     * Applies a batch of movements with one product read, one guarded stock
+     * update per product and one movement insert. Items are evaluated in order
+     * against the stock read at the start. Each product's net delta is applied
+     * as a guarded increment, up to {@code batch-parallelism} products at a
+     * time, and its records are shifted by whatever concurrent writes changed
+     * in between, so they keep exact stock values; only products that no
+     * longer have enough stock fall back to the single-movement atomic path. A
+     * product whose update failed without a known outcome is never retried:
+     * its items are reported as {@code UNKNOWN_OUTCOME}, as are the items
+     * whose stock changed when the movement insert then fails.
+     */
+    public MovementBatchResultDTO createMovements(List<MovementDTO> movementDTOs) {
+        if (movementDTOs.size() > maxBatchSize) {
+            throw new RuntimeException("El lote supera el máximo de " + maxBatchSize + " movimientos");
+        }
+        return createMovements(movementDTOs, null);
+    }
+
+    // When given, accepted[i] receives the saved movement of every accepted item i
+    MovementBatchResultDTO createMovements(List<MovementDTO> movementDTOs, InventoryMovement[] accepted) {
+        MovementBatchResultDTO.ItemResultDTO[] results = new MovementBatchResultDTO.ItemResultDTO[movementDTOs.size()];
+
+        Set<String> productIds = new HashSet<>();
+        for (int i = 0; i < movementDTOs.size(); i++) {
+            MovementDTO dto = movementDTOs.get(i);
+            Set<ConstraintViolation<MovementDTO>> violations = dto == null ? Set.of() : validator.validate(dto);
+            if (dto == null || !violations.isEmpty()) {
+                String message = dto == null ? "Movimiento vacío" : violations.iterator().next().getMessage();
+                results[i] = new MovementBatchResultDTO.ItemResultDTO(i, MovementBatchResultDTO.Status.INVALID, message);
+            } else {
+                productIds.add(dto.getProductId());
+            }
+        }
+
+        Map<String, Product> products = new HashMap<>();
+        for (Product product : productRepository.findAllById(productIds)) {
+            products.put(product.getId(), product);
+        }
+
+        // Walk the items in order, tracking the running and the lowest stock of each product
+        Map<String, Integer> runningStock = new HashMap<>();
+        Map<String, Integer> lowestStock = new HashMap<>();
+        Map<Integer, InventoryMovement> pending = new LinkedHashMap<>();
+        for (int i = 0; i < movementDTOs.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            MovementDTO dto = movementDTOs.get(i);
+            Product product = products.get(dto.getProductId());
+            if (product == null) {
+                results[i] = new MovementBatchResultDTO.ItemResultDTO(i, MovementBatchResultDTO.Status.UNKNOWN_PRODUCT,
+                    "Producto no encontrado con ID: " + dto.getProductId());
+                continue;
+            }
+
+            int adjustedQuantity = adjustedQuantity(dto);
+            int previousStock = runningStock.getOrDefault(product.getId(), stockOf(product));
+            int newStock = previousStock + adjustedQuantity;
+            if (newStock < 0) {
+                results[i] = new MovementBatchResultDTO.ItemResultDTO(i,
+                    MovementBatchResultDTO.Status.REJECTED_INSUFFICIENT_STOCK,
+                    "No se puede reducir el stock por debajo de 0. Stock actual: " + previousStock);
+                continue;
+            }
+
+            runningStock.put(product.getId(), newStock);
+            lowestStock.merge(product.getId(), Math.min(stockOf(product), newStock), Math::min);
+            pending.put(i, buildMovement(product, dto, adjustedQuantity, previousStock, newStock));
+        }
+
+        // One guarded findAndModify per product, so the outcome and the stock it started from are known
+        // exactly; the products are shared out among up to batch-parallelism concurrent workers
+        Map<String, Integer> applied = new ConcurrentHashMap<>();
+        Map<String, Long> revisions = new ConcurrentHashMap<>();
+        Set<String> unknown = ConcurrentHashMap.newKeySet();
+        List<String> batchProducts = new ArrayList<>(runningStock.keySet());
+        AtomicInteger next = new AtomicInteger();
+        Runnable worker = () -> {
+            for (int k = next.getAndIncrement(); k < batchProducts.size(); k = next.getAndIncrement()) {
+                String productId = batchProducts.get(k);
+                dashboardAggregate.trackProductWrite(() -> {
+                    adjustBatchStock(productId, stockOf(products.get(productId)), runningStock.get(productId),
+                        lowestStock.get(productId), applied, revisions, unknown);
+                    return null;
+                });
+            }
+        };
+        runConcurrently(worker, Math.min(batchParallelism, batchProducts.size()));
+
+        List<Integer> indexes = new ArrayList<>();
+        List<InventoryMovement> records = new ArrayList<>();
+        for (Map.Entry<Integer, InventoryMovement> entry : pending.entrySet()) {
+            int i = entry.getKey();
+            InventoryMovement movement = entry.getValue();
+            Integer before = applied.get(movement.getProductId());
+            if (unknown.contains(movement.getProductId())) {
+                results[i] = new MovementBatchResultDTO.ItemResultDTO(i, MovementBatchResultDTO.Status.UNKNOWN_OUTCOME,
+                    "No se pudo confirmar la actualización del stock; puede haber cambiado sin registrarse el movimiento");
+                continue;
+            }
+            if (before == null) {
+                movement = dashboardAggregate.trackProductWrite(
+                    () -> applyIndividually(i, movementDTOs.get(i), results));
+                if (movement == null) {
+                    continue;
+                }
+            } else {
+                // Movements recorded by others between the read and the update come first
+                int shift = before - stockOf(products.get(movement.getProductId()));
+                movement.setPreviousStock(movement.getPreviousStock() + shift);
+                movement.setNewStock(movement.getNewStock() + shift);
+                movement.setStockRevision(revisions.get(movement.getProductId()));
+            }
+            indexes.add(i);
+            records.add(movement);
+        }
+
+        List<InventoryMovement> saved;
+        try {
+            saved = records.isEmpty() ? records : movementRepository.insert(records);
+        } catch (RuntimeException e) {
+            // The stock changes have landed and some movements may have been stored; retrying could count them twice
+            log.error("Storing {} movements of a batch failed after their stock updates", records.size(), e);
+            for (int i : indexes) {
+                results[i] = new MovementBatchResultDTO.ItemResultDTO(i, MovementBatchResultDTO.Status.UNKNOWN_OUTCOME,
+                    "El stock se actualizó pero no se pudo confirmar el registro del movimiento");
+            }
+            saved = List.of();
+        }
+        for (int k = 0; k < saved.size(); k++) {
+            InventoryMovement movement = saved.get(k);
+            MovementBatchResultDTO.ItemResultDTO result = new MovementBatchResultDTO.ItemResultDTO(
+                indexes.get(k), MovementBatchResultDTO.Status.ACCEPTED, null);
+            result.setMovementId(movement.getId());
+            result.setPreviousStock(movement.getPreviousStock());
+            result.setNewStock(movement.getNewStock());
+            results[indexes.get(k)] = result;
+            if (accepted != null) {
+                accepted[indexes.get(k)] = movement;
+            }
+            try {
+                afterMovementSaved(movement, products.get(movement.getProductId()).getCategory());
+            } catch (RuntimeException e) {
+                log.error("Hooks of movement {} failed after it was stored", movement.getId(), e);
+            }
+        }
+        try {
+            rollupService.recordMovements(saved);
+        } catch (RuntimeException e) {
+            // The movements are stored; POST /rollups/rebuild repairs the buckets
+            log.error("Recording {} batch movements in the rollups failed", saved.size(), e);
         }
 
-        Integer newStock = previousStock + adjustedQuantity;
+        return new MovementBatchResultDTO(saved.size(), movementDTOs.size() - saved.size(), Arrays.asList(results));
+    }
 
-        // Validate that stock doesn't go negative
-        if (newStock < 0) {
-            throw new RuntimeException("No se puede reducir el stock por debajo de 0. Stock actual: " + previousStock);
+    private void adjustBatchStock(String productId, int snapshot, int target, int lowest,
+                                  Map<String, Integer> applied, Map<String, Long> revisions,
+                                  Set<String> unknown) {
+        int delta = target - snapshot;
+        // Enough that no item takes the stock below zero, whatever it is when the update lands
+        int required = snapshot - lowest;
+        Product updated;
+        try {
+            updated = productRepository.adjustStock(productId, delta, required);
+        } catch (RuntimeException e) {
+            // The update may have landed; applying the items again could count them twice
+            log.warn("Stock update of product {} in a movement batch failed with an unknown outcome", productId, e);
+            unknown.add(productId);
+            return;
+        }
+        if (updated != null) {
+            int before = updated.getCurrentStock() - delta;
+            revisions.put(productId, updated.getRevision());
+            applied.put(productId, before);
+            batchStockChanged(updated, before);
         }
+    }
 
-        // Create movement record
+    // The stock has changed by now, so a failing hook must not keep the batch from recording the movements
+    private void batchStockChanged(Product product, int previousStock) {
+        try {
+            productService.afterStockChange(product, previousStock);
+        } catch (RuntimeException e) {
+            log.error("Stock change hooks of product {} failed in a movement batch", product.getId(), e);
+        }
+    }
+
+    // Runs the worker on this thread and on up to workers - 1 pooled ones; copies no thread picked up run here
+    private void runConcurrently(Runnable worker, int workers) {
+        List<FutureTask<Void>> tasks = new ArrayList<>(workers);
+        for (int w = 0; w < workers; w++) {
+            tasks.add(new FutureTask<>(worker, null));
+        }
+        for (int w = 1; w < tasks.size(); w++) {
+            try {
+                taskExecutor.execute(tasks.get(w));
+            } catch (TaskRejectedException e) {
+                // Saturated executor: this thread runs it below
+            }
+        }
+        for (FutureTask<Void> task : tasks) {
+            task.run();
+        }
+        for (FutureTask<Void> task : tasks) {
+            try {
+                task.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new RuntimeException("Error al actualizar el stock del lote", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Actualización del stock del lote interrumpida");
+            }
+        }
+    }
+
+    // Fallback for products whose stock fell short of the batch between the read and the bulk write. Other
+    // products' updates have landed already, so a failure here only marks this item and the batch goes on
+    private InventoryMovement applyIndividually(int index, MovementDTO dto,
+                                                MovementBatchResultDTO.ItemResultDTO[] results) {
+        int adjustedQuantity = adjustedQuantity(dto);
+        Product product;
+        try {
+            product = productRepository.adjustStock(dto.getProductId(), adjustedQuantity);
+        } catch (RuntimeException e) {
+            log.warn("Stock update of product {} in a movement batch failed with an unknown outcome",
+                dto.getProductId(), e);
+            results[index] = new MovementBatchResultDTO.ItemResultDTO(index, MovementBatchResultDTO.Status.UNKNOWN_OUTCOME,
+                "No se pudo confirmar la actualización del stock; puede haber cambiado sin registrarse el movimiento");
+            return null;
+        }
+        if (product == null) {
+            Optional<Product> existing;
+            try {
+                existing = productRepository.findById(dto.getProductId());
+            } catch (RuntimeException e) {
+                // The guarded update matched nothing, so the stock is unchanged; only the reason is unknown
+                results[index] = new MovementBatchResultDTO.ItemResultDTO(index,
+                    MovementBatchResultDTO.Status.REJECTED_INSUFFICIENT_STOCK,
+                    "No se puede reducir el stock por debajo de 0");
+                return null;
+            }
+            results[index] = existing
+                .map(p -> new MovementBatchResultDTO.ItemResultDTO(index,
+                    MovementBatchResultDTO.Status.REJECTED_INSUFFICIENT_STOCK,
+                    "No se puede reducir el stock por debajo de 0. Stock actual: " + p.getCurrentStock()))
+                .orElseGet(() -> new MovementBatchResultDTO.ItemResultDTO(index,
+                    MovementBatchResultDTO.Status.UNKNOWN_PRODUCT,
+                    "Producto no encontrado con ID: " + dto.getProductId()));
+            return null;
+        }
+
+        int newStock = product.getCurrentStock();
+        int previousStock = newStock - adjustedQuantity;
+        batchStockChanged(product, previousStock);
+        return buildMovement(product, dto, adjustedQuantity, previousStock, newStock);
+    }
+
+    void afterMovementSaved(InventoryMovement movement, String category) {
+        dashboardAggregate.movementRecorded(movement);
+        changeFeed.movementRecorded(movement, category);
+        versions.bump(CollectionVersions.Collection.MOVEMENTS);
+    }
+
+    int adjustedQuantity(MovementDTO movementDTO) {
+        Integer quantity = movementDTO.getQuantity();
+
+        // Adjust quantity based on movement type
+        if (movementDTO.getType() == InventoryMovement.MovementType.NEGATIVE_ADJUSTMENT) {
+            return -Math.abs(quantity);
+        }
+        return quantity;
+    }
+
+    InventoryMovement buildMovement(Product product, MovementDTO movementDTO, int adjustedQuantity,
+                                    int previousStock, int newStock) {
         InventoryMovement movement = new InventoryMovement();
         movement.setProductId(product.getId());
         movement.setProductName(product.getName());
@@ -80,19 +463,17 @@ public class InventoryMovementService {
         movement.setQuantity(adjustedQuantity);
         movement.setPreviousStock(previousStock);
         movement.setNewStock(newStock);
+        movement.setStockRevision(product.getRevision());
         movement.setComments(movementDTO.getComments());
         movement.setCreatedBy(movementDTO.getCreatedBy());
+        return movement;
+    }
 
-        // Update product stock
-        product.setCurrentStock(newStock);
-        product.setUpdatedAt(LocalDateTime.now());
-        productRepository.save(product);
-
-        // Save movement
-        return movementRepository.save(movement);
+    private static int stockOf(Product product) {
+        return product.getCurrentStock() != null ? product.getCurrentStock() : 0;
     }
 
     public Integer getMovementCountSince(LocalDateTime since) {
-        return movementRepository.findRecentMovements(since).size();
+        return (int) movementRepository.countByDateGreaterThanEqual(since);
     }
 }
\ No newline at end of file
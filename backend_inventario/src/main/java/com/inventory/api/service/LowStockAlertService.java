@@ -0,0 +1,181 @@
+package com.inventory.api.service;
+
+import com.inventory.api.dto.LowStockAlertDTO;
+import com.inventory.api.model.Product;
+import com.inventory.api.repository.ProductRepository;
+import com.inventory.api.config.MetricsConfig;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Publishes low-stock threshold crossings to subscribed clients over
+ * server-sent events. Writes only mark products as changed; a periodic flush
+ * compares each changed product with the state last announced for it, so a
+ * product that dips below its minimum and recovers within one debounce
+ * window produces no alert at all. As in {@link ChangeFeedService}, alerts
+ * are handed to an {@link SseSubscriber} per client and sent from a small
+ * dispatch pool, so the flush never waits on a client; one that falls a full
+ * queue behind is disconnected and reloads the low-stock list when it
+ * reconnects.
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class LowStockAlertService {
+
+    private static final Logger log = LoggerFactory.getLogger(LowStockAlertService.class);
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private final long sseTimeoutMs;
+    private final int queueSize;
+
+    private final Object lock = new Object();
+    // Products currently below their minimum, and as last announced to clients
+    private final Set<String> lowIds = new HashSet<>();
+    private final Set<String> announcedIds = new HashSet<>();
+    // Products written since the last flush, with their latest state
+    private final Map<String, Product> changed = new LinkedHashMap<>();
+    // Latest revision seen per product, so a write that finishes late cannot undo a newer state
+    private final Map<String, Long> revisions = new HashMap<>();
+    private final List<SseSubscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ExecutorService dispatcher;
+    private boolean migrated;
+
+    public LowStockAlertService(@Value("${inventory.low-stock.sse-timeout-ms:1800000}") long sseTimeoutMs,
+                                @Value("${inventory.low-stock.subscriber-queue-size:100}") int queueSize,
+                                @Value("${inventory.low-stock.dispatch-threads:2}") int dispatchThreads) {
+        this.sseTimeoutMs = sseTimeoutMs;
+        this.queueSize = queueSize;
+        this.dispatcher = Executors.newFixedThreadPool(dispatchThreads, runnable -> {
+            Thread thread = new Thread(runnable, "low-stock-alerts");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void migrate() {
+        synchronized (lock) {
+            if (migrated) {
+                return;
+            }
+            migrated = true;
+        }
+        try {
+            long updated = productRepository.refreshStockState();
+            if (updated > 0) {
+                log.info("Computed low-stock state for {} products", updated);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Low-stock state migration failed", e);
+        }
+    }
+
+    // Baseline of what clients are assumed to know: products already low at startup raise no alert
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            List<Product> low = productRepository.findLowStockIds();
+            synchronized (lock) {
+                for (Product product : low) {
+                    if (!changed.containsKey(product.getId())) {
+                        lowIds.add(product.getId());
+                        announcedIds.add(product.getId());
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Low-stock state initialization failed", e);
+        }
+    }
+
+    public void productChanged(Product product) {
+        synchronized (lock) {
+            Long seen = revisions.get(product.getId());
+            if (seen != null && seen > product.getRevision()) {
+                return;
+            }
+            revisions.put(product.getId(), product.getRevision());
+            if (Boolean.TRUE.equals(product.getLowStock())) {
+                lowIds.add(product.getId());
+            } else {
+                lowIds.remove(product.getId());
+            }
+            changed.put(product.getId(), product);
+        }
+    }
+
+    public void productDeleted(String id) {
+        synchronized (lock) {
+            lowIds.remove(id);
+            announcedIds.remove(id);
+            changed.remove(id);
+            revisions.remove(id);
+        }
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        subscribers.add(new SseSubscriber(emitter, queueSize, dispatcher, subscribers::remove));
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.low-stock.alert-debounce-ms:2000}")
+    public void flush() {
+        List<LowStockAlertDTO> alerts = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (lock) {
+            for (Product product : changed.values()) {
+                boolean low = lowIds.contains(product.getId());
+                if (low == announcedIds.contains(product.getId())) {
+                    continue;
+                }
+                if (low) {
+                    announcedIds.add(product.getId());
+                } else {
+                    announcedIds.remove(product.getId());
+                }
+                alerts.add(new LowStockAlertDTO(product.getId(), product.getCode(), product.getName(),
+                    product.getCurrentStock(), product.getMinimumStock(), product.getShortfall(),
+                    low ? LowStockAlertDTO.State.LOW : LowStockAlertDTO.State.RESTOCKED, now));
+            }
+            changed.clear();
+        }
+
+        if (alerts.isEmpty()) {
+            return;
+        }
+        Set<ResponseBodyEmitter.DataWithMediaType> event = SseEmitter.event().name("low-stock").data(alerts).build();
+        for (SseSubscriber subscriber : subscribers) {
+            subscriber.offer(event);
+        }
+    }
+}
@@ -0,0 +1,353 @@
+package com.inventory.api.service;
+
+import com.inventory.api.dto.MovementArchiveStatusDTO;
+import com.inventory.api.model.ArchivedMovement;
+import com.inventory.api.model.InventoryMovement;
+import com.inventory.api.repository.Fieldset;
+import com.inventory.api.repository.InventoryMovementRepository;
+import com.inventory.api.config.MetricsConfig;
+import io.micrometer.core.annotation.Timed;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.MergeOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Moves movements older than the horizon out of {@code inventory_movements}
+ * into {@code inventory_movements_archive}, so the hot collection and its
+ * indexes stay the size of the recent history. Each run first makes the
+ * cut-over a complete stock snapshot boundary (see {@link StockSnapshotService}),
+ * then publishes the new cut-over and only then copies and deletes the
+ * movements in batches. A movement is therefore always in at least one of the
+ * collections, and queries that reach before the cut-over read both, dropping
+ * the duplicates an interrupted run may leave behind. Other instances pick up
+ * a published cut-over within {@code state-refresh-ms}, and a run waits that
+ * long before it starts moving.
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class MovementArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(MovementArchiveService.class);
+
+    private static final String STATE_COLLECTION = "movement_archive_state";
+    private static final String STATE_ID = "movements";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private InventoryMovementRepository movementRepository;
+
+    @Autowired
+    private StockSnapshotService stockSnapshots;
+
+    @Value("${inventory.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${inventory.archive.horizon-days:365}")
+    private int horizonDays;
+
+    @Value("${inventory.archive.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${inventory.archive.compact:false}")
+    private boolean compact;
+
+    @Value("${inventory.archive.state-refresh-ms:10000}")
+    private long stateRefreshMs;
+
+    // Movements dated before this may be in the archive; null until the first run
+    private volatile LocalDateTime archivedBefore;
+    private final Lock runLock = new ReentrantLock();
+    private volatile boolean running;
+    private volatile LocalDateTime lastRunAt;
+    private volatile long lastRunMoved;
+    private volatile long lastRunSnapshots;
+
+    // Another instance may have moved the cut-over since; it only ever advances
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${inventory.archive.state-refresh-ms:10000}",
+               initialDelayString = "${inventory.archive.state-refresh-ms:10000}")
+    public void refreshState() {
+        try {
+            Document state = mongoTemplate.findById(STATE_ID, Document.class, STATE_COLLECTION);
+            if (state != null && state.getDate("archivedBefore") != null) {
+                LocalDateTime published = toLocal(state.getDate("archivedBefore"));
+                LocalDateTime current = archivedBefore;
+                if (current == null || published.isAfter(current)) {
+                    archivedBefore = published;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not read the movement archive state", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.archive.interval-ms:86400000}",
+               initialDelayString = "${inventory.archive.initial-delay-ms:600000}")
+    public void scheduledArchive() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            archive();
+        } catch (RuntimeException e) {
+            log.warn("Movement archival failed", e);
+        }
+    }
+
+    /** Archives everything dated before midnight {@code horizon-days} ago. */
+    public MovementArchiveStatusDTO archive() {
+        if (!runLock.tryLock()) {
+            throw new RuntimeException("Ya hay un archivado de movimientos en curso");
+        }
+        running = true;
+        try {
+            LocalDateTime cutoff = LocalDate.now().minusDays(horizonDays).atStartOfDay();
+            LocalDateTime previous = archivedBefore;
+            // Re-running the same cut-over finishes whatever an interrupted run left in the hot collection
+            if (previous != null && cutoff.isBefore(previous)) {
+                cutoff = previous;
+            }
+
+            long snapshots = stockSnapshots.snapshotAt(cutoff);
+            saveState(cutoff);
+            archivedBefore = cutoff;
+            if (previous == null || cutoff.isAfter(previous)) {
+                awaitStateRefresh();
+            }
+            long moved = moveBefore(cutoff);
+
+            lastRunAt = LocalDateTime.now();
+            lastRunMoved = moved;
+            lastRunSnapshots = snapshots;
+            if (moved > 0) {
+                log.info("Archived {} movements dated before {}; {} opening balances recorded", moved, cutoff, snapshots);
+                if (compact) {
+                    compactHotCollection();
+                }
+            }
+            return getStatus();
+        } finally {
+            running = false;
+            runLock.unlock();
+        }
+    }
+
+    public MovementArchiveStatusDTO getStatus() {
+        MovementArchiveStatusDTO status = new MovementArchiveStatusDTO();
+        status.setEnabled(enabled);
+        status.setHorizonDays(horizonDays);
+        status.setArchivedBefore(archivedBefore);
+        status.setRunning(running);
+        status.setLastRunAt(lastRunAt);
+        status.setLastRunMoved(lastRunMoved);
+        status.setLastRunSnapshots(lastRunSnapshots);
+        return status;
+    }
+
+    /** Whether movements dated from {@code startDate} on (any date when null) may be archived. */
+    public boolean covers(LocalDateTime startDate) {
+        LocalDateTime cutoff = archivedBefore;
+        return cutoff != null && (startDate == null || startDate.isBefore(cutoff));
+    }
+
+    /**
+     * Adds to movements read from the hot collection the archived ones matching
+     * the same filters. The cut-over must be checked after the hot read, so a
+     * movement archived in between is found in the archive instead.
+     */
+    public List<InventoryMovement> withArchived(List<InventoryMovement> hot, String productId,
+                                                LocalDateTime startDate, LocalDateTime endDate,
+                                                Sort sort, Fieldset fieldset) {
+        if (!covers(startDate)) {
+            return hot;
+        }
+        List<InventoryMovement> archived = movementRepository.findArchived(productId, null, startDate, endDate,
+            sort, 0, fieldset);
+        if (archived.isEmpty()) {
+            return hot;
+        }
+
+        Set<String> hotIds = new HashSet<>();
+        for (InventoryMovement movement : hot) {
+            hotIds.add(movement.getId());
+        }
+        List<InventoryMovement> older = new ArrayList<>(archived.size());
+        for (InventoryMovement movement : archived) {
+            if (!hotIds.contains(movement.getId())) {
+                older.add(movement);
+            }
+        }
+
+        // Archived movements precede the hot ones, except around a cut-over still being moved
+        Sort.Order byDate = sort.getOrderFor("date");
+        boolean newestFirst = byDate != null && byDate.isDescending();
+        List<InventoryMovement> merged = new ArrayList<>(older.size() + hot.size());
+        merged.addAll(newestFirst ? hot : older);
+        merged.addAll(newestFirst ? older : hot);
+        if (byDate != null) {
+            Comparator<InventoryMovement> order = Comparator.comparing(InventoryMovement::getDate,
+                Comparator.nullsFirst(Comparator.naturalOrder()));
+            merged.sort(newestFirst ? order.reversed() : order);
+        }
+        return merged;
+    }
+
+    /**
+     * Streams the matching movements of both collections in {@code _id} order,
+     * as {@link InventoryMovementRepository#streamMatching} does for the hot one,
+     * with a movement present in both emitted once. The caller must close the
+     * stream.
+     */
+    public Stream<InventoryMovement> streamWithArchived(String productId, InventoryMovement.MovementType type,
+                                                        LocalDateTime startDate, LocalDateTime endDate,
+                                                        String afterId) {
+        Stream<InventoryMovement> hot = movementRepository.streamMatching(productId, type, startDate, endDate, afterId);
+        if (!covers(startDate)) {
+            return hot;
+        }
+        Stream<InventoryMovement> archived;
+        try {
+            archived = movementRepository.streamArchived(productId, type, startDate, endDate, afterId);
+        } catch (RuntimeException e) {
+            hot.close();
+            throw e;
+        }
+
+        Iterator<InventoryMovement> hotRows = hot.iterator();
+        Iterator<InventoryMovement> archivedRows = archived.iterator();
+        Iterator<InventoryMovement> merged = new Iterator<>() {
+            private InventoryMovement nextHot;
+            private InventoryMovement nextArchived;
+
+            @Override
+            public boolean hasNext() {
+                if (nextHot == null && hotRows.hasNext()) {
+                    nextHot = hotRows.next();
+                }
+                if (nextArchived == null && archivedRows.hasNext()) {
+                    nextArchived = archivedRows.next();
+                }
+                return nextHot != null || nextArchived != null;
+            }
+
+            @Override
+            public InventoryMovement next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int order = nextHot == null ? 1 : nextArchived == null ? -1
+                    : nextHot.getId().compareTo(nextArchived.getId());
+                InventoryMovement row = order <= 0 ? nextHot : nextArchived;
+                if (order <= 0) {
+                    nextHot = null;
+                }
+                // Copied but not yet removed: the same movement in both collections
+                if (order >= 0) {
+                    nextArchived = null;
+                }
+                return row;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged, Spliterator.ORDERED), false)
+            .onClose(hot::close)
+            .onClose(archived::close);
+    }
+
+    private long moveBefore(LocalDateTime cutoff) {
+        String hot = mongoTemplate.getCollectionName(InventoryMovement.class);
+        String archive = mongoTemplate.getCollectionName(ArchivedMovement.class);
+        long moved = 0;
+        while (true) {
+            Query next = new Query(Criteria.where("date").lt(cutoff))
+                .with(Sort.by(Sort.Direction.ASC, "date"))
+                .limit(batchSize);
+            next.fields().include("_id");
+            List<Object> ids = new ArrayList<>();
+            for (Document document : mongoTemplate.find(next, Document.class, hot)) {
+                ids.add(document.get("_id"));
+            }
+            if (ids.isEmpty()) {
+                return moved;
+            }
+
+            // Copied server-side; keeping an existing copy makes a repeated batch harmless
+            Criteria batch = Criteria.where("_id").in(ids);
+            Aggregation copy = Aggregation.newAggregation(
+                Aggregation.match(batch),
+                MergeOperation.builder()
+                    .intoCollection(archive)
+                    .whenMatched(MergeOperation.WhenDocumentsMatch.keepExistingDocument())
+                    .whenNotMatched(MergeOperation.WhenDocumentsDontMatch.insertNewDocument())
+                    .build())
+                .withOptions(AggregationOptions.builder().skipOutput().build());
+            mongoTemplate.aggregate(copy, hot, Document.class);
+            moved += mongoTemplate.remove(new Query(batch), hot).getDeletedCount();
+        }
+    }
+
+    // Lets instances still reading the hot collection alone see the new cut-over first
+    private void awaitStateRefresh() {
+        try {
+            Thread.sleep(stateRefreshMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Archivado de movimientos interrumpido");
+        }
+    }
+
+    private void saveState(LocalDateTime cutoff) {
+        mongoTemplate.upsert(new Query(Criteria.where("_id").is(STATE_ID)),
+            new Update().set("archivedBefore", toDate(cutoff)).set("updatedAt", new Date()),
+            STATE_COLLECTION);
+    }
+
+    // Deleted documents leave free pages behind; compact returns them to the operating system
+    private void compactHotCollection() {
+        try {
+            mongoTemplate.getDb().runCommand(new Document("compact", mongoTemplate.getCollectionName(InventoryMovement.class)));
+        } catch (RuntimeException e) {
+            log.warn("Could not compact the movement collection", e);
+        }
+    }
+
+    private static Date toDate(LocalDateTime dateTime) {
+        return Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    private static LocalDateTime toLocal(Date date) {
+        return LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+    }
+}
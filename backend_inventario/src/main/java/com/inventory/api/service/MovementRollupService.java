@@ -0,0 +1,355 @@
+package com.inventory.api.service;
+
+import com.inventory.api.model.ArchivedMovement;
+import com.inventory.api.model.InventoryMovement;
+import com.inventory.api.model.MovementRollup;
+import com.inventory.api.config.MetricsConfig;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AccumulatorOperators;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.DateOperators;
+import org.springframework.data.mongodb.core.aggregation.LiteralOperators;
+import org.springframework.data.mongodb.core.aggregation.MergeOperation;
+import org.springframework.data.mongodb.core.aggregation.UnionWithOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Maintains per-product, per-type movement buckets at hour, day and month
+ * granularity. New movements upsert their buckets in one bulk write;
+ * {@link #rebuild} recomputes a range from the raw movements inside MongoDB,
+ * archived ones included, each counted once. While a rebuild runs, the live
+ * updates for its range are held back in this process and replayed once the
+ * rebuilt buckets are written, so writes on other instances should pause for
+ * the duration.
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class MovementRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(MovementRollupService.class);
+    private static final String COLLECTION = "movement_rollups";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private AsyncTaskExecutor taskExecutor;
+
+    @Value("${inventory.rollups.rebuild-max-time-minutes:30}")
+    private long rebuildMaxTimeMinutes;
+
+    @Value("${inventory.rollups.rebuild-settle-ms:5000}")
+    private long rebuildSettleMs;
+
+    // Live updates hold the read side; a rebuild takes the write side only to open and close its window
+    private final ReadWriteLock windowLock = new ReentrantReadWriteLock();
+    private final Lock rebuildLock = new ReentrantLock();
+    private RebuildWindow window;
+
+    /**
+     * The range a rebuild is recomputing and the high-water mark it scans up
+     * to. Movements dated before the mark are counted by the scan; the live
+     * updates of later ones are queued until the rebuilt buckets are written.
+     */
+    private static final class RebuildWindow {
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private final LocalDateTime highWaterMark;
+        private final List<InventoryMovement> pending = new ArrayList<>();
+
+        private RebuildWindow(LocalDateTime start, LocalDateTime end, LocalDateTime highWaterMark) {
+            this.start = start;
+            this.end = end;
+            this.highWaterMark = highWaterMark;
+        }
+
+        // Returns the movements to apply now, queueing or dropping those the rebuild accounts for
+        private synchronized List<InventoryMovement> admit(List<InventoryMovement> movements) {
+            List<InventoryMovement> live = new ArrayList<>(movements.size());
+            for (InventoryMovement movement : movements) {
+                LocalDateTime date = dateOf(movement);
+                if (date.isBefore(start) || !date.isBefore(end)) {
+                    live.add(movement);
+                } else if (!date.isBefore(highWaterMark)) {
+                    pending.add(movement);
+                }
+            }
+            return live;
+        }
+
+        private synchronized List<InventoryMovement> drain() {
+            return new ArrayList<>(pending);
+        }
+    }
+
+    public void recordMovement(InventoryMovement movement) {
+        recordMovements(List.of(movement));
+    }
+
+    public void recordMovements(List<InventoryMovement> movements) {
+        windowLock.readLock().lock();
+        try {
+            apply(window != null ? window.admit(movements) : movements);
+        } finally {
+            windowLock.readLock().unlock();
+        }
+    }
+
+    private void apply(List<InventoryMovement> movements) {
+        if (movements.isEmpty()) {
+            return;
+        }
+
+        // Movements falling into the same bucket are combined into a single upsert
+        Map<List<Object>, MovementRollup> buckets = new LinkedHashMap<>();
+        for (InventoryMovement movement : movements) {
+            LocalDateTime date = dateOf(movement);
+            int low = Math.min(stockOrZero(movement.getPreviousStock()), stockOrZero(movement.getNewStock()));
+            int high = Math.max(stockOrZero(movement.getPreviousStock()), stockOrZero(movement.getNewStock()));
+
+            for (MovementRollup.Granularity granularity : MovementRollup.Granularity.values()) {
+                LocalDateTime bucketStart = granularity.bucketStart(date);
+                MovementRollup bucket = buckets.computeIfAbsent(
+                    List.of(granularity, movement.getProductId(), movement.getType(), bucketStart), key -> {
+                        MovementRollup rollup = new MovementRollup();
+                        rollup.setGranularity(granularity);
+                        rollup.setProductId(movement.getProductId());
+                        rollup.setType(movement.getType());
+                        rollup.setBucketStart(bucketStart);
+                        rollup.setCount(0L);
+                        rollup.setTotalQuantity(0L);
+                        rollup.setMinStock(low);
+                        rollup.setMaxStock(high);
+                        return rollup;
+                    });
+                bucket.setCount(bucket.getCount() + 1);
+                bucket.setTotalQuantity(bucket.getTotalQuantity() + movement.getQuantity());
+                bucket.setMinStock(Math.min(bucket.getMinStock(), low));
+                bucket.setMaxStock(Math.max(bucket.getMaxStock(), high));
+            }
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, MovementRollup.class);
+        for (MovementRollup bucket : buckets.values()) {
+            Query query = new Query(Criteria.where("granularity").is(bucket.getGranularity())
+                .and("productId").is(bucket.getProductId())
+                .and("type").is(bucket.getType())
+                .and("bucketStart").is(bucket.getBucketStart()));
+            Update update = new Update()
+                .inc("count", bucket.getCount())
+                .inc("totalQuantity", bucket.getTotalQuantity())
+                .min("minStock", bucket.getMinStock())
+                .max("maxStock", bucket.getMaxStock());
+            bulk.upsert(query, update);
+        }
+
+        try {
+            bulk.execute();
+        } catch (RuntimeException e) {
+            // The movements themselves are already stored; a rebuild of the range repairs the buckets
+            log.warn("Could not update rollups for {} movements", movements.size(), e);
+        }
+    }
+
+    public List<MovementRollup> getRollups(MovementRollup.Granularity granularity, LocalDateTime from,
+                                           LocalDateTime to, String productId,
+                                           InventoryMovement.MovementType type) {
+        Criteria criteria = Criteria.where("granularity").is(granularity);
+        if (productId != null && !productId.isBlank()) {
+            criteria = criteria.and("productId").is(productId);
+        }
+        if (type != null) {
+            criteria = criteria.and("type").is(type);
+        }
+        criteria = criteria.and("bucketStart").gte(granularity.bucketStart(from)).lte(to);
+
+        Query query = new Query(criteria).with(Sort.by(Sort.Direction.ASC, "bucketStart"));
+        return mongoTemplate.find(query, MovementRollup.class);
+    }
+
+    /**
+     * Recomputes every bucket between the month containing {@code from} and the
+     * month containing {@code to}. Both ends are widened to month boundaries so
+     * that no bucket of any granularity is rebuilt from partial data. Buckets
+     * are rewritten in place, never removed first, so readers keep seeing the
+     * old values until the new ones land. The scan counts the movements dated
+     * before the moment the rebuild started, the high-water mark; live updates
+     * for later movements in the range are queued meanwhile and applied on top
+     * of the rebuilt buckets, so the bucket still open is rebuilt as well and
+     * keeps every movement. Rebuilds run one at a time.
+     */
+    public void rebuild(LocalDateTime from, LocalDateTime to) {
+        LocalDateTime start = MovementRollup.Granularity.MONTH.bucketStart(from);
+        LocalDateTime end = MovementRollup.Granularity.MONTH.bucketStart(to).plusMonths(1);
+
+        rebuildLock.lock();
+        try {
+            RebuildWindow rebuilding = openWindow(start, end);
+            try {
+                // Movements are dated when built, a moment before they are written; let those before the mark land
+                awaitSettle();
+                LocalDateTime scanEnd = end.isBefore(rebuilding.highWaterMark) ? end : rebuilding.highWaterMark;
+                if (start.isBefore(scanEnd)) {
+                    for (MovementRollup.Granularity granularity : MovementRollup.Granularity.values()) {
+                        mergeBuckets(granularity, start, scanEnd);
+                    }
+                }
+            } finally {
+                apply(closeWindow());
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    // Live updates already in flight finish first, so everything they counted is dated before the mark
+    private RebuildWindow openWindow(LocalDateTime start, LocalDateTime end) {
+        windowLock.writeLock().lock();
+        try {
+            window = new RebuildWindow(start, end, LocalDateTime.now());
+            return window;
+        } finally {
+            windowLock.writeLock().unlock();
+        }
+    }
+
+    private List<InventoryMovement> closeWindow() {
+        windowLock.writeLock().lock();
+        try {
+            List<InventoryMovement> pending = window.drain();
+            window = null;
+            return pending;
+        } finally {
+            windowLock.writeLock().unlock();
+        }
+    }
+
+    private void awaitSettle() {
+        try {
+            Thread.sleep(rebuildSettleMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Reconstrucción de acumulados interrumpida");
+        }
+    }
+
+    private void mergeBuckets(MovementRollup.Granularity granularity, LocalDateTime start, LocalDateTime end) {
+        Criteria inRange = Criteria.where("date").gte(start).lt(end);
+        Aggregation aggregation = Aggregation.newAggregation(
+            Aggregation.match(inRange),
+            UnionWithOperation.unionWith(mongoTemplate.getCollectionName(ArchivedMovement.class))
+                .pipeline(Aggregation.match(inRange))
+                .mapFieldsTo(InventoryMovement.class),
+            // A movement copied to the archive but not yet removed from the hot collection is counted once
+            Aggregation.group("id")
+                .first("productId").as("productId")
+                .first("type").as("type")
+                .first("quantity").as("quantity")
+                .first("date").as("date")
+                .first("previousStock").as("previousStock")
+                .first("newStock").as("newStock"),
+            Aggregation.project("productId", "type", "quantity")
+                .and(DateOperators.DateTrunc.truncateValueOf("date")
+                    .to(granularity.getUnit())
+                    .withTimezone(DateOperators.Timezone.fromZone(ZoneId.systemDefault())))
+                .as("bucketStart")
+                .and(AccumulatorOperators.Min.minOf("previousStock").and("newStock")).as("low")
+                .and(AccumulatorOperators.Max.maxOf("previousStock").and("newStock")).as("high"),
+            Aggregation.group("productId", "type", "bucketStart")
+                .count().as("count")
+                .sum("quantity").as("totalQuantity")
+                .min("low").as("minStock")
+                .max("high").as("maxStock"),
+            Aggregation.project("count", "totalQuantity", "minStock", "maxStock")
+                .and("_id.productId").as("productId")
+                .and("_id.type").as("type")
+                .and("_id.bucketStart").as("bucketStart")
+                .and(LiteralOperators.Literal.asLiteral(granularity.name())).as("granularity")
+                .andExclude("_id"),
+            MergeOperation.builder()
+                .intoCollection(COLLECTION)
+                .on("granularity", "productId", "type", "bucketStart")
+                .whenMatched(MergeOperation.WhenDocumentsMatch.replaceDocument())
+                .whenNotMatched(MergeOperation.WhenDocumentsDontMatch.insertNewDocument())
+                .build())
+            .withOptions(AggregationOptions.builder()
+                .allowDiskUse(true)
+                .maxTime(Duration.ofMinutes(rebuildMaxTimeMinutes))
+                .skipOutput()
+                .build());
+
+        mongoTemplate.aggregate(aggregation, InventoryMovement.class, Object.class);
+    }
+
+    // Backfills the rollups the first time the application starts against existing history, off the
+    // startup thread so a long backfill does not hold back readiness
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        try {
+            taskExecutor.execute(this::backfill);
+        } catch (TaskRejectedException e) {
+            // Saturated executor: run it here rather than skip it
+            backfill();
+        }
+    }
+
+    private void backfill() {
+        try {
+            if (mongoTemplate.estimatedCount(MovementRollup.class) > 0) {
+                return;
+            }
+            Query oldest = new Query().with(Sort.by(Sort.Direction.ASC, "date")).limit(1);
+            InventoryMovement first = mongoTemplate.findOne(oldest, InventoryMovement.class,
+                mongoTemplate.getCollectionName(ArchivedMovement.class));
+            if (first == null) {
+                first = mongoTemplate.findOne(oldest, InventoryMovement.class);
+            }
+            if (first != null && first.getDate() != null) {
+                log.info("Backfilling movement rollups from {}", first.getDate());
+                long started = System.nanoTime();
+                rebuild(first.getDate(), LocalDateTime.now());
+                log.info("Movement rollup backfill finished in {} ms",
+                    Duration.ofNanos(System.nanoTime() - started).toMillis());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Movement rollup backfill failed", e);
+        }
+    }
+
+    private static LocalDateTime dateOf(InventoryMovement movement) {
+        return movement.getDate() != null ? movement.getDate() : LocalDateTime.now();
+    }
+
+    private static int stockOrZero(Integer stock) {
+        return stock != null ? stock : 0;
+    }
+}
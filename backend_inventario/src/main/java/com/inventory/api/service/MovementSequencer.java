@@ -0,0 +1,288 @@
+package com.inventory.api.service;
+
+import com.inventory.api.dto.MovementBatchResultDTO;
+import com.inventory.api.dto.MovementDTO;
+import com.inventory.api.model.InventoryMovement;
+import com.inventory.api.config.MetricsConfig;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sequences single stock movements per product inside this process. Each
+ * movement is hashed by product id onto one of a fixed set of lanes, and a
+ * lane is drained by one thread at a time, so a product is only ever written
+ * by its own lane. Movements that queue up on a lane while its previous write
+ * is in flight are applied together through the batch path: one product read,
+ * one guarded stock update per product and one insert of all the records.
+ * Every caller still gets its own movement with the exact stock before and
+ * after its place in the sequence. Without contention a drain holds a single
+ * movement, which takes the regular single-movement path. A movement still
+ * queued after {@code timeout-ms} is withdrawn and never applied; one whose
+ * write takes as long again is reported as failed, though it may still land.
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class MovementSequencer {
+
+    private static final Logger log = LoggerFactory.getLogger(MovementSequencer.class);
+
+    private static final int QUEUED = 0;
+    private static final int TAKEN = 1;
+    private static final int WITHDRAWN = 2;
+
+    @Autowired
+    private InventoryMovementService movementService;
+
+    private final boolean enabled;
+    private final int maxCombined;
+    private final long timeoutMs;
+    private final Lane[] lanes;
+    private final ExecutorService writers;
+    private final ScheduledThreadPoolExecutor timeouts;
+    private volatile boolean accepting = true;
+
+    private final class Pending {
+        private final MovementDTO movement;
+        private final CompletableFuture<InventoryMovement> result = new CompletableFuture<>();
+        private final AtomicInteger state = new AtomicInteger(QUEUED);
+        private volatile ScheduledFuture<?> timer;
+
+        private Pending(MovementDTO movement) {
+            this.movement = movement;
+        }
+
+        private boolean take() {
+            return state.compareAndSet(QUEUED, TAKEN);
+        }
+
+        private void expire() {
+            if (state.compareAndSet(QUEUED, WITHDRAWN)) {
+                result.completeExceptionally(new RuntimeException(
+                    "Tiempo de espera agotado; el movimiento no se registró"));
+            } else if (!result.isDone()) {
+                // Being written: give the write as long again before the caller stops waiting
+                timer = timeouts.schedule(() -> result.completeExceptionally(new RuntimeException(
+                    "Tiempo de espera agotado; el movimiento puede haberse registrado")), timeoutMs, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    // Callers wait for their result, so a queue never holds more than the requests in flight
+    private final class Lane {
+        private final Queue<Pending> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private void offer(Pending pending) {
+            queue.add(pending);
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    writers.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // Shutting down: submit fails the movement it could not hand over
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            boolean released = false;
+            try {
+                while (true) {
+                    List<Pending> combined = new ArrayList<>();
+                    Pending next;
+                    while (combined.size() < maxCombined && (next = queue.poll()) != null) {
+                        // Withdrawn ones have already been answered
+                        if (next.take()) {
+                            combined.add(next);
+                        }
+                    }
+                    if (!combined.isEmpty()) {
+                        apply(combined);
+                        continue;
+                    }
+                    draining.set(false);
+                    // A movement offered after the last poll but before the flag was cleared
+                    if (queue.isEmpty() || !draining.compareAndSet(false, true)) {
+                        released = true;
+                        return;
+                    }
+                }
+            } finally {
+                // Left abnormally while holding the lane: release it so later movements still drain
+                if (!released) {
+                    draining.set(false);
+                    if (!queue.isEmpty() && !writers.isShutdown() && draining.compareAndSet(false, true)) {
+                        writers.execute(this::drain);
+                    }
+                }
+            }
+        }
+    }
+
+    public MovementSequencer(@Value("${inventory.movements.sequencer.enabled:true}") boolean enabled,
+                             @Value("${inventory.movements.sequencer.lanes:16}") int laneCount,
+                             @Value("${inventory.movements.sequencer.max-combined:500}") int maxCombined,
+                             @Value("${inventory.movements.sequencer.timeout-ms:30000}") long timeoutMs) {
+        this.enabled = enabled;
+        this.maxCombined = maxCombined;
+        this.timeoutMs = timeoutMs;
+        this.lanes = new Lane[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new Lane();
+        }
+        // One thread per lane at most; they are only started once movements arrive
+        this.writers = Executors.newFixedThreadPool(laneCount, runnable -> {
+            Thread thread = new Thread(runnable, "movement-lane");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timeouts = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "movement-lane-timeouts");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timeouts.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Stops taking movements and fails the ones still queued, then lets the
+     * writes in flight finish: interrupting one could leave the stock changed
+     * without its movement record.
+     */
+    @PreDestroy
+    public void shutdown() {
+        accepting = false;
+        for (Lane lane : lanes) {
+            Pending pending;
+            while ((pending = lane.queue.poll()) != null) {
+                if (pending.take()) {
+                    pending.result.completeExceptionally(stopping());
+                }
+            }
+        }
+        writers.shutdown();
+        try {
+            // Callers stop waiting after twice the timeout, so a write still running by then is stuck
+            if (!writers.awaitTermination(2 * timeoutMs, TimeUnit.MILLISECONDS)) {
+                log.warn("Movement writes still in flight after {} ms; leaving them to finish", 2 * timeoutMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        timeouts.shutdownNow();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Records one movement, waiting for its lane; the same contract as the unsequenced path. */
+    public InventoryMovement createMovement(MovementDTO movementDTO) {
+        if (!enabled) {
+            return movementService.createMovement(movementDTO);
+        }
+        try {
+            // The future is always completed within twice the timeout; this only guards against a lost timer
+            return submit(movementDTO).get(2 * timeoutMs + 1000, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException("Error al registrar el movimiento", e.getCause());
+        } catch (TimeoutException e) {
+            throw new RuntimeException("Tiempo de espera agotado; el movimiento puede haberse registrado");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Registro del movimiento interrumpido");
+        }
+    }
+
+    /**
+     * Queues one movement on its lane. The future completes with the recorded
+     * movement, or exceptionally with a {@link RuntimeException} carrying the
+     * rejection, including when the timeout runs out.
+     */
+    public CompletableFuture<InventoryMovement> submit(MovementDTO movementDTO) {
+        Pending pending = new Pending(movementDTO);
+        if (!accepting) {
+            pending.result.completeExceptionally(stopping());
+            return pending.result;
+        }
+        pending.timer = timeouts.schedule(pending::expire, timeoutMs, TimeUnit.MILLISECONDS);
+        pending.result.whenComplete((movement, error) -> pending.timer.cancel(false));
+        String productId = movementDTO.getProductId();
+        lanes[productId == null ? 0 : Math.floorMod(productId.hashCode(), lanes.length)].offer(pending);
+        // Raced with shutdown: fail it unless a lane has already taken it
+        if (!accepting && pending.take()) {
+            pending.result.completeExceptionally(stopping());
+        }
+        return pending.result;
+    }
+
+    private static RuntimeException stopping() {
+        return new RuntimeException("El servicio de movimientos se está deteniendo");
+    }
+
+    private void apply(List<Pending> combined) {
+        if (combined.size() == 1) {
+            Pending only = combined.get(0);
+            try {
+                only.result.complete(movementService.createMovement(only.movement));
+            } catch (RuntimeException e) {
+                only.result.completeExceptionally(e);
+            } catch (Throwable e) {
+                log.error("Movement write failed", e);
+                only.result.completeExceptionally(new RuntimeException("Error al registrar el movimiento", e));
+            }
+            return;
+        }
+
+        List<MovementDTO> movements = new ArrayList<>(combined.size());
+        for (Pending pending : combined) {
+            movements.add(pending.movement);
+        }
+        InventoryMovement[] accepted = new InventoryMovement[combined.size()];
+        try {
+            MovementBatchResultDTO result = movementService.createMovements(movements, accepted);
+            for (int i = 0; i < combined.size(); i++) {
+                if (accepted[i] != null) {
+                    combined.get(i).result.complete(accepted[i]);
+                } else {
+                    combined.get(i).result.completeExceptionally(
+                        new RuntimeException(result.getItems().get(i).getMessage()));
+                }
+            }
+        } catch (RuntimeException e) {
+            for (Pending pending : combined) {
+                pending.result.completeExceptionally(e);
+            }
+        } catch (Throwable e) {
+            log.error("Combined movement write failed", e);
+            // Ones already answered keep their result
+            RuntimeException failure = new RuntimeException("Error al registrar el movimiento", e);
+            for (Pending pending : combined) {
+                pending.result.completeExceptionally(failure);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,495 @@
+package com.inventory.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.api.dto.ProductDTO;
+import com.inventory.api.dto.ProductImportResultDTO;
+import com.inventory.api.model.Product;
+import com.inventory.api.util.BloomFilter;
+import com.inventory.api.config.MetricsConfig;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Streams a CSV or NDJSON catalog into the products collection in fixed-size
+ * chunks, so heap use does not grow with the file. Existing codes are loaded
+ * once into a Bloom filter; only codes it reports as possibly present are
+ * checked against MongoDB, with one {@code $in} query per chunk.
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class ProductImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductImportService.class);
+    private static final int DUPLICATE_KEY = 11000;
+    private static final int RETAINED_IMPORTS = 20;
+    private static final long MIN_FILTER_CAPACITY = 1_000_000L;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private DashboardAggregateService dashboardAggregate;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${inventory.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${inventory.import.max-reported-errors:100}")
+    private int maxReportedErrors;
+
+    @Value("${inventory.import.bloom-false-positive-rate:0.01}")
+    private double bloomFalsePositiveRate;
+
+    private final Map<String, ImportJob> imports = Collections.synchronizedMap(
+        new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ImportJob> eldest) {
+                return size() > RETAINED_IMPORTS;
+            }
+        });
+
+    public enum ImportFormat {
+        CSV, NDJSON
+    }
+
+    public Optional<ProductImportResultDTO> getImport(String importId) {
+        ImportJob job = imports.get(importId);
+        return job == null ? Optional.empty() : Optional.of(job.snapshot());
+    }
+
+    /**
+     * @param expectedRows rows the caller expects to import, if known; sizes the
+     *                     code filter so the inserts do not have to overflow it
+     */
+    public ProductImportResultDTO importProducts(InputStream input, ImportFormat format, String importId,
+                                                 Long expectedRows) {
+        ImportJob job = new ImportJob(importId != null && !importId.isBlank() ? importId : UUID.randomUUID().toString());
+        imports.put(job.importId, job);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            CodeFilter existingCodes = loadExistingCodes(expectedRows != null ? Math.max(expectedRows, 0) : 0);
+            RowReader rows = format == ImportFormat.CSV ? new CsvRowReader(reader) : new NdjsonRowReader(reader);
+
+            List<Row> chunk = new ArrayList<>(chunkSize);
+            Row row;
+            while ((row = rows.next()) != null) {
+                chunk.add(row);
+                if (chunk.size() >= chunkSize) {
+                    processChunk(chunk, existingCodes, job);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                processChunk(chunk, existingCodes, job);
+            }
+            job.finish(ProductImportResultDTO.Status.COMPLETED);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Product import {} failed", job.importId, e);
+            job.error(job.snapshot().getProcessedRows() + 1, null, "Importación interrumpida: " + e.getMessage());
+            job.finish(ProductImportResultDTO.Status.FAILED);
+        }
+        return job.snapshot();
+    }
+
+    private CodeFilter loadExistingCodes(long expectedRows) {
+        long existing = mongoTemplate.estimatedCount(Product.class);
+        CodeFilter filter = new CodeFilter(Math.max(existing + expectedRows, MIN_FILTER_CAPACITY));
+
+        Query query = new Query();
+        query.fields().include("code").exclude("_id");
+        try (Stream<Document> codes = mongoTemplate.stream(query, Document.class, "products")) {
+            codes.forEach(document -> {
+                String code = document.getString("code");
+                if (code != null) {
+                    filter.put(code);
+                }
+            });
+        }
+        return filter;
+    }
+
+    private void processChunk(List<Row> chunk, CodeFilter existingCodes, ImportJob job) {
+        List<Row> candidates = new ArrayList<>();
+        Set<String> chunkCodes = new HashSet<>();
+        List<String> suspects = new ArrayList<>();
+
+        for (Row row : chunk) {
+            if (row.error != null) {
+                job.invalid(row.number, null, row.error);
+                continue;
+            }
+            Set<ConstraintViolation<ProductDTO>> violations = validator.validate(row.product);
+            if (!violations.isEmpty()) {
+                job.invalid(row.number, row.product.getCode(), violations.iterator().next().getMessage());
+                continue;
+            }
+            String code = row.product.getCode();
+            if (!chunkCodes.add(code)) {
+                job.duplicate(row.number, code);
+                continue;
+            }
+            if (existingCodes.mightContain(code)) {
+                suspects.add(code);
+            }
+            candidates.add(row);
+        }
+
+        // Only Bloom filter hits need a round trip to confirm they really exist
+        Set<String> existing = new HashSet<>();
+        if (!suspects.isEmpty()) {
+            Query query = new Query(Criteria.where("code").in(suspects));
+            query.fields().include("code").exclude("_id");
+            for (Document document : mongoTemplate.find(query, Document.class, "products")) {
+                existing.add(document.getString("code"));
+            }
+        }
+
+        List<Product> products = new ArrayList<>();
+        List<Row> productRows = new ArrayList<>();
+        for (Row row : candidates) {
+            if (existing.contains(row.product.getCode())) {
+                job.duplicate(row.number, row.product.getCode());
+                continue;
+            }
+            Product product = productService.buildNewProduct(row.product);
+            product.setId(new ObjectId().toHexString());
+            products.add(product);
+            productRows.add(row);
+        }
+
+        if (!products.isEmpty()) {
+            dashboardAggregate.trackProductWrite(() -> {
+                insertUnordered(products, productRows, existingCodes, job);
+                return null;
+            });
+        }
+        job.processed(chunk.size());
+    }
+
+    private void insertUnordered(List<Product> products, List<Row> rows, CodeFilter existingCodes, ImportJob job) {
+        Map<Integer, BulkWriteError> failures = new HashMap<>();
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Product.class).insert(products).execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                failures.put(error.getIndex(), error);
+            }
+        } catch (RuntimeException e) {
+            // The bulk write may have partly gone through, e.g. on a timeout
+            settleUnknownOutcome(products, rows, existingCodes, job);
+            throw e;
+        }
+
+        List<Product> inserted = new ArrayList<>();
+        for (int i = 0; i < products.size(); i++) {
+            Product product = products.get(i);
+            BulkWriteError error = failures.get(i);
+            if (error == null) {
+                existingCodes.put(product.getCode());
+                inserted.add(product);
+            } else if (error.getCode() == DUPLICATE_KEY) {
+                // Created concurrently by another writer after the Bloom check
+                job.duplicate(rows.get(i).number, product.getCode());
+            } else {
+                job.invalid(rows.get(i).number, product.getCode(), error.getMessage());
+            }
+        }
+
+        productService.afterCreate(inserted);
+        job.inserted(inserted.size());
+    }
+
+    // The ids are assigned here, so the documents that made it can be found and get their hooks
+    private void settleUnknownOutcome(List<Product> products, List<Row> rows, CodeFilter existingCodes, ImportJob job) {
+        Set<String> written = new HashSet<>();
+        try {
+            List<String> ids = products.stream().map(Product::getId).toList();
+            // Mapped through Product so the hex ids are matched as ObjectIds
+            Query query = new Query(Criteria.where("id").in(ids));
+            query.fields().include("id");
+            for (Product product : mongoTemplate.find(query, Product.class)) {
+                written.add(product.getId());
+            }
+        } catch (RuntimeException e) {
+            log.error("Product import {} could not tell which of {} products were inserted; the dashboard and "
+                + "search index may miss them until their next rebuild", job.importId, products.size(), e);
+            job.error(rows.get(0).number, null, "No se pudo comprobar qué productos del bloque se insertaron");
+            return;
+        }
+
+        List<Product> inserted = new ArrayList<>();
+        for (Product product : products) {
+            if (written.contains(product.getId())) {
+                existingCodes.put(product.getCode());
+                inserted.add(product);
+            }
+        }
+        productService.afterCreate(inserted);
+        job.inserted(inserted.size());
+    }
+
+    /**
+     * Codes that may already exist: those loaded at the start plus the ones
+     * this import inserts. When the inserts use up the current filter's
+     * capacity a fresh filter takes the rest, so a large import adds a filter
+     * instead of saturating one into matching nearly every code.
+     */
+    private final class CodeFilter {
+        private final List<BloomFilter> filters = new ArrayList<>();
+        private long remaining;
+
+        private CodeFilter(long capacity) {
+            filters.add(new BloomFilter(capacity, bloomFalsePositiveRate));
+            remaining = capacity;
+        }
+
+        private void put(String code) {
+            if (remaining <= 0) {
+                filters.add(new BloomFilter(MIN_FILTER_CAPACITY, bloomFalsePositiveRate));
+                remaining = MIN_FILTER_CAPACITY;
+            }
+            filters.get(filters.size() - 1).put(code);
+            remaining--;
+        }
+
+        private boolean mightContain(String code) {
+            for (BloomFilter filter : filters) {
+                if (filter.mightContain(code)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class Row {
+        private final long number;
+        private final ProductDTO product;
+        private final String error;
+
+        private Row(long number, ProductDTO product, String error) {
+            this.number = number;
+            this.product = product;
+            this.error = error;
+        }
+    }
+
+    private interface RowReader {
+        /** Returns the next row, or null at end of input. */
+        Row next() throws IOException;
+    }
+
+    private final class NdjsonRowReader implements RowReader {
+        private final BufferedReader reader;
+        private long lineNumber;
+
+        private NdjsonRowReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public Row next() throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    return new Row(lineNumber, objectMapper.readValue(line, ProductDTO.class), null);
+                } catch (JsonProcessingException e) {
+                    return new Row(lineNumber, null, "JSON inválido: " + e.getOriginalMessage());
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class CsvRowReader implements RowReader {
+        private final BufferedReader reader;
+        private long lineNumber;
+        private Map<String, Integer> header;
+
+        private CsvRowReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public Row next() throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                List<String> values = split(line);
+                if (header == null) {
+                    header = new HashMap<>();
+                    for (int i = 0; i < values.size(); i++) {
+                        header.put(values.get(i).trim(), i);
+                    }
+                    if (!header.containsKey("code")) {
+                        throw new IOException("La cabecera CSV debe incluir la columna 'code'");
+                    }
+                    continue;
+                }
+                try {
+                    return new Row(lineNumber, toProduct(values), null);
+                } catch (NumberFormatException e) {
+                    return new Row(lineNumber, null, "Valor numérico inválido: " + e.getMessage());
+                }
+            }
+            return null;
+        }
+
+        private ProductDTO toProduct(List<String> values) {
+            ProductDTO dto = new ProductDTO();
+            dto.setCode(column(values, "code"));
+            dto.setName(column(values, "name"));
+            dto.setDescription(column(values, "description"));
+            dto.setCategory(column(values, "category"));
+            dto.setSupplier(column(values, "supplier"));
+            String purchasePrice = column(values, "purchasePrice");
+            dto.setPurchasePrice(purchasePrice == null ? null : Double.valueOf(purchasePrice));
+            String salePrice = column(values, "salePrice");
+            dto.setSalePrice(salePrice == null ? null : Double.valueOf(salePrice));
+            dto.setUnit(column(values, "unit"));
+            String minimumStock = column(values, "minimumStock");
+            dto.setMinimumStock(minimumStock == null ? null : Integer.valueOf(minimumStock));
+            return dto;
+        }
+
+        private String column(List<String> values, String name) {
+            Integer index = header.get(name);
+            if (index == null || index >= values.size()) {
+                return null;
+            }
+            String value = values.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        // RFC 4180 fields on a single line: commas inside quotes and "" escapes
+        private static List<String> split(String line) {
+            List<String> values = new ArrayList<>();
+            StringBuilder current = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        current.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(current.toString());
+                    current.setLength(0);
+                } else {
+                    current.append(c);
+                }
+            }
+            values.add(current.toString());
+            return values;
+        }
+    }
+
+    private final class ImportJob {
+        private final String importId;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final List<ProductImportResultDTO.RowErrorDTO> errors = new ArrayList<>();
+        private ProductImportResultDTO.Status status = ProductImportResultDTO.Status.RUNNING;
+        private long processedRows;
+        private long inserted;
+        private long duplicates;
+        private long invalid;
+        private LocalDateTime finishedAt;
+
+        private ImportJob(String importId) {
+            this.importId = importId;
+        }
+
+        private synchronized void processed(int rows) { processedRows += rows; }
+
+        private synchronized void inserted(int rows) { inserted += rows; }
+
+        private synchronized void duplicate(long row, String code) {
+            duplicates++;
+            error(row, code, "Ya existe un producto con el código: " + code);
+        }
+
+        private synchronized void invalid(long row, String code, String message) {
+            invalid++;
+            error(row, code, message);
+        }
+
+        private synchronized void error(long row, String code, String message) {
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ProductImportResultDTO.RowErrorDTO(row, code, message));
+            }
+        }
+
+        private synchronized void finish(ProductImportResultDTO.Status finalStatus) {
+            status = finalStatus;
+            finishedAt = LocalDateTime.now();
+        }
+
+        private synchronized ProductImportResultDTO snapshot() {
+            ProductImportResultDTO result = new ProductImportResultDTO();
+            result.setImportId(importId);
+            result.setStatus(status);
+            result.setProcessedRows(processedRows);
+            result.setInserted(inserted);
+            result.setDuplicates(duplicates);
+            result.setInvalid(invalid);
+            result.setErrors(new ArrayList<>(errors));
+            result.setStartedAt(startedAt);
+            result.setFinishedAt(finishedAt);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package com.inventory.api.service;
+
+import com.inventory.api.model.Product;
+import com.inventory.api.config.MetricsConfig;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-memory full-text index over products, so searching never reaches
+ * MongoDB. Text is accent-folded, lower-cased and split into tokens; a sorted
+ * token map serves prefix lookups and a trigram map serves matches inside a
+ * token, which keeps the substring behaviour of the former regex search.
+ * Product writes in the services keep it current and a periodic rebuild
+ * catches writes that bypass them.
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class ProductSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchIndex.class);
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Field weights; a whole-token match scores three times a prefix match and six times an infix match
+    private static final int CODE_WEIGHT = 8;
+    private static final int NAME_WEIGHT = 4;
+    private static final int TAG_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int EXACT_FACTOR = 6;
+    private static final int PREFIX_FACTOR = 2;
+    private static final int INFIX_FACTOR = 1;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Not a monitor: a rebuild streams from MongoDB and would pin a virtual thread's carrier
+    private final Lock rebuildLock = new ReentrantLock();
+    private Index index = new Index();
+    // Non-null while a rebuild is running; product id -> latest write made meanwhile, null for a removal
+    private Map<String, Product> pendingWrites;
+    private volatile boolean ready;
+
+    private static final class Entry {
+        private final Product product;
+        private final String sortName;
+        // Token -> weight of the heaviest field it appears in
+        private final Map<String, Integer> tokens;
+
+        private Entry(Product product) {
+            this.product = product;
+            this.sortName = normalize(product.getName());
+            this.tokens = new HashMap<>();
+            addTokens(tokens, product.getCode(), CODE_WEIGHT);
+            addTokens(tokens, product.getName(), NAME_WEIGHT);
+            addTokens(tokens, product.getCategory(), TAG_WEIGHT);
+            addTokens(tokens, product.getSupplier(), TAG_WEIGHT);
+            addTokens(tokens, product.getDescription(), DESCRIPTION_WEIGHT);
+        }
+    }
+
+    private static final class Index {
+        private final Map<String, Entry> entries = new HashMap<>();
+        // Token -> product id -> weight, sorted so that a prefix is a contiguous range
+        private final TreeMap<String, Map<String, Integer>> postings = new TreeMap<>();
+        // Trigram -> tokens containing it
+        private final Map<String, Set<String>> trigrams = new HashMap<>();
+
+        // Keeps the entry when it already holds a later revision, so writes finishing out of order
+        // (or a rebuild replaying them over a fresher scan) cannot bring back an older copy
+        private void put(Product product) {
+            Entry current = entries.get(product.getId());
+            if (current != null && current.product.getRevision() > product.getRevision()) {
+                return;
+            }
+            remove(product.getId());
+            Entry entry = new Entry(product);
+            entries.put(product.getId(), entry);
+            entry.tokens.forEach((token, weight) -> {
+                Map<String, Integer> posting = postings.get(token);
+                if (posting == null) {
+                    posting = new HashMap<>();
+                    postings.put(token, posting);
+                    for (String trigram : trigramsOf(token)) {
+                        trigrams.computeIfAbsent(trigram, key -> new HashSet<>()).add(token);
+                    }
+                }
+                posting.put(product.getId(), weight);
+            });
+        }
+
+        private void remove(String id) {
+            Entry entry = entries.remove(id);
+            if (entry == null) {
+                return;
+            }
+            for (String token : entry.tokens.keySet()) {
+                Map<String, Integer> posting = postings.get(token);
+                posting.remove(id);
+                if (posting.isEmpty()) {
+                    postings.remove(token);
+                    for (String trigram : trigramsOf(token)) {
+                        Set<String> tokens = trigrams.get(trigram);
+                        tokens.remove(token);
+                        if (tokens.isEmpty()) {
+                            trigrams.remove(trigram);
+                        }
+                    }
+                }
+            }
+        }
+
+        // Product id -> score of the products matching one query term
+        private Map<String, Integer> match(String term, boolean infix) {
+            Map<String, Integer> scores = new HashMap<>();
+            for (Map.Entry<String, Map<String, Integer>> posting : prefixRange(term).entrySet()) {
+                int factor = posting.getKey().equals(term) ? EXACT_FACTOR : PREFIX_FACTOR;
+                posting.getValue().forEach((id, weight) -> scores.merge(id, weight * factor, Integer::sum));
+            }
+
+            if (infix && term.length() >= 3) {
+                for (String token : tokensContaining(term)) {
+                    if (token.startsWith(term)) {
+                        continue;
+                    }
+                    postings.get(token).forEach((id, weight) -> scores.merge(id, weight * INFIX_FACTOR, Integer::sum));
+                }
+            }
+            return scores;
+        }
+
+        private Map<String, Map<String, Integer>> prefixRange(String prefix) {
+            return postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        }
+
+        private Set<String> tokensContaining(String term) {
+            Set<String> candidates = null;
+            for (String trigram : trigramsOf(term)) {
+                Set<String> tokens = trigrams.get(trigram);
+                if (tokens == null) {
+                    return Set.of();
+                }
+                if (candidates == null) {
+                    candidates = new HashSet<>(tokens);
+                } else {
+                    candidates.retainAll(tokens);
+                }
+            }
+            if (candidates == null) {
+                return Set.of();
+            }
+            candidates.removeIf(token -> !token.contains(term));
+            return candidates;
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(Product product) {
+        if (product == null || product.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            index.put(product);
+            if (pendingWrites != null) {
+                pendingWrites.put(product.getId(), product);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void putAll(List<Product> products) {
+        lock.writeLock().lock();
+        try {
+            for (Product product : products) {
+                index.put(product);
+                if (pendingWrites != null) {
+                    pendingWrites.put(product.getId(), product);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            index.remove(id);
+            if (pendingWrites != null) {
+                pendingWrites.put(id, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Products containing every term of the query, best matches first. Each
+     * term matches a whole token, the start of a token or, from three
+     * characters on, any part of it.
+     */
+    public List<Product> search(String text, int limit) {
+        return rank(text, limit, true);
+    }
+
+    /** Like {@link #search} but every term must start a token, as typed in a search box. */
+    public List<Product> autocomplete(String text, int limit) {
+        return rank(text, limit, false);
+    }
+
+    private List<Product> rank(String text, int limit, boolean infix) {
+        List<String> terms = tokenize(text);
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<String, Integer> scores = null;
+            for (String term : terms) {
+                Map<String, Integer> matches = index.match(term, infix);
+                if (scores == null) {
+                    scores = matches;
+                } else {
+                    scores.keySet().retainAll(matches.keySet());
+                    for (Map.Entry<String, Integer> score : scores.entrySet()) {
+                        score.setValue(score.getValue() + matches.get(score.getKey()));
+                    }
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            // Keep the best `limit` hits in a min-heap instead of sorting every match
+            Map<String, Integer> finalScores = scores;
+            Comparator<String> order = Comparator.<String>comparingInt(finalScores::get)
+                .thenComparing(id -> index.entries.get(id).sortName, Comparator.reverseOrder())
+                .thenComparing(Comparator.reverseOrder());
+            PriorityQueue<String> best = new PriorityQueue<>(limit + 1, order);
+            for (String id : scores.keySet()) {
+                best.add(id);
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+
+            List<Product> results = new ArrayList<>(best.size());
+            while (!best.isEmpty()) {
+                results.add(index.entries.get(best.poll()).product);
+            }
+            Collections.reverse(results);
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.search.rebuild-interval-ms:900000}",
+               initialDelayString = "${inventory.search.rebuild-interval-ms:900000}")
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            lock.writeLock().lock();
+            try {
+                pendingWrites = new LinkedHashMap<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            Index built = new Index();
+            try (Stream<Product> products = mongoTemplate.stream(new Query(), Product.class)) {
+                products.forEach(built::put);
+            } catch (RuntimeException e) {
+                lock.writeLock().lock();
+                try {
+                    pendingWrites = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                log.warn("Product search index rebuild failed", e);
+                return;
+            }
+
+            lock.writeLock().lock();
+            try {
+                // Writes made during the scan may be missing from it; replay the latest of each
+                pendingWrites.forEach((id, product) -> {
+                    if (product == null) {
+                        built.remove(id);
+                    } else {
+                        built.put(product);
+                    }
+                });
+                index = built;
+                pendingWrites = null;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.debug("Product search index rebuilt with {} products", built.entries.size());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return folded.toLowerCase(Locale.ROOT);
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(normalize(text))) {
+            if (!token.isEmpty() && !tokens.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static void addTokens(Map<String, Integer> tokens, String text, int weight) {
+        for (String token : tokenize(text)) {
+            tokens.merge(token, weight, Math::max);
+        }
+    }
+
+    private static List<String> trigramsOf(String token) {
+        List<String> grams = new ArrayList<>();
+        for (int i = 0; i + 3 <= token.length(); i++) {
+            grams.add(token.substring(i, i + 3));
+        }
+        return grams;
+    }
+}
@@ -1,30 +1,111 @@
 package com.inventory.api.service;
 
+import com.inventory.api.config.CacheConfig;
 import com.inventory.api.model.Product;
+import com.inventory.api.dto.ProductCursor;
 import com.inventory.api.dto.ProductDTO;
+import com.inventory.api.dto.ProductPageDTO;
+import com.inventory.api.dto.ProductQueryDTO;
+import com.inventory.api.repository.Fieldset;
 import com.inventory.api.repository.ProductRepository;
+import com.inventory.api.config.MetricsConfig;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class ProductService {
 
+    // Counting stops here; beyond it the total is reported as a lower bound
+    private static final long COUNT_CAP = 10_000;
+
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private DashboardAggregateService dashboardAggregate;
+
+    @Autowired
+    private ProductSearchIndex searchIndex;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private LowStockAlertService lowStockAlerts;
+
+    @Autowired
+    private ChangeFeedService changeFeed;
+
+    @Autowired
+    private CollectionVersions versions;
+
     public List<Product> getAllProducts() {
         return productRepository.findAll();
     }
 
+    public ProductPageDTO getProductPage(ProductQueryDTO query, String cursor) {
+        if (cursor != null && !cursor.isBlank()) {
+            ProductCursor.decodeInto(cursor, query);
+        }
+
+        List<Product> items = productRepository.findPage(query, query.getLimit() + 1);
+        boolean hasMore = items.size() > query.getLimit();
+        if (hasMore) {
+            items = items.subList(0, query.getLimit());
+        }
+        String nextCursor = hasMore ? ProductCursor.encode(query, items.get(items.size() - 1)) : null;
+
+        long total = productRepository.countMatching(query, COUNT_CAP);
+        return new ProductPageDTO(items, nextCursor, hasMore, total, total < COUNT_CAP);
+    }
+
     public Optional<Product> getProductById(String id) {
-        return productRepository.findById(id);
+        return cached(CacheConfig.PRODUCTS_BY_ID, id, () -> productRepository.findById(id));
     }
 
     public Optional<Product> getProductByCode(String code) {
-        return productRepository.findByCode(code);
+        return cached(CacheConfig.PRODUCTS_BY_CODE, code, () -> productRepository.findByCode(code));
+    }
+
+    private Optional<Product> cached(String cacheName, String key, Supplier<Optional<Product>> lookup) {
+        Cache cache = cacheManager.getCache(cacheName);
+        Product hit = cache != null ? cache.get(key, Product.class) : null;
+        if (hit != null) {
+            return Optional.of(hit);
+        }
+        Optional<Product> product = lookup.get();
+        product.ifPresent(found -> cacheProduct(cacheName, key, found));
+        return product;
+    }
+
+    /**
+     * Caches the product unless the entry already holds a later revision, so a
+     * read-through that loaded an older copy, or writes finishing out of
+     * order, cannot replace a newer entry.
+     */
+    @SuppressWarnings("unchecked")
+    void cacheProduct(String cacheName, String key, Product product) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null || key == null) {
+            return;
+        }
+        if (cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            ((com.github.benmanes.caffeine.cache.Cache<Object, Object>) caffeine).asMap().merge(key, product,
+                (current, candidate) -> ((Product) current).getRevision() >= ((Product) candidate).getRevision()
+                    ? current : candidate);
+        } else {
+            cache.put(key, product);
+        }
     }
 
     public List<Product> getProductsByCategory(String category) {
@@ -39,8 +120,35 @@ public class ProductService {
         return productRepository.findLowStockProducts();
     }
 
-    public List<Product> searchProducts(String searchTerm) {
-        return productRepository.findBySearchTerm(searchTerm);
+    public List<Map<String, Object>> getProductsByCategory(String category, Fieldset fieldset) {
+        ProductQueryDTO query = new ProductQueryDTO();
+        query.setCategory(category);
+        return fieldset.selectAll(productRepository.findMatching(query, Sort.unsorted(), fieldset));
+    }
+
+    public List<Map<String, Object>> getProductsBySupplier(String supplier, Fieldset fieldset) {
+        ProductQueryDTO query = new ProductQueryDTO();
+        query.setSupplier(supplier);
+        return fieldset.selectAll(productRepository.findMatching(query, Sort.unsorted(), fieldset));
+    }
+
+    public List<Map<String, Object>> getLowStockProducts(Fieldset fieldset) {
+        ProductQueryDTO query = new ProductQueryDTO();
+        query.setStockStatus(ProductQueryDTO.StockStatus.LOW);
+        return fieldset.selectAll(productRepository.findMatching(query, Sort.by(Sort.Direction.DESC, "shortfall"), fieldset));
+    }
+
+    public List<Product> searchProducts(String searchTerm, int limit) {
+        // The regex query scans the whole collection; it only serves until the index is first built
+        if (!searchIndex.isReady()) {
+            List<Product> products = productRepository.findBySearchTerm(searchTerm);
+            return products.size() > limit ? products.subList(0, limit) : products;
+        }
+        return searchIndex.search(searchTerm, limit);
+    }
+
+    public List<Product> autocompleteProducts(String prefix, int limit) {
+        return searchIndex.autocomplete(prefix, limit);
     }
 
     public Product createProduct(ProductDTO productDTO) {
@@ -48,7 +156,21 @@ public class ProductService {
             throw new RuntimeException("Ya existe un producto con el código: " + productDTO.getCode());
         }
 
+        return dashboardAggregate.trackProductWrite(() -> {
+            Product saved = productRepository.save(buildNewProduct(productDTO));
+            afterCreate(List.of(saved));
+            return saved;
+        });
+    }
+
+    Product buildNewProduct(ProductDTO productDTO) {
         Product product = new Product();
+        applyDetails(product, productDTO);
+        product.setCurrentStock(0);
+        return product;
+    }
+
+    void applyDetails(Product product, ProductDTO productDTO) {
         product.setCode(productDTO.getCode());
         product.setName(productDTO.getName());
         product.setDescription(productDTO.getDescription());
@@ -58,9 +180,64 @@ public class ProductService {
         product.setSalePrice(productDTO.getSalePrice());
         product.setUnit(productDTO.getUnit());
         product.setMinimumStock(productDTO.getMinimumStock());
-        product.setCurrentStock(0);
+    }
+
+    void afterCreate(List<Product> products) {
+        for (Product product : products) {
+            dashboardAggregate.productCreated(product);
+        }
+        searchIndex.putAll(products);
+        for (Product product : products) {
+            lowStockAlerts.productChanged(product);
+            changeFeed.productUpserted(product);
+            versions.productChanged(product.getId());
+        }
+    }
+
+    /** Called after any write to an existing product so cached and indexed copies follow it. */
+    public void afterUpdate(Product product) {
+        // The written document replaces the cached one; evicting would let a concurrent read-through cache the old one
+        cacheProduct(CacheConfig.PRODUCTS_BY_ID, product.getId(), product);
+        cacheProduct(CacheConfig.PRODUCTS_BY_CODE, product.getCode(), product);
+        searchIndex.put(product);
+        lowStockAlerts.productChanged(product);
+        versions.productChanged(product.getId());
+    }
+
+    void afterDetailsUpdate(DashboardAggregateService.Contribution before, String previousCode, Product saved) {
+        dashboardAggregate.productChanged(before, saved);
+        if (!saved.getCode().equals(previousCode)) {
+            evictCached(null, previousCode);
+        }
+        afterUpdate(saved);
+        changeFeed.productUpserted(saved);
+    }
+
+    /** Called after the stock of a product changed, with the product in its new state. */
+    public void afterStockChange(Product product, int previousStock) {
+        dashboardAggregate.stockChanged(product, previousStock);
+        afterUpdate(product);
+        changeFeed.stockChanged(product, previousStock);
+    }
+
+    void afterDelete(Product product) {
+        dashboardAggregate.productDeleted(product);
+        evictCached(product.getId(), product.getCode());
+        searchIndex.remove(product.getId());
+        lowStockAlerts.productDeleted(product.getId());
+        changeFeed.productDeleted(product);
+        versions.productChanged(product.getId());
+    }
 
-        return productRepository.save(product);
+    private void evictCached(String id, String code) {
+        Cache byId = cacheManager.getCache(CacheConfig.PRODUCTS_BY_ID);
+        if (byId != null && id != null) {
+            byId.evict(id);
+        }
+        Cache byCode = cacheManager.getCache(CacheConfig.PRODUCTS_BY_CODE);
+        if (byCode != null && code != null) {
+            byCode.evict(code);
+        }
     }
 
     public Product updateProduct(String id, ProductDTO productDTO) {
@@ -73,39 +250,50 @@ public class ProductService {
             throw new RuntimeException("Ya existe un producto con el código: " + productDTO.getCode());
         }
 
-        product.setCode(productDTO.getCode());
-        product.setName(productDTO.getName());
-        product.setDescription(productDTO.getDescription());
-        product.setCategory(productDTO.getCategory());
-        product.setSupplier(productDTO.getSupplier());
-        product.setPurchasePrice(productDTO.getPurchasePrice());
-        product.setSalePrice(productDTO.getSalePrice());
-        product.setUnit(productDTO.getUnit());
-        product.setMinimumStock(productDTO.getMinimumStock());
-        product.setUpdatedAt(LocalDateTime.now());
+        DashboardAggregateService.Contribution before = dashboardAggregate.capture(product);
+        String previousCode = product.getCode();
+        applyDetails(product, productDTO);
 
-        return productRepository.save(product);
+        // Writes only the edited fields so a concurrent stock movement is never overwritten
+        return dashboardAggregate.trackProductWrite(() -> {
+            Product saved = productRepository.updateDetails(product);
+            if (saved == null) {
+                throw new RuntimeException("Producto no encontrado con ID: " + id);
+            }
+            afterDetailsUpdate(before, previousCode, saved);
+            return saved;
+        });
     }
 
     public void deleteProduct(String id) {
-        if (!productRepository.existsById(id)) {
-            throw new RuntimeException("Producto no encontrado con ID: " + id);
-        }
-        productRepository.deleteById(id);
-    }
-
-    public Product updateStock(String id, Integer newStock) {
         Product product = productRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Producto no encontrado con ID: " + id));
+        dashboardAggregate.trackProductWrite(() -> {
+            productRepository.deleteById(id);
+            afterDelete(product);
+            return product;
+        });
+    }
 
+    public Product updateStock(String id, Integer newStock) {
         if (newStock < 0) {
             throw new RuntimeException("El stock no puede ser negativo");
         }
 
-        product.setCurrentStock(newStock);
-        product.setUpdatedAt(LocalDateTime.now());
+        return dashboardAggregate.trackProductWrite(() -> {
+            Product product = productRepository.replaceStock(id, newStock);
+            if (product == null) {
+                throw new RuntimeException("Producto no encontrado con ID: " + id);
+            }
 
-        return productRepository.save(product);
+            // replaceStock returns the document as it was before its update
+            Integer previousStock = product.getCurrentStock();
+            product.setCurrentStock(newStock);
+            product.setUpdatedAt(LocalDateTime.now());
+            product.setRevision(product.getRevision() + 1);
+            afterStockChange(product, previousStock != null ? previousStock : 0);
+            return product;
+        });
     }
 
     public Double getTotalInventoryValue() {
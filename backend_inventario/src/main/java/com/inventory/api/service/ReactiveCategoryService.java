@@ -0,0 +1,92 @@
+package com.inventory.api.service;
+
+import com.inventory.api.config.CacheConfig;
+import com.inventory.api.model.Category;
+import com.inventory.api.repository.reactive.ReactiveCategoryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.util.List;
+
+@Service
+@Profile("reactive")
+public class ReactiveCategoryService {
+
+    @Autowired
+    private ReactiveCategoryRepository categoryRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    // Shares the cache entry of CategoryService#getAllCategories
+    @SuppressWarnings("unchecked")
+    public Flux<Category> getAllCategories() {
+        Cache cache = cacheManager.getCache(CacheConfig.CATEGORIES);
+        Cache.ValueWrapper cached = cache != null ? cache.get(SimpleKey.EMPTY) : null;
+        if (cached != null) {
+            return Flux.fromIterable((List<Category>) cached.get());
+        }
+        return categoryRepository.findAll()
+            .collectList()
+            .doOnNext(categories -> {
+                if (cache != null) {
+                    cache.put(SimpleKey.EMPTY, categories);
+                }
+            })
+            .flatMapIterable(categories -> categories);
+    }
+
+    public Mono<Category> getCategoryById(String id) {
+        return categoryRepository.findById(id);
+    }
+
+    public Mono<Category> getCategoryByName(String name) {
+        return categoryRepository.findByName(name);
+    }
+
+    public Mono<Category> createCategory(Category category) {
+        return categoryRepository.existsByName(category.getName())
+            .flatMap(exists -> exists
+                ? Mono.<Category>error(new RuntimeException("Ya existe una categoría con el nombre: " + category.getName()))
+                : categoryRepository.save(category))
+            .doOnNext(saved -> evictAll());
+    }
+
+    public Mono<Category> updateCategory(String id, Category category) {
+        return categoryRepository.findById(id)
+            .switchIfEmpty(Mono.error(new RuntimeException("Categoría no encontrada con ID: " + id)))
+            .flatMap(existingCategory -> {
+                Mono<Boolean> nameTaken = existingCategory.getName().equals(category.getName())
+                    ? Mono.just(false) : categoryRepository.existsByName(category.getName());
+                return nameTaken.flatMap(taken -> {
+                    if (taken) {
+                        return Mono.<Category>error(new RuntimeException("Ya existe una categoría con el nombre: " + category.getName()));
+                    }
+                    existingCategory.setName(category.getName());
+                    existingCategory.setDescription(category.getDescription());
+                    return categoryRepository.save(existingCategory);
+                });
+            })
+            .doOnNext(saved -> evictAll());
+    }
+
+    public Mono<Void> deleteCategory(String id) {
+        return categoryRepository.existsById(id)
+            .flatMap(exists -> exists
+                ? categoryRepository.deleteById(id)
+                : Mono.<Void>error(new RuntimeException("Categoría no encontrada con ID: " + id)))
+            .doOnSuccess(done -> evictAll());
+    }
+
+    private void evictAll() {
+        Cache cache = cacheManager.getCache(CacheConfig.CATEGORIES);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
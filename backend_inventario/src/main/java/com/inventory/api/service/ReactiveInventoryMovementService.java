@@ -0,0 +1,128 @@
+package com.inventory.api.service;
+
+import com.inventory.api.dto.MovementDTO;
+import com.inventory.api.model.InventoryMovement;
+import com.inventory.api.model.Product;
+import com.inventory.api.repository.reactive.ReactiveInventoryMovementRepository;
+import com.inventory.api.repository.reactive.ReactiveProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Non-blocking variant of {@link InventoryMovementService} for the
+ * {@code reactive} profile, built on the same guarded stock increment.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveInventoryMovementService {
+
+    @Autowired
+    private ReactiveInventoryMovementRepository movementRepository;
+
+    @Autowired
+    private ReactiveProductRepository productRepository;
+
+    @Autowired
+    private InventoryMovementService movementService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private DashboardAggregateService dashboardAggregate;
+
+    @Autowired
+    private MovementRollupService rollupService;
+
+    @Autowired
+    private MovementArchiveService archive;
+
+    @Autowired
+    private MovementSequencer sequencer;
+
+    public Flux<InventoryMovement> getAllMovements() {
+        return movementRepository.findAll();
+    }
+
+    public Mono<InventoryMovement> getMovementById(String id) {
+        return movementRepository.findById(id);
+    }
+
+    public Flux<InventoryMovement> getMovementsByProductId(String productId) {
+        return withArchived(movementRepository.findByProductIdOrderByDateDesc(productId),
+            productId, null, null, Sort.by(Sort.Direction.DESC, "date"));
+    }
+
+    public Flux<InventoryMovement> getMovementsByType(InventoryMovement.MovementType type) {
+        return movementRepository.findByType(type);
+    }
+
+    public Flux<InventoryMovement> getMovementsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        return withArchived(movementRepository.findByDateBetween(startDate, endDate),
+            null, startDate, endDate, Sort.unsorted());
+    }
+
+    public Flux<InventoryMovement> getRecentMovements(int days) {
+        LocalDateTime since = LocalDateTime.now().minusDays(days);
+        return withArchived(movementRepository.findRecentMovements(since), null, since, null, Sort.unsorted());
+    }
+
+    public Flux<InventoryMovement> getLatestMovements() {
+        return movementRepository.findTop10ByOrderByDateDesc();
+    }
+
+    public Mono<InventoryMovement> createMovement(MovementDTO movementDTO) {
+        if (sequencer.isEnabled()) {
+            // Same per-product lanes as the blocking endpoint, so both orders agree
+            return Mono.fromFuture(() -> sequencer.submit(movementDTO));
+        }
+        int adjustedQuantity = movementService.adjustedQuantity(movementDTO);
+
+        Mono<Product> rejected = productRepository.findById(movementDTO.getProductId())
+            .switchIfEmpty(Mono.error(new RuntimeException("Producto no encontrado con ID: " + movementDTO.getProductId())))
+            .flatMap(existing -> Mono.error(new RuntimeException(
+                "No se puede reducir el stock por debajo de 0. Stock actual: " + existing.getCurrentStock())));
+
+        Mono<Product> adjusted = dashboardAggregate.trackProductWrite(
+            productRepository.adjustStock(movementDTO.getProductId(), adjustedQuantity)
+                .doOnNext(product -> productService.afterStockChange(product,
+                    product.getCurrentStock() - adjustedQuantity)));
+
+        return adjusted
+            .switchIfEmpty(rejected)
+            .flatMap(product -> {
+                int newStock = product.getCurrentStock();
+                int previousStock = newStock - adjustedQuantity;
+                InventoryMovement movement = movementService.buildMovement(product, movementDTO, adjustedQuantity,
+                    previousStock, newStock);
+
+                return movementRepository.save(movement)
+                    .doOnNext(saved -> movementService.afterMovementSaved(saved, product.getCategory()));
+            })
+            // Rollup upserts use the blocking template; keep them off the event loop
+            .flatMap(saved -> Mono.fromRunnable(() -> rollupService.recordMovement(saved))
+                .subscribeOn(Schedulers.boundedElastic())
+                .thenReturn(saved));
+    }
+
+    // As MovementArchiveService.withArchived: the cut-over is checked once the hot results are complete
+    private Flux<InventoryMovement> withArchived(Flux<InventoryMovement> hot, String productId,
+                                                 LocalDateTime startDate, LocalDateTime endDate, Sort sort) {
+        return Flux.defer(() -> {
+            Set<String> hotIds = ConcurrentHashMap.newKeySet();
+            return hot.doOnNext(movement -> hotIds.add(movement.getId()))
+                .concatWith(Flux.defer(() -> archive.covers(startDate)
+                    ? movementRepository.findArchived(productId, startDate, endDate, sort)
+                        .filter(movement -> !hotIds.contains(movement.getId()))
+                    : Flux.empty()));
+        });
+    }
+}
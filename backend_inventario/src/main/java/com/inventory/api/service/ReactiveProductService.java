@@ -0,0 +1,138 @@
+package com.inventory.api.service;
+
+import com.inventory.api.config.CacheConfig;
+import com.inventory.api.dto.ProductDTO;
+import com.inventory.api.model.Product;
+import com.inventory.api.repository.reactive.ReactiveProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Non-blocking variant of {@link ProductService} for the {@code reactive}
+ * profile. Writes go through the same atomic updates and finish with the same
+ * post-write hooks, so caches, the search index, the dashboard figures and the
+ * feeds behave exactly as in the servlet mode.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveProductService {
+
+    @Autowired
+    private ReactiveProductRepository productRepository;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private DashboardAggregateService dashboardAggregate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    public Flux<Product> getAllProducts() {
+        return productRepository.findAll();
+    }
+
+    public Mono<Product> getProductById(String id) {
+        return cached(CacheConfig.PRODUCTS_BY_ID, id, productRepository.findById(id));
+    }
+
+    public Mono<Product> getProductByCode(String code) {
+        return cached(CacheConfig.PRODUCTS_BY_CODE, code, productRepository.findByCode(code));
+    }
+
+    public Flux<Product> getProductsByCategory(String category) {
+        return productRepository.findByCategory(category);
+    }
+
+    public Flux<Product> getProductsBySupplier(String supplier) {
+        return productRepository.findBySupplier(supplier);
+    }
+
+    public Flux<Product> getLowStockProducts() {
+        return productRepository.findLowStockProducts();
+    }
+
+    // Served from memory once the search index is built; before that the fallback query blocks
+    public Flux<Product> searchProducts(String searchTerm, int limit) {
+        return Mono.fromCallable(() -> productService.searchProducts(searchTerm, limit))
+            .subscribeOn(Schedulers.boundedElastic())
+            .flatMapIterable(products -> products);
+    }
+
+    public Flux<Product> autocompleteProducts(String prefix, int limit) {
+        return Flux.defer(() -> Flux.fromIterable(productService.autocompleteProducts(prefix, limit)));
+    }
+
+    public Mono<Product> createProduct(ProductDTO productDTO) {
+        return productRepository.existsByCode(productDTO.getCode())
+            .flatMap(exists -> exists
+                ? Mono.<Product>error(new RuntimeException("Ya existe un producto con el código: " + productDTO.getCode()))
+                : dashboardAggregate.trackProductWrite(
+                    productRepository.save(productService.buildNewProduct(productDTO))
+                        .doOnNext(saved -> productService.afterCreate(List.of(saved)))));
+    }
+
+    public Mono<Product> updateProduct(String id, ProductDTO productDTO) {
+        return productRepository.findById(id)
+            .switchIfEmpty(Mono.error(new RuntimeException("Producto no encontrado con ID: " + id)))
+            .flatMap(product -> {
+                Mono<Boolean> codeTaken = product.getCode().equals(productDTO.getCode())
+                    ? Mono.just(false) : productRepository.existsByCode(productDTO.getCode());
+                return codeTaken.flatMap(taken -> {
+                    if (taken) {
+                        return Mono.<Product>error(new RuntimeException("Ya existe un producto con el código: " + productDTO.getCode()));
+                    }
+
+                    DashboardAggregateService.Contribution before = dashboardAggregate.capture(product);
+                    String previousCode = product.getCode();
+                    productService.applyDetails(product, productDTO);
+                    return dashboardAggregate.trackProductWrite(productRepository.updateDetails(product)
+                        .switchIfEmpty(Mono.error(new RuntimeException("Producto no encontrado con ID: " + id)))
+                        .doOnNext(saved -> productService.afterDetailsUpdate(before, previousCode, saved)));
+                });
+            });
+    }
+
+    public Mono<Void> deleteProduct(String id) {
+        return productRepository.findById(id)
+            .switchIfEmpty(Mono.error(new RuntimeException("Producto no encontrado con ID: " + id)))
+            .flatMap(product -> dashboardAggregate.trackProductWrite(productRepository.deleteById(id)
+                .then(Mono.fromRunnable(() -> productService.afterDelete(product)))));
+    }
+
+    public Mono<Product> updateStock(String id, Integer newStock) {
+        if (newStock < 0) {
+            return Mono.error(new RuntimeException("El stock no puede ser negativo"));
+        }
+
+        return dashboardAggregate.trackProductWrite(productRepository.replaceStock(id, newStock)
+            .switchIfEmpty(Mono.error(new RuntimeException("Producto no encontrado con ID: " + id)))
+            .map(product -> {
+                Integer previousStock = product.getCurrentStock();
+                product.setCurrentStock(newStock);
+                product.setUpdatedAt(LocalDateTime.now());
+                product.setRevision(product.getRevision() + 1);
+                productService.afterStockChange(product, previousStock != null ? previousStock : 0);
+                return product;
+            }));
+    }
+
+    // Same entries as the lookups of ProductService, so writes in either mode replace them
+    private Mono<Product> cached(String cacheName, String key, Mono<Product> lookup) {
+        Cache cache = cacheManager.getCache(cacheName);
+        Product hit = cache != null ? cache.get(key, Product.class) : null;
+        if (hit != null) {
+            return Mono.just(hit);
+        }
+        return lookup.doOnNext(product -> productService.cacheProduct(cacheName, key, product));
+    }
+}
@@ -0,0 +1,94 @@
+package com.inventory.api.service;
+
+import com.inventory.api.config.CacheConfig;
+import com.inventory.api.model.Supplier;
+import com.inventory.api.repository.reactive.ReactiveSupplierRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.util.List;
+
+@Service
+@Profile("reactive")
+public class ReactiveSupplierService {
+
+    @Autowired
+    private ReactiveSupplierRepository supplierRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    // Shares the cache entry of SupplierService#getAllSuppliers
+    @SuppressWarnings("unchecked")
+    public Flux<Supplier> getAllSuppliers() {
+        Cache cache = cacheManager.getCache(CacheConfig.SUPPLIERS);
+        Cache.ValueWrapper cached = cache != null ? cache.get(SimpleKey.EMPTY) : null;
+        if (cached != null) {
+            return Flux.fromIterable((List<Supplier>) cached.get());
+        }
+        return supplierRepository.findAll()
+            .collectList()
+            .doOnNext(suppliers -> {
+                if (cache != null) {
+                    cache.put(SimpleKey.EMPTY, suppliers);
+                }
+            })
+            .flatMapIterable(suppliers -> suppliers);
+    }
+
+    public Mono<Supplier> getSupplierById(String id) {
+        return supplierRepository.findById(id);
+    }
+
+    public Mono<Supplier> getSupplierByName(String name) {
+        return supplierRepository.findByName(name);
+    }
+
+    public Mono<Supplier> createSupplier(Supplier supplier) {
+        return supplierRepository.existsByName(supplier.getName())
+            .flatMap(exists -> exists
+                ? Mono.<Supplier>error(new RuntimeException("Ya existe un proveedor con el nombre: " + supplier.getName()))
+                : supplierRepository.save(supplier))
+            .doOnNext(saved -> evictAll());
+    }
+
+    public Mono<Supplier> updateSupplier(String id, Supplier supplier) {
+        return supplierRepository.findById(id)
+            .switchIfEmpty(Mono.error(new RuntimeException("Proveedor no encontrado con ID: " + id)))
+            .flatMap(existingSupplier -> {
+                Mono<Boolean> nameTaken = existingSupplier.getName().equals(supplier.getName())
+                    ? Mono.just(false) : supplierRepository.existsByName(supplier.getName());
+                return nameTaken.flatMap(taken -> {
+                    if (taken) {
+                        return Mono.<Supplier>error(new RuntimeException("Ya existe un proveedor con el nombre: " + supplier.getName()));
+                    }
+                    existingSupplier.setName(supplier.getName());
+                    existingSupplier.setContact(supplier.getContact());
+                    existingSupplier.setPhone(supplier.getPhone());
+                    existingSupplier.setEmail(supplier.getEmail());
+                    return supplierRepository.save(existingSupplier);
+                });
+            })
+            .doOnNext(saved -> evictAll());
+    }
+
+    public Mono<Void> deleteSupplier(String id) {
+        return supplierRepository.existsById(id)
+            .flatMap(exists -> exists
+                ? supplierRepository.deleteById(id)
+                : Mono.<Void>error(new RuntimeException("Proveedor no encontrado con ID: " + id)))
+            .doOnSuccess(done -> evictAll());
+    }
+
+    private void evictAll() {
+        Cache cache = cacheManager.getCache(CacheConfig.SUPPLIERS);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.inventory.api.service;
+
+import com.inventory.api.dto.InventoryReportDTO;
+import com.inventory.api.dto.MovementBucketDTO;
+import com.inventory.api.model.InventoryMovement;
+import com.inventory.api.model.MovementRollup;
+import com.inventory.api.model.Product;
+import com.inventory.api.config.MetricsConfig;
+import io.micrometer.core.annotation.Timed;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Builds the Reports screen figures with aggregation pipelines so that only
+ * the grouped result leaves MongoDB. Every pipeline filters by date before
+ * grouping, projects away unused fields and may spill to disk. Monthly
+ * histograms are read from the movement rollups.
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class ReportService {
+
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private AsyncTaskExecutor taskExecutor;
+
+    @Value("${inventory.reports.max-time-seconds:30}")
+    private long maxTimeSeconds;
+
+    public InventoryReportDTO getOverview(int days) {
+        LocalDateTime since = LocalDateTime.now().minusDays(days);
+        // The movement count runs alongside the product aggregation; if no thread
+        // has picked it up by the time the aggregation returns, this thread runs it
+        Query recent = new Query(Criteria.where("date").gte(since)).maxTime(Duration.ofSeconds(maxTimeSeconds));
+        FutureTask<Long> recentMovements = new FutureTask<>(() -> mongoTemplate.count(recent, InventoryMovement.class));
+        try {
+            taskExecutor.execute(recentMovements);
+        } catch (TaskRejectedException e) {
+            // Saturated executor: run it inline below
+        }
+
+        Document result = aggregateProducts();
+
+        InventoryReportDTO report = new InventoryReportDTO();
+        report.setTotalProducts(0L);
+        report.setTotalValue(0.0);
+        report.setLowStockItems(0L);
+        report.setCategories(new ArrayList<>());
+
+        if (result != null) {
+            List<Document> totals = result.getList("totals", Document.class);
+            if (!totals.isEmpty()) {
+                Document row = totals.get(0);
+                report.setTotalProducts(asLong(row.get("count")));
+                report.setTotalValue(asDouble(row.get("value")));
+                report.setLowStockItems(asLong(row.get("low")));
+            }
+            report.setCategories(toCategoryBreakdown(result.getList("categories", Document.class)));
+        }
+
+        recentMovements.run();
+        report.setRecentMovements(join(recentMovements));
+        report.setRecentMovementDays(days);
+        return report;
+    }
+
+    public List<InventoryReportDTO.CategoryBreakdownDTO> getCategoryBreakdown() {
+        Document result = aggregateProducts();
+        if (result == null) {
+            return new ArrayList<>();
+        }
+        return toCategoryBreakdown(result.getList("categories", Document.class));
+    }
+
+    // One pass over products producing both the grand totals and the per-category rows
+    private Document aggregateProducts() {
+        Aggregation aggregation = Aggregation.newAggregation(
+            Aggregation.project("category")
+                .and(ConditionalOperators.ifNull("currentStock").then(0)).as("stock")
+                .and(ArithmeticOperators.Multiply.valueOf(
+                        ConditionalOperators.ifNull("currentStock").then(0))
+                    .multiplyBy(ConditionalOperators.ifNull("salePrice").then(0)))
+                .as("value")
+                .and(ConditionalOperators.when(
+                        ComparisonOperators.Eq.valueOf("lowStock").equalToValue(true))
+                    .then(1).otherwise(0))
+                .as("low"),
+            Aggregation.facet(
+                    Aggregation.group()
+                        .count().as("count")
+                        .sum("value").as("value")
+                        .sum("low").as("low"))
+                .as("totals")
+                .and(
+                    Aggregation.group("category")
+                        .count().as("count")
+                        .sum("stock").as("stock")
+                        .sum("value").as("value")
+                        .sum("low").as("low"),
+                    Aggregation.sort(Sort.Direction.ASC, "_id"))
+                .as("categories"))
+            .withOptions(options());
+
+        return mongoTemplate.aggregate(aggregation, Product.class, Document.class).getUniqueMappedResult();
+    }
+
+    public List<MovementBucketDTO> getMovementsByMonth(int months) {
+        LocalDateTime since = MovementRollup.Granularity.MONTH.bucketStart(LocalDateTime.now())
+            .minusMonths(Math.max(months - 1, 0));
+
+        // Monthly buckets are maintained by MovementRollupService, so this reads
+        // one small document per product and type instead of every movement
+        Aggregation aggregation = Aggregation.newAggregation(
+            Aggregation.match(Criteria.where("granularity").is(MovementRollup.Granularity.MONTH)
+                .and("bucketStart").gte(since)),
+            Aggregation.group("bucketStart")
+                .sum("count").as("count")
+                .sum("totalQuantity").as("quantity"),
+            Aggregation.sort(Sort.Direction.ASC, "_id"))
+            .withOptions(options());
+
+        List<MovementBucketDTO> buckets = new ArrayList<>();
+        for (Document row : mongoTemplate.aggregate(aggregation, MovementRollup.class, Document.class)) {
+            LocalDateTime month = LocalDateTime.ofInstant(row.getDate("_id").toInstant(), ZoneId.systemDefault());
+            buckets.add(new MovementBucketDTO(month.format(MONTH_FORMAT),
+                asLong(row.get("count")), asLong(row.get("quantity"))));
+        }
+        return buckets;
+    }
+
+    public List<MovementBucketDTO> getMovementsByType(int days) {
+        LocalDateTime since = LocalDateTime.now().minusDays(days);
+
+        Aggregation aggregation = Aggregation.newAggregation(
+            Aggregation.match(Criteria.where("date").gte(since)),
+            Aggregation.project("type", "quantity"),
+            Aggregation.group("type")
+                .count().as("count")
+                .sum("quantity").as("quantity"),
+            Aggregation.sort(Sort.Direction.ASC, "_id"))
+            .withOptions(options());
+
+        List<MovementBucketDTO> buckets = new ArrayList<>();
+        for (Document row : mongoTemplate.aggregate(aggregation, InventoryMovement.class, Document.class)) {
+            buckets.add(new MovementBucketDTO(row.getString("_id"),
+                asLong(row.get("count")), asLong(row.get("quantity"))));
+        }
+        return buckets;
+    }
+
+    private static <T> T join(FutureTask<T> task) {
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Consulta interrumpida", e);
+        }
+    }
+
+    private AggregationOptions options() {
+        return AggregationOptions.builder()
+            .allowDiskUse(true)
+            .maxTime(Duration.ofSeconds(maxTimeSeconds))
+            .build();
+    }
+
+    private List<InventoryReportDTO.CategoryBreakdownDTO> toCategoryBreakdown(List<Document> rows) {
+        List<InventoryReportDTO.CategoryBreakdownDTO> categories = new ArrayList<>();
+        for (Document row : rows) {
+            categories.add(new InventoryReportDTO.CategoryBreakdownDTO(
+                row.getString("_id"),
+                asLong(row.get("count")),
+                asLong(row.get("stock")),
+                asDouble(row.get("value")),
+                asLong(row.get("low"))));
+        }
+        return categories;
+    }
+
+    private static Long asLong(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : 0L;
+    }
+
+    private static Double asDouble(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : 0.0;
+    }
+}
@@ -0,0 +1,110 @@
+package com.inventory.api.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * One server-sent events connection with its own bounded queue, drained by a
+ * shared dispatch pool so whoever publishes never waits on the client. A
+ * subscriber that falls a full queue behind is disconnected; the client
+ * catches up when it reconnects.
+ */
+class SseSubscriber {
+
+    private final SseEmitter emitter;
+    private final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue;
+    private final Executor dispatcher;
+    private final Consumer<SseSubscriber> onClose;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean closed;
+    // Events to send before the queue, set once before the subscriber is registered
+    private Iterable<Set<ResponseBodyEmitter.DataWithMediaType>> backlog = List.of();
+
+    SseSubscriber(SseEmitter emitter, int queueSize, Executor dispatcher, Consumer<SseSubscriber> onClose) {
+        this.emitter = emitter;
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.dispatcher = dispatcher;
+        this.onClose = onClose;
+        emitter.onCompletion(this::close);
+        emitter.onTimeout(this::close);
+        emitter.onError(error -> close());
+    }
+
+    /**
+     * Sets the events to send ahead of anything offered. They are only
+     * iterated by the dispatch pool, so a caller holding a lock can hand over
+     * a lazy view; {@link #start} schedules them once the lock is released.
+     */
+    void startWith(Iterable<Set<ResponseBodyEmitter.DataWithMediaType>> events) {
+        this.backlog = events;
+    }
+
+    void start() {
+        if (draining.compareAndSet(false, true)) {
+            dispatcher.execute(this::drain);
+        }
+    }
+
+    void offer(Set<ResponseBodyEmitter.DataWithMediaType> event) {
+        if (closed) {
+            return;
+        }
+        if (!queue.offer(event)) {
+            // Too far behind: drop the connection rather than hold up the publisher
+            close();
+            emitter.completeWithError(new IllegalStateException("Suscriptor demasiado lento"));
+            return;
+        }
+        if (draining.compareAndSet(false, true)) {
+            dispatcher.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        Iterable<Set<ResponseBodyEmitter.DataWithMediaType>> replayed = backlog;
+        backlog = List.of();
+        for (Set<ResponseBodyEmitter.DataWithMediaType> event : replayed) {
+            if (!send(event)) {
+                return;
+            }
+        }
+        while (true) {
+            Set<ResponseBodyEmitter.DataWithMediaType> event;
+            while (!closed && (event = queue.poll()) != null) {
+                send(event);
+            }
+            draining.set(false);
+            // An event offered after the last poll but before the flag was cleared
+            if (closed || queue.isEmpty() || !draining.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    private boolean send(Set<ResponseBodyEmitter.DataWithMediaType> event) {
+        if (closed) {
+            return false;
+        }
+        try {
+            emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            close();
+            return false;
+        }
+    }
+
+    void close() {
+        closed = true;
+        queue.clear();
+        onClose.accept(this);
+    }
+}
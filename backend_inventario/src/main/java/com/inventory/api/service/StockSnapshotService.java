@@ -0,0 +1,284 @@
+package com.inventory.api.service;
+
+import com.inventory.api.dto.StockAsOfDTO;
+import com.inventory.api.model.ArchivedMovement;
+import com.inventory.api.model.InventoryMovement;
+import com.inventory.api.model.Product;
+import com.inventory.api.model.StockSnapshot;
+import com.inventory.api.model.StockSnapshotRun;
+import com.inventory.api.config.MetricsConfig;
+import io.micrometer.core.annotation.Timed;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.LiteralOperators;
+import org.springframework.data.mongodb.core.aggregation.MergeOperation;
+import org.springframework.data.mongodb.core.aggregation.UnionWithOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Records per-product stock snapshots at day boundaries and answers "what was
+ * the stock on date D" from them. Each boundary only snapshots the products
+ * that moved since the previous one, so a product's latest snapshot up to a
+ * boundary is its stock there. Reconstruction starts from the latest boundary
+ * before D and applies only the movements between it and D, in chunks of
+ * products, instead of replaying the whole history.
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class StockSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(StockSnapshotService.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${inventory.snapshots.enabled:true}")
+    private boolean enabled;
+
+    @Value("${inventory.snapshots.reconstruct-batch-size:1000}")
+    private int batchSize;
+
+    @Value("${inventory.export.cursor-batch-size:1000}")
+    private int cursorBatchSize;
+
+    private final Lock snapshotLock = new ReentrantLock();
+
+    @Scheduled(fixedDelayString = "${inventory.snapshots.interval-ms:3600000}",
+               initialDelayString = "${inventory.snapshots.initial-delay-ms:120000}")
+    public void scheduledSnapshot() {
+        if (!enabled) {
+            return;
+        }
+        // Movements are dated when built, a moment before they are written; leave them time to land
+        LocalDateTime boundary = LocalDateTime.now().minusMinutes(1).toLocalDate().atStartOfDay();
+        try {
+            StockSnapshotRun latest = latestRun(Criteria.where("asOf").lte(boundary));
+            if (latest == null || latest.getAsOf().isBefore(boundary)) {
+                long products = snapshotAt(boundary);
+                log.info("Stock snapshot as of {} recorded for {} products", boundary, products);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Stock snapshot failed", e);
+        }
+    }
+
+    /**
+     * Snapshots, as of {@code boundary}, every product with a movement since the
+     * previous boundary (in the whole history on the first run), reading the
+     * archive as well, then registers the boundary as complete. Re-running a
+     * boundary rewrites the same snapshots.
+     *
+     * @return the number of products snapshotted at the boundary
+     */
+    public long snapshotAt(LocalDateTime boundary) {
+        snapshotLock.lock();
+        try {
+            StockSnapshotRun previous = latestRun(Criteria.where("asOf").lt(boundary));
+            Criteria window = previous != null
+                ? Criteria.where("date").gte(previous.getAsOf()).lt(boundary)
+                : Criteria.where("date").lt(boundary);
+
+            List<AggregationOperation> stages = latestPerProduct(window, "newStock");
+            stages.add(Aggregation.project("stock")
+                .and("_id").as("productId")
+                .and(LiteralOperators.Literal.asLiteral(toDate(boundary))).as("asOf")
+                .and(LiteralOperators.Literal.asLiteral(new Date())).as("createdAt")
+                .andExclude("_id"));
+            stages.add(MergeOperation.builder()
+                .intoCollection(mongoTemplate.getCollectionName(StockSnapshot.class))
+                .on("productId", "asOf")
+                .whenMatched(MergeOperation.WhenDocumentsMatch.replaceDocument())
+                .whenNotMatched(MergeOperation.WhenDocumentsDontMatch.insertNewDocument())
+                .build());
+            Aggregation aggregation = Aggregation.newAggregation(stages)
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).skipOutput().build());
+            mongoTemplate.aggregate(aggregation, InventoryMovement.class, Document.class);
+
+            long products = mongoTemplate.count(new Query(Criteria.where("asOf").is(boundary)), StockSnapshot.class);
+            mongoTemplate.upsert(new Query(Criteria.where("asOf").is(boundary)),
+                new Update().set("products", products).set("createdAt", LocalDateTime.now()),
+                StockSnapshotRun.class);
+            return products;
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    /**
+     * The stock every product had as of {@code date}, i.e. after every movement
+     * dated before it, in {@code _id} order. Products created after the date are
+     * left out. The stream holds a cursor and must be closed.
+     */
+    public Stream<StockAsOfDTO> stockAsOf(LocalDateTime date) {
+        StockSnapshotRun base = latestRun(Criteria.where("asOf").lte(date));
+        LocalDateTime from = base != null ? base.getAsOf() : null;
+
+        Query productQuery = new Query(new Criteria().orOperator(
+                Criteria.where("createdAt").lte(date), Criteria.where("createdAt").is(null)))
+            .with(Sort.by(Sort.Direction.ASC, "_id"))
+            .cursorBatchSize(cursorBatchSize);
+        productQuery.fields().include("code", "name", "category", "unit", "purchasePrice", "currentStock");
+        Stream<Product> products = mongoTemplate.stream(productQuery, Product.class);
+        Iterator<Product> source = products.iterator();
+
+        Iterator<StockAsOfDTO> rows = new Iterator<>() {
+            private Iterator<StockAsOfDTO> chunk = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!chunk.hasNext() && source.hasNext()) {
+                    List<Product> batch = new ArrayList<>(batchSize);
+                    while (source.hasNext() && batch.size() < batchSize) {
+                        batch.add(source.next());
+                    }
+                    chunk = reconstruct(batch, from, date).iterator();
+                }
+                return chunk.hasNext();
+            }
+
+            @Override
+            public StockAsOfDTO next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return chunk.next();
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED), false)
+            .onClose(products::close);
+    }
+
+    private List<StockAsOfDTO> reconstruct(List<Product> products, LocalDateTime from, LocalDateTime date) {
+        List<String> ids = new ArrayList<>(products.size());
+        for (Product product : products) {
+            ids.add(product.getId());
+        }
+
+        // Stock at the base boundary, then the last movement between it and the date on top
+        Map<String, Integer> stock = new HashMap<>();
+        if (from != null) {
+            stock.putAll(latestSnapshots(ids, from));
+        }
+        Criteria delta = from != null
+            ? Criteria.where("productId").in(ids).and("date").gte(from).lt(date)
+            : Criteria.where("productId").in(ids).and("date").lt(date);
+        stock.putAll(firstPerProduct(latestPerProduct(delta, "newStock")));
+
+        // Nothing moved before the date: the stock is what the first later movement started from
+        List<String> unmoved = new ArrayList<>();
+        for (String id : ids) {
+            if (!stock.containsKey(id)) {
+                unmoved.add(id);
+            }
+        }
+        Map<String, Integer> opening = unmoved.isEmpty()
+            ? Map.of()
+            : firstPerProduct(earliestPerProduct(Criteria.where("productId").in(unmoved).and("date").gte(date),
+                "previousStock"));
+
+        List<StockAsOfDTO> rows = new ArrayList<>(products.size());
+        for (Product product : products) {
+            Integer value = stock.get(product.getId());
+            if (value == null) {
+                value = opening.getOrDefault(product.getId(), product.getCurrentStock());
+            }
+            StockAsOfDTO row = new StockAsOfDTO();
+            row.setProductId(product.getId());
+            row.setProductCode(product.getCode());
+            row.setProductName(product.getName());
+            row.setCategory(product.getCategory());
+            row.setUnit(product.getUnit());
+            row.setStock(value);
+            row.setPurchasePrice(product.getPurchasePrice());
+            if (value != null && product.getPurchasePrice() != null) {
+                row.setStockValue(value * product.getPurchasePrice());
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private Map<String, Integer> latestSnapshots(List<String> ids, LocalDateTime asOf) {
+        Aggregation aggregation = Aggregation.newAggregation(
+            Aggregation.match(Criteria.where("productId").in(ids).and("asOf").lte(asOf)),
+            Aggregation.sort(Sort.by(Sort.Order.asc("productId"), Sort.Order.desc("asOf"))),
+            Aggregation.group("productId").first("stock").as("stock"));
+        Map<String, Integer> stock = new HashMap<>();
+        for (Document document : mongoTemplate.aggregate(aggregation, StockSnapshot.class, Document.class)) {
+            stock.put(document.getString("_id"), document.getInteger("stock"));
+        }
+        return stock;
+    }
+
+    private Map<String, Integer> firstPerProduct(List<AggregationOperation> stages) {
+        Aggregation aggregation = Aggregation.newAggregation(stages)
+            .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+        Map<String, Integer> stock = new HashMap<>();
+        for (Document document : mongoTemplate.aggregate(aggregation, InventoryMovement.class, Document.class)) {
+            stock.put(document.getString("_id"), document.getInteger("stock"));
+        }
+        return stock;
+    }
+
+    // The field of the last committed matching movement of each product, hot or archived. Dates and
+    // ids are taken before the stock update lands, so concurrent movements are ordered by the product
+    // revision their update produced; older movements without one sort first, by date
+    private List<AggregationOperation> latestPerProduct(Criteria criteria, String field) {
+        return perProduct(criteria, field, Sort.by(Sort.Order.asc("productId"), Sort.Order.desc("stockRevision"),
+            Sort.Order.desc("date"), Sort.Order.desc("id")));
+    }
+
+    private List<AggregationOperation> earliestPerProduct(Criteria criteria, String field) {
+        return perProduct(criteria, field, Sort.by(Sort.Order.asc("productId"), Sort.Order.asc("stockRevision"),
+            Sort.Order.asc("date"), Sort.Order.asc("id")));
+    }
+
+    // A movement copied to the archive but not yet removed appears twice, with the same values
+    private List<AggregationOperation> perProduct(Criteria criteria, String field, Sort sort) {
+        List<AggregationOperation> stages = new ArrayList<>();
+        stages.add(Aggregation.match(criteria));
+        stages.add(UnionWithOperation.unionWith(mongoTemplate.getCollectionName(ArchivedMovement.class))
+            .pipeline(Aggregation.match(criteria))
+            .mapFieldsTo(InventoryMovement.class));
+        stages.add(Aggregation.sort(sort));
+        stages.add(Aggregation.group("productId").first(field).as("stock"));
+        return stages;
+    }
+
+    private StockSnapshotRun latestRun(Criteria asOf) {
+        Query query = new Query(asOf).with(Sort.by(Sort.Direction.DESC, "asOf"));
+        return mongoTemplate.findOne(query, StockSnapshotRun.class);
+    }
+
+    private static Date toDate(LocalDateTime dateTime) {
+        return Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+    }
+}
\ No newline at end of file
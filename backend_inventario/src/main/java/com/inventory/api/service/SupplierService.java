@@ -2,17 +2,28 @@ package com.inventory.api.service;
 
 import com.inventory.api.model.Supplier;
 import com.inventory.api.repository.SupplierRepository;
+import com.inventory.api.config.CacheConfig;
+import com.inventory.api.config.MetricsConfig;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import java.util.List;
 import java.util.Optional;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class SupplierService {
 
     @Autowired
     private SupplierRepository supplierRepository;
 
+    @Autowired
+    private CollectionVersions versions;
+
+    @Cacheable(CacheConfig.SUPPLIERS)
     public List<Supplier> getAllSuppliers() {
         return supplierRepository.findAll();
     }
@@ -25,13 +36,25 @@ public class SupplierService {
         return supplierRepository.findByName(name);
     }
 
+    // Evicted on both sides of the write: a read that started before it can still cache the old list
+    // once the write is done, which the short TTL bounds
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.SUPPLIERS, allEntries = true, beforeInvocation = true),
+        @CacheEvict(cacheNames = CacheConfig.SUPPLIERS, allEntries = true)
+    })
     public Supplier createSupplier(Supplier supplier) {
         if (supplierRepository.existsByName(supplier.getName())) {
             throw new RuntimeException("Ya existe un proveedor con el nombre: " + supplier.getName());
         }
-        return supplierRepository.save(supplier);
+        Supplier saved = supplierRepository.save(supplier);
+        versions.bump(CollectionVersions.Collection.SUPPLIERS);
+        return saved;
     }
 
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.SUPPLIERS, allEntries = true, beforeInvocation = true),
+        @CacheEvict(cacheNames = CacheConfig.SUPPLIERS, allEntries = true)
+    })
     public Supplier updateSupplier(String id, Supplier supplier) {
         Supplier existingSupplier = supplierRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Proveedor no encontrado con ID: " + id));
@@ -46,13 +69,20 @@ public class SupplierService {
         existingSupplier.setPhone(supplier.getPhone());
         existingSupplier.setEmail(supplier.getEmail());
 
-        return supplierRepository.save(existingSupplier);
+        Supplier saved = supplierRepository.save(existingSupplier);
+        versions.bump(CollectionVersions.Collection.SUPPLIERS);
+        return saved;
     }
 
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.SUPPLIERS, allEntries = true, beforeInvocation = true),
+        @CacheEvict(cacheNames = CacheConfig.SUPPLIERS, allEntries = true)
+    })
     public void deleteSupplier(String id) {
         if (!supplierRepository.existsById(id)) {
             throw new RuntimeException("Proveedor no encontrado con ID: " + id);
         }
         supplierRepository.deleteById(id);
+        versions.bump(CollectionVersions.Collection.SUPPLIERS);
     }
 }
\ No newline at end of file
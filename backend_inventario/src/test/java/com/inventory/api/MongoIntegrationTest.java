@@ -0,0 +1,25 @@
+package com.inventory.api;
+
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Base for tests that need a real MongoDB. One container is started per JVM
+ * and shared by every subclass; without Docker the tests fail rather than
+ * being skipped, so a green build always means they ran.
+ */
+public abstract class MongoIntegrationTest {
+
+    private static final MongoDBContainer MONGO = new MongoDBContainer(DockerImageName.parse("mongo:7.0"));
+
+    static {
+        MONGO.start();
+    }
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", MONGO::getConnectionString);
+    }
+}
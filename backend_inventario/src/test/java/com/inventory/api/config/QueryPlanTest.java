@@ -0,0 +1,71 @@
+package com.inventory.api.config;
+
+import com.inventory.api.MongoIntegrationTest;
+import com.inventory.api.dto.IndexReportDTO;
+import com.inventory.api.repository.CategoryRepository;
+import com.inventory.api.repository.InventoryMovementRepository;
+import com.inventory.api.repository.InventoryMovementRepositoryCustom;
+import com.inventory.api.repository.ProductRepository;
+import com.inventory.api.repository.ProductRepositoryCustom;
+import com.inventory.api.repository.SupplierRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Explains the commands the repositories actually send, captured from the
+ * driver by the same {@link IndexManager} probes the actuator reports, and
+ * fails on any collection scan that is not expected. Runs against the MongoDB
+ * container of {@link MongoIntegrationTest}. The test profile also turns on
+ * {@code fail-on-collscan}, so the probes gate startup.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class QueryPlanTest extends MongoIntegrationTest {
+
+    private static final List<Class<?>> REPOSITORIES = List.of(
+        ProductRepository.class, ProductRepositoryCustom.class,
+        InventoryMovementRepository.class, InventoryMovementRepositoryCustom.class,
+        CategoryRepository.class, SupplierRepository.class);
+
+    @Autowired
+    private IndexManager indexManager;
+
+    @Test
+    void repositoryQueriesUseIndexes() {
+        List<String> scans = indexManager.getReport().getPlans().stream()
+            .filter(plan -> plan.getCollectionScan() && !plan.getCollectionScanExpected())
+            .map(plan -> plan.getMethod() + " " + plan.getWinningPlan())
+            .collect(Collectors.toList());
+
+        assertTrue(scans.isEmpty(), "Queries planned as COLLSCAN: " + scans);
+    }
+
+    @Test
+    void everyRepositoryMethodIsProbed() {
+        Set<String> probed = indexManager.getReport().getPlans().stream()
+            .map(IndexReportDTO.QueryPlanDTO::getMethod)
+            .map(method -> method.contains("(") ? method.substring(0, method.indexOf('(')) : method)
+            .collect(Collectors.toSet());
+
+        Set<String> missing = new TreeSet<>();
+        for (Class<?> repository : REPOSITORIES) {
+            // Custom fragments are reported under the repository that exposes them
+            String owner = repository.getSimpleName().replace("Custom", "");
+            for (Method method : repository.getDeclaredMethods()) {
+                if (!probed.contains(owner + "." + method.getName())) {
+                    missing.add(owner + "." + method.getName());
+                }
+            }
+        }
+
+        assertTrue(missing.isEmpty(), "Repository methods without a plan probe: " + missing);
+    }
+}
@@ -0,0 +1,134 @@
+package com.inventory.api.service;
+
+import com.inventory.api.MongoIntegrationTest;
+import com.inventory.api.model.InventoryMovement;
+import com.inventory.api.model.Product;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reconciles the dashboard figures while writes are between their MongoDB
+ * call and their hook, where a scan can see a write its hook then counts again.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class DashboardAggregateServiceTest extends MongoIntegrationTest {
+
+    @Autowired
+    private DashboardAggregateService dashboardAggregate;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Test
+    void productWriteInFlightDuringScanIsCountedOnce() throws InterruptedException {
+        dashboardAggregate.reconcile();
+        int before = dashboardAggregate.getStats().getTotalProducts();
+
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread writer = new Thread(() -> {
+            try {
+                dashboardAggregate.trackProductWrite(() -> {
+                    Product product = new Product();
+                    product.setCode("DASH-" + new ObjectId().toHexString());
+                    product.setName("Producto");
+                    product.setCurrentStock(1);
+                    mongoTemplate.insert(product);
+                    written.countDown();
+                    await(release);
+                    dashboardAggregate.productCreated(product);
+                    return product;
+                });
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        });
+        writer.start();
+        try {
+            assertTrue(written.await(10, TimeUnit.SECONDS));
+            // The scan sees the document, the hook has not run yet
+            dashboardAggregate.reconcile();
+        } finally {
+            release.countDown();
+            writer.join();
+        }
+
+        assertNull(failure.get());
+        assertEquals(before + 1, dashboardAggregate.getStats().getTotalProducts());
+        dashboardAggregate.reconcile();
+        assertEquals(before + 1, dashboardAggregate.getStats().getTotalProducts());
+    }
+
+    @Test
+    void movementsWrittenDuringScanAreCountedOnce() throws InterruptedException {
+        dashboardAggregate.reconcile();
+        int before = dashboardAggregate.getStats().getRecentMovements();
+
+        AtomicBoolean reconciling = new AtomicBoolean(true);
+        AtomicInteger writtenDuring = new AtomicInteger();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread writer = new Thread(() -> {
+            try {
+                while (reconciling.get()) {
+                    InventoryMovement movement = writeMovement();
+                    dashboardAggregate.movementRecorded(movement);
+                    writtenDuring.incrementAndGet();
+                    Thread.sleep(20);
+                }
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        });
+        writer.start();
+        try {
+            dashboardAggregate.reconcile();
+        } finally {
+            reconciling.set(false);
+            writer.join();
+        }
+
+        assertNull(failure.get());
+        assertTrue(writtenDuring.get() > 0, "No movement was written during the reconciliation");
+        assertEquals(before + writtenDuring.get(), dashboardAggregate.getStats().getRecentMovements());
+    }
+
+    @Test
+    void movementHookArrivingAfterScanIsNotCountedAgain() {
+        dashboardAggregate.reconcile();
+        int before = dashboardAggregate.getStats().getRecentMovements();
+
+        InventoryMovement movement = writeMovement();
+        dashboardAggregate.reconcile();
+        dashboardAggregate.movementRecorded(movement);
+
+        assertEquals(before + 1, dashboardAggregate.getStats().getRecentMovements());
+    }
+
+    private InventoryMovement writeMovement() {
+        InventoryMovement movement = new InventoryMovement(new ObjectId().toHexString(), "Producto", "DASH",
+            InventoryMovement.MovementType.ENTRY, 1, 0, 1, null, "test");
+        return mongoTemplate.insert(movement);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
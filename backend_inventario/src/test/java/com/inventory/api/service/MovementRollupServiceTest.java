@@ -0,0 +1,92 @@
+package com.inventory.api.service;
+
+import com.inventory.api.MongoIntegrationTest;
+import com.inventory.api.model.InventoryMovement;
+import com.inventory.api.model.MovementRollup;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.context.ActiveProfiles;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Rebuilds the rollups of the current month while movements keep arriving,
+ * the way the startup backfill does once the application takes traffic.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class MovementRollupServiceTest extends MongoIntegrationTest {
+
+    @Autowired
+    private MovementRollupService rollupService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Test
+    void rebuildKeepsMovementsWrittenDuringIt() throws InterruptedException {
+        String productId = new ObjectId().toHexString();
+        for (int i = 0; i < 5; i++) {
+            writeMovement(productId);
+        }
+        // An open bucket that drifted must be repaired, not kept
+        mongoTemplate.updateMulti(new Query(Criteria.where("productId").is(productId)),
+            new Update().set("count", 1L).set("totalQuantity", 1L), MovementRollup.class);
+
+        AtomicBoolean rebuilding = new AtomicBoolean(true);
+        AtomicInteger writtenDuring = new AtomicInteger();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread writer = new Thread(() -> {
+            try {
+                while (rebuilding.get()) {
+                    writeMovement(productId);
+                    writtenDuring.incrementAndGet();
+                    Thread.sleep(20);
+                }
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        });
+        writer.start();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            rollupService.rebuild(now, now);
+        } finally {
+            rebuilding.set(false);
+            writer.join();
+        }
+
+        assertNull(failure.get());
+        assertTrue(writtenDuring.get() > 0, "No movement was written during the rebuild");
+        long movements = mongoTemplate.count(new Query(Criteria.where("productId").is(productId)),
+            InventoryMovement.class);
+        for (MovementRollup.Granularity granularity : MovementRollup.Granularity.values()) {
+            List<MovementRollup> buckets = mongoTemplate.find(new Query(Criteria.where("productId").is(productId)
+                .and("granularity").is(granularity)), MovementRollup.class);
+            assertEquals(movements, buckets.stream().mapToLong(MovementRollup::getCount).sum(),
+                granularity + " count");
+            assertEquals(movements * 2, buckets.stream().mapToLong(MovementRollup::getTotalQuantity).sum(),
+                granularity + " total quantity");
+        }
+    }
+
+    // As InventoryMovementService does: the movement is stored, then counted
+    private void writeMovement(String productId) {
+        InventoryMovement movement = new InventoryMovement(productId, "Producto", "ROLLUP",
+            InventoryMovement.MovementType.ENTRY, 2, 0, 2, null, "test");
+        mongoTemplate.insert(movement);
+        rollupService.recordMovement(movement);
+    }
+}